@@ -0,0 +1,61 @@
+package pollub.eatgo.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import pollub.eatgo.model.User;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Koszt uwierzytelnienia żądania w {@link JwtAuthenticationFilter}: wydanie tokenu, pierwsza
+ * weryfikacja (parsowanie i podpis HS256) oraz kolejne trafienia w pamięć podręczną tokenów.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+    private Map<?, ?> verifiedTokens;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "benchmark-secret-that-is-long-enough-for-hs256");
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        verifiedTokens = (Map<?, ?>) ReflectionTestUtils.getField(jwtUtil, "verifiedTokens");
+        user = User.builder().id(42L).email("client@example.com").role(User.Role.CLIENT).build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @State(Scope.Thread)
+    public static class ColdCache {
+        @Setup(Level.Invocation)
+        public void clear(JwtUtilBenchmark benchmark) {
+            benchmark.verifiedTokens.clear();
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> authenticateFirstRequest(ColdCache coldCache) {
+        return jwtUtil.authenticate(token);
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> authenticateCached() {
+        return jwtUtil.authenticate(token);
+    }
+}
@@ -0,0 +1,68 @@
+package pollub.eatgo.service;
+
+import org.openjdk.jmh.annotations.*;
+import pollub.eatgo.model.Order;
+import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.model.User;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderNotificationService} pod współbieżnym obciążeniem: zmiany statusów dopisują
+ * powiadomienia, dzwonki w nagłówkach liczą nieprzeczytane, a klienci oznaczają je jako przeczytane.
+ * Przy jednym użytkowniku wszystkie wątki walczą o ten sam bufor.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderNotificationServiceBenchmark {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Param({"1", "100"})
+    int users;
+
+    private OrderNotificationService notificationService;
+    private Order[] orders;
+
+    @Setup
+    public void setUp() {
+        notificationService = new OrderNotificationService(new OrderNotificationStore(null, null, false));
+        orders = new Order[users];
+        for (int i = 0; i < users; i++) {
+            long userId = i + 1;
+            orders[i] = Order.builder().id(10_000L + i).user(User.builder().id(userId).build()).build();
+            notificationService.subscribe(userId, unread -> {});
+        }
+    }
+
+    private Order randomOrder() {
+        return orders[ThreadLocalRandom.current().nextInt(users)];
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public void addStatusChangeNotification() {
+        int from = ThreadLocalRandom.current().nextInt(STATUSES.length - 1);
+        notificationService.addStatusChangeNotification(randomOrder(), STATUSES[from], STATUSES[from + 1]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public long countUnread() {
+        return notificationService.countUnread(randomOrder().getUser().getId());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void markAllAsRead() {
+        notificationService.markAllAsRead(randomOrder().getUser().getId());
+    }
+}
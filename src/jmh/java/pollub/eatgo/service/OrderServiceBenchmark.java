@@ -0,0 +1,125 @@
+package pollub.eatgo.service;
+
+import org.openjdk.jmh.annotations.*;
+import pollub.eatgo.dto.order.OrderCreateRequestDto;
+import pollub.eatgo.dto.order.OrderDetailsDto;
+import pollub.eatgo.dto.order.OrderDto;
+import pollub.eatgo.dto.order.OrderItemRequestDto;
+import pollub.eatgo.model.*;
+import pollub.eatgo.repository.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Wycena i walidacja {@link OrderService#createOrder} oraz mapowanie zamówień na DTO
+ * ({@code listUserOrders} → {@code toOrderDto}, {@code getOrderDetails} → {@code toOrderDetailsDto}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private static final int ORDERS_PER_PAGE = 20;
+
+    @Param({"2", "10"})
+    int itemsPerOrder;
+
+    private OrderService orderService;
+    private OrderCreateRequestDto request;
+    private User client;
+    private Long detailsOrderId;
+
+    @Setup
+    public void setUp() {
+        client = User.builder().id(1L).email("client@example.com").fullName("Jan Kowalski").role(User.Role.CLIENT).build();
+        User courier = User.builder().id(2L).email("courier@example.com").fullName("Anna Nowak").role(User.Role.COURIER).build();
+        Restaurant restaurant = Restaurant.builder().id(10L).name("Pizzeria").address("Lublin, Nadbystrzycka 38")
+                .deliveryPrice(7.5).build();
+        Address address = Address.builder().id(100L).city("Lublin").street("Nadbystrzycka 38")
+                .postalCode("20-618").apartmentNumber("4").user(client).build();
+
+        Map<Long, Dish> dishes = new HashMap<>();
+        List<OrderItemRequestDto> requestItems = new ArrayList<>();
+        for (long i = 1; i <= itemsPerOrder; i++) {
+            Dish dish = Dish.builder().id(1000L + i).name("Danie " + i).price(12.0 + i).category("Pizza")
+                    .restaurant(restaurant).build();
+            dishes.put(dish.getId(), dish);
+            requestItems.add(new OrderItemRequestDto(dish.getId(), (int) (i % 3) + 1));
+        }
+        request = new OrderCreateRequestDto(restaurant.getId(), address.getId(), requestItems);
+
+        List<Order> history = new ArrayList<>();
+        for (long id = 1; id <= ORDERS_PER_PAGE; id++) {
+            history.add(order(id, client, courier, restaurant, address, dishes.values()));
+        }
+        detailsOrderId = history.get(0).getId();
+        Map<Long, Order> historyById = history.stream().collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        AtomicLong ids = new AtomicLong(1_000_000);
+        OrderRepository orderRepository = RepositoryStubs.stub(OrderRepository.class, Map.of(
+                "save", args -> {
+                    Order order = (Order) args[0];
+                    order.setId(ids.incrementAndGet());
+                    order.prePersist();
+                    return order;
+                },
+                "findByUserIdOrderByCreatedAtDesc", args -> history,
+                "findByIdAndUserId", args -> Optional.ofNullable(historyById.get((Long) args[0]))));
+        UserRepository userRepository = RepositoryStubs.stub(UserRepository.class, Map.of(
+                "findById", args -> Optional.of(client)));
+        RestaurantRepository restaurantRepository = RepositoryStubs.stub(RestaurantRepository.class, Map.of(
+                "findById", args -> Optional.of(restaurant)));
+        AddressRepository addressRepository = RepositoryStubs.stub(AddressRepository.class, Map.of(
+                "findByIdAndUserId", args -> Optional.of(address)));
+        DishRepository dishRepository = RepositoryStubs.stub(DishRepository.class, Map.of(
+                "findByIdInAndRestaurantId", args -> ((Collection<?>) args[0]).stream().map(dishes::get).toList()));
+
+        orderService = new OrderService(orderRepository, userRepository, restaurantRepository,
+                addressRepository, dishRepository, event -> {});
+    }
+
+    private static Order order(Long id, User client, User courier, Restaurant restaurant, Address address,
+                               Collection<Dish> dishes) {
+        Order order = Order.builder().id(id).user(client).courier(courier).restaurant(restaurant).address(address)
+                .status(OrderStatus.IN_DELIVERY).deliveryPrice(restaurant.getDeliveryPrice())
+                .createdAt(LocalDateTime.of(2025, 1, 1, 12, 0).plusMinutes(id)).build();
+        List<OrderItem> items = new ArrayList<>();
+        double total = restaurant.getDeliveryPrice();
+        long itemId = id * 100;
+        for (Dish dish : dishes) {
+            items.add(OrderItem.builder().id(itemId++).order(order).dish(dish).quantity(2).priceSnapshot(dish.getPrice()).build());
+            total += dish.getPrice() * 2;
+        }
+        order.setItems(items);
+        order.setTotalPrice(total);
+        return order;
+    }
+
+    @Benchmark
+    public OrderDto createOrder() {
+        return orderService.createOrder(client.getId(), request);
+    }
+
+    @Benchmark
+    public List<OrderDto> listUserOrders() {
+        return orderService.listUserOrders(client.getId());
+    }
+
+    @Benchmark
+    public OrderDetailsDto getOrderDetails() {
+        return orderService.getOrderDetails(client.getId(), detailsOrderId);
+    }
+}
@@ -0,0 +1,61 @@
+package pollub.eatgo.service;
+
+import org.openjdk.jmh.annotations.*;
+import pollub.eatgo.dto.order.OrderDto;
+import pollub.eatgo.dto.order.OrderItemDto;
+import pollub.eatgo.dto.restaurant.RestaurantDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paragon PDF z {@link PdfService#generateReceipt}: pełne renderowanie HTML → PDF (po unieważnieniu
+ * wpisu) oraz odczyt z pamięci podręcznej dla niezmienionego zamówienia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PdfServiceBenchmark {
+
+    @Param({"3", "15"})
+    int itemsPerOrder;
+
+    private PdfService pdfService;
+    private OrderDto order;
+    private RestaurantDto restaurant;
+
+    @Setup
+    public void setUp() {
+        pdfService = new PdfService();
+        restaurant = RestaurantDto.builder().id(1L).name("Pizzeria Łódź").address("ul. Żeromskiego 1").deliveryPrice(5.0).build();
+        List<OrderItemDto> items = new ArrayList<>();
+        double total = 5.0;
+        for (long i = 1; i <= itemsPerOrder; i++) {
+            items.add(new OrderItemDto(i, i, "Danie " + i, 2, 18.5));
+            total += 37.0;
+        }
+        order = new OrderDto(10L, "DELIVERED", total, 5.0, LocalDateTime.of(2025, 1, 1, 12, 0), items,
+                2L, "client@example.com", 3L, "courier@example.com", "Anna Nowak");
+    }
+
+    @TearDown
+    public void tearDown() {
+        pdfService.shutdown();
+    }
+
+    @Benchmark
+    public byte[] generateReceipt() {
+        pdfService.invalidate(order.id());
+        return pdfService.generateReceipt(order, restaurant);
+    }
+
+    @Benchmark
+    public byte[] generateReceiptCached() {
+        return pdfService.generateReceipt(order, restaurant);
+    }
+}
@@ -0,0 +1,76 @@
+package pollub.eatgo.service;
+
+import org.openjdk.jmh.annotations.*;
+import pollub.eatgo.dto.restaurant.RestaurantSummaryDto;
+import pollub.eatgo.model.Dish;
+import pollub.eatgo.model.Restaurant;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Filtrowanie listy restauracji tak jak w {@code HomeView.filterRestaurants}: zapytanie do
+ * {@link RestaurantSearchIndex} i zawężenie załadowanej listy kart do zwróconych identyfikatorów.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestaurantSearchBenchmark {
+
+    private static final String[] CITIES = {"Lublin", "Warszawa", "Kraków", "Gdańsk", "Poznań"};
+    private static final String[] CATEGORIES = {"Pizza", "Burgery", "Sushi", "Kebab", "Desery", "Zupy"};
+    private static final String[] NAMES = {"Pizzeria", "Bistro", "Sushi Bar", "Kebab House", "Pierogarnia", "Burger Joint"};
+
+    @Param({"100", "1000"})
+    int restaurants;
+
+    private RestaurantSearchIndex searchIndex;
+    private List<RestaurantSummaryDto> allRestaurants;
+
+    @Setup
+    public void setUp() {
+        searchIndex = new RestaurantSearchIndex(null, null);
+        allRestaurants = new ArrayList<>(restaurants);
+        long dishId = 1;
+        for (long id = 1; id <= restaurants; id++) {
+            int n = (int) id;
+            String name = NAMES[n % NAMES.length] + " " + id;
+            String address = CITIES[n % CITIES.length] + ", ul. Długa " + id;
+            searchIndex.onRestaurantChanged(Restaurant.builder().id(id).name(name).address(address).build());
+            for (int c = 0; c < 3; c++) {
+                searchIndex.onDishChanged(id, Dish.builder().id(dishId++)
+                        .category(CATEGORIES[(n + c) % CATEGORIES.length]).build());
+            }
+            allRestaurants.add(new RestaurantSummaryDto(id, name, address, BigDecimal.valueOf(5), null, 4.5, 10));
+        }
+    }
+
+    @Benchmark
+    public List<RestaurantSummaryDto> filterByTerm() {
+        return filter(null, null, "piz");
+    }
+
+    @Benchmark
+    public List<RestaurantSummaryDto> filterByCityAndCategory() {
+        return filter("Lublin", "Sushi", null);
+    }
+
+    @Benchmark
+    public List<RestaurantSummaryDto> filterByAllCriteria() {
+        return filter("Kraków", "Pizza", "bistro długa");
+    }
+
+    private List<RestaurantSummaryDto> filter(String city, String category, String term) {
+        Set<Long> matchingIds = searchIndex.search(city, category, term);
+        return allRestaurants.stream()
+                .filter(r -> matchingIds.contains(r.id()))
+                .collect(Collectors.toList());
+    }
+}
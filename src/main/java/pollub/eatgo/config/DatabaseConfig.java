@@ -1,16 +1,34 @@
 package pollub.eatgo.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
 import java.net.URI;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@Slf4j
 public class DatabaseConfig {
 
     @Value("${DATABASE_URL:}")
@@ -52,10 +70,9 @@ public class DatabaseConfig {
                 
                 jdbcUrl = String.format("jdbc:postgresql://%s:%d/%s", host, port, dbName);
                 
-                System.out.println("DatabaseConfig: Parsed DATABASE_URL - Host: " + host + ", Port: " + port + ", Database: " + dbName);
+                log.info("Parsed DATABASE_URL - host: {}, port: {}, database: {}", host, port, dbName);
             } catch (Exception e) {
-                System.err.println("DatabaseConfig: Error parsing DATABASE_URL: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Error parsing DATABASE_URL, falling back to PG* variables", e);
                 jdbcUrl = buildJdbcUrlFromPgVars();
                 username = pgUser.isEmpty() ? "postgres" : pgUser;
                 password = pgPassword.isEmpty() ? "" : pgPassword;
@@ -75,16 +92,103 @@ public class DatabaseConfig {
         properties.setPassword(password);
         properties.setDriverClassName("org.postgresql.Driver");
 
-        System.out.println("DatabaseConfig: JDBC URL: " + jdbcUrl.replaceAll(":[^:@]+@", ":****@"));
-        System.out.println("DatabaseConfig: Username: " + username);
+        log.info("JDBC URL: {}, username: {}", jdbcUrl.replaceAll(":[^:@]+@", ":****@"), username);
 
         return properties;
     }
 
+    /**
+     * Pula Hikari z ustawieniami {@code spring.datasource.hikari.*}; przy {@code eatgo.db.gate.enabled}
+     * (domyślnie razem z wątkami wirtualnymi) poprzedzona {@link GatedDataSource} o tylu pozwoleniach,
+     * ile połączeń ma pula. Gdy istnieje {@link #readDataSource}, transakcje readOnly trafiają do niej
+     * przez {@link ReadWriteRoutingDataSource}.
+     */
     @Bean
     @Primary
-    public DataSource dataSource(DataSourceProperties properties) {
-        return properties.initializeDataSourceBuilder().build();
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 @Value("${eatgo.db.gate.enabled:false}") boolean gateEnabled,
+                                 @Qualifier("readDataSource") ObjectProvider<DataSource> readDataSource) {
+        HikariDataSource pool = hikari(properties, environment);
+        DataSource write = gateEnabled ? gated(pool) : pool;
+        DataSource read = readDataSource.getIfAvailable();
+        if (read == null) {
+            return write;
+        }
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(write, read));
+    }
+
+    /**
+     * Pula dla transakcji {@code @Transactional(readOnly = true)}: replika z {@code eatgo.db.read.url}
+     * albo, bez niej, osobna pula na bazie głównej, żeby przeglądanie menu i historii nie zajmowało
+     * połączeń potrzebnych przy składaniu zamówień. Replika może być chwilę za bazą główną.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "eatgo.db.read.enabled", havingValue = "true", matchIfMissing = true)
+    public DataSource readDataSource(DataSourceProperties properties,
+                                     Environment environment,
+                                     @Value("${eatgo.db.gate.enabled:false}") boolean gateEnabled,
+                                     @Value("${eatgo.db.read.url:}") String replicaUrl,
+                                     @Value("${eatgo.db.read.username:}") String replicaUsername,
+                                     @Value("${eatgo.db.read.password:}") String replicaPassword,
+                                     @Value("${eatgo.db.read.maximum-pool-size:5}") int maximumPoolSize) {
+        HikariDataSource pool = hikari(properties, environment);
+        if (!replicaUrl.isEmpty()) {
+            pool.setJdbcUrl(replicaUrl);
+            if (!replicaUsername.isEmpty()) {
+                pool.setUsername(replicaUsername);
+                pool.setPassword(replicaPassword);
+            }
+            log.info("Read replica JDBC URL: {}", replicaUrl.replaceAll(":[^:@]+@", ":****@"));
+        }
+        pool.setPoolName("eatgo-read");
+        pool.setMaximumPoolSize(maximumPoolSize);
+        pool.setReadOnly(true);
+        return gateEnabled ? gated(pool) : pool;
+    }
+
+    /**
+     * Metryki bramek (osobno dla puli głównej i odczytowej, tag {@code datasource}): liczba i łączny czas
+     * oczekiwania na pozwolenie ({@code eatgo.db.gate.acquire}) oraz wątki w kolejce. Statystyki samych
+     * pul Hikari ({@code hikaricp.*}) rejestruje Spring Boot.
+     */
+    @Bean
+    public MeterBinder databaseGateMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((name, dataSource) -> {
+            GatedDataSource gate = unwrapGate(dataSource);
+            if (gate == null) {
+                return;
+            }
+            Tags tags = Tags.of("datasource", name);
+            FunctionTimer.builder("eatgo.db.gate.acquire", gate,
+                            GatedDataSource::getAcquisitions, g -> g.getTotalWait().toNanos(), TimeUnit.NANOSECONDS)
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("eatgo.db.gate.waiting", gate, GatedDataSource::getWaitingThreads).tags(tags).register(registry);
+            Gauge.builder("eatgo.db.gate.available", gate, GatedDataSource::getAvailablePermits).tags(tags).register(registry);
+            Gauge.builder("eatgo.db.gate.wait.max", gate, g -> g.getMaxWait().toNanos() / 1e9)
+                    .tags(tags)
+                    .baseUnit("seconds")
+                    .register(registry);
+        });
+    }
+
+    private HikariDataSource hikari(DataSourceProperties properties, Environment environment) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        return pool;
+    }
+
+    private GatedDataSource gated(HikariDataSource pool) {
+        return new GatedDataSource(pool, pool.getMaximumPoolSize(), Duration.ofMillis(pool.getConnectionTimeout()));
+    }
+
+    private static GatedDataSource unwrapGate(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(GatedDataSource.class) ? dataSource.unwrap(GatedDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
     }
 
     private String buildJdbcUrlFromPgVars() {
@@ -0,0 +1,31 @@
+package pollub.eatgo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Wykonawcy zadań aplikacji zależni od trybu wątków ({@code spring.threads.virtual.enabled}).
+ * <p>
+ * Tomcat i {@code @Scheduled} przełącza sam Spring Boot; tutaj jest tylko wykonawca zadań push
+ * do UI. W trybie wirtualnym każde zdarzenie dostaje własny wątek, więc wolny widok (zapytanie
+ * w {@code ui.access}) nie blokuje pozostałych; w trybie klasycznym jeden wątek platformowy.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService uiPushExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ui-push-", 0).factory());
+        }
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ui-push");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
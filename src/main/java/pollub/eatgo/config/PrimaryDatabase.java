@@ -0,0 +1,36 @@
+package pollub.eatgo.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Odczyty, które muszą widzieć właśnie zatwierdzone zmiany — ładowanie cache po unieważnieniu
+ * i odświeżenie widoku po zdarzeniu o zmianie zamówienia — idą do bazy głównej, bo replika
+ * z {@code eatgo.db.read.url} może być jeszcze za nią.
+ * <p>
+ * W transakcji zapisu zapytanie wykonuje się w niej (jest już na bazie głównej); w transakcji
+ * readOnly albo poza transakcją — w nowej transakcji zapisu, która dostaje połączenie z puli głównej.
+ */
+@Component
+public class PrimaryDatabase {
+
+    private final TransactionTemplate requiresNew;
+
+    public PrimaryDatabase(PlatformTransactionManager transactionManager) {
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> T read(Supplier<T> query) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return query.get();
+        }
+        return requiresNew.execute(status -> query.get());
+    }
+}
@@ -0,0 +1,32 @@
+package pollub.eatgo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Kieruje połączenia transakcji {@code @Transactional(readOnly = true)} do puli odczytowej (replika
+ * albo osobna pula na bazie głównej), a całą resztę — zapisy i dostęp poza transakcją — do puli głównej.
+ * <p>
+ * Flaga readOnly jest ustawiana dopiero po otwarciu transakcji, a Hibernate pobiera połączenie już przy
+ * {@code begin()}, dlatego źródło musi być opakowane w
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: fizyczne połączenie
+ * (i wybór puli) następuje przy pierwszym zapytaniu.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { WRITE, READ }
+
+    public ReadWriteRoutingDataSource(DataSource write, DataSource read) {
+        setTargetDataSources(Map.of(Route.WRITE, write, Route.READ, read));
+        setDefaultTargetDataSource(write);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READ : Route.WRITE;
+    }
+}
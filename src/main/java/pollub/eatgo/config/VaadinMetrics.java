@@ -0,0 +1,36 @@
+package pollub.eatgo.config;
+
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Liczba aktywnych sesji Vaadin i otwartych UI (kart przeglądarki) na tym węźle.
+ */
+@Component
+public class VaadinMetrics implements VaadinServiceInitListener, MeterBinder {
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicInteger activeUis = new AtomicInteger();
+
+    @Override
+    public void serviceInit(ServiceInitEvent event) {
+        event.getSource().addSessionInitListener(e -> activeSessions.incrementAndGet());
+        event.getSource().addSessionDestroyListener(e -> activeSessions.decrementAndGet());
+        event.getSource().addUIInitListener(e -> {
+            activeUis.incrementAndGet();
+            e.getUI().addDetachListener(detach -> activeUis.decrementAndGet());
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("eatgo.vaadin.sessions.active", activeSessions, AtomicInteger::get).register(registry);
+        Gauge.builder("eatgo.vaadin.uis.active", activeUis, AtomicInteger::get).register(registry);
+    }
+}
@@ -1,13 +1,16 @@
 package pollub.eatgo.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import pollub.eatgo.dto.address.AddressCreateDto;
 import pollub.eatgo.dto.address.AddressDto;
 import pollub.eatgo.dto.dish.DishDto;
+import pollub.eatgo.dto.dish.MenuSnapshot;
 import pollub.eatgo.dto.restaurant.RestaurantSummaryDto;
 import pollub.eatgo.model.User;
 import pollub.eatgo.repository.UserRepository;
@@ -30,9 +33,16 @@ public class ClientController {
         return restaurantService.listRestaurants();
     }
 
+    /**
+     * Menu z ETagiem; przy zgodnym {@code If-None-Match} Spring odpowiada 304 bez treści.
+     */
     @GetMapping("/restaurants/{id}/menu")
-    public List<DishDto> getMenu(@PathVariable Long id) {
-        return restaurantService.getMenu(id);
+    public ResponseEntity<List<DishDto>> getMenu(@PathVariable Long id) {
+        MenuSnapshot menu = restaurantService.getMenuSnapshot(id);
+        return ResponseEntity.ok()
+                .eTag(menu.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(menu.dishes());
     }
 
     @PostMapping("/addresses")
@@ -2,23 +2,31 @@ package pollub.eatgo.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import pollub.eatgo.config.PrimaryDatabase;
 import pollub.eatgo.dto.order.OrderDto;
 import pollub.eatgo.dto.order.OrderDetailsDto;
+import pollub.eatgo.dto.order.OrderPage;
+import pollub.eatgo.dto.order.OrderPageRequest;
 import pollub.eatgo.dto.order.OrderStatusUpdateDto;
 import pollub.eatgo.model.Order;
 import pollub.eatgo.model.OrderStatus;
 import pollub.eatgo.model.User;
 import pollub.eatgo.repository.OrderRepository;
-import pollub.eatgo.repository.UserRepository;
+import pollub.eatgo.repository.OrderRepositoryCustom;
 import pollub.eatgo.service.OrderNotificationService;
+import pollub.eatgo.service.OrderStateMachine;
+import pollub.eatgo.service.PdfService;
 import pollub.eatgo.service.ReviewService;
+import pollub.eatgo.service.TenantResolver;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,54 +37,72 @@ import java.util.stream.Collectors;
 public class CourierController {
 
 	private final OrderRepository orderRepository;
-	private final UserRepository userRepository;
+	private final TenantResolver tenantResolver;
 	private final ReviewService reviewService;
 	private final OrderNotificationService orderNotificationService;
+	private final PdfService pdfService;
+	private final OrderStateMachine orderStateMachine;
+	private final PrimaryDatabase primaryDatabase;
 
 	@GetMapping("/orders")
-	public List<OrderDetailsDto> listAssigned(Authentication auth) {
-		User courier = resolveCourier(auth);
-		return orderRepository.findByCourierIdOrderByCreatedAtDesc(courier.getId()).stream()
-				.map(this::toOrderDetailsDto)
-				.collect(Collectors.toList());
+	public ResponseEntity<List<OrderDetailsDto>> listAssigned(Authentication auth,
+	                                                          @RequestParam(required = false) String cursor,
+	                                                          @RequestParam(required = false) Integer size,
+	                                                          @RequestParam(required = false) List<String> status,
+	                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+	                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+		TenantResolver.Tenant courier = resolveCourier(auth);
+		OrderPage<OrderDetailsDto> page = orderRepository.findPage(OrderRepositoryCustom.OrderOwner.COURIER, courier.userId(),
+						OrderPageRequest.of(cursor, size, status, from, to))
+				.map(this::toOrderDetailsDto);
+		return OrderPageHeaders.ok(page);
 	}
 
+	/**
+	 * Wołane przez panel kuriera zaraz po zdarzeniu o zmianie zamówienia, więc czyta z bazy głównej.
+	 */
 	@GetMapping("/orders/{id}")
 	public OrderDetailsDto getOrderDetails(@PathVariable Long id, Authentication auth) {
-		User courier = resolveCourier(auth);
-		Order order = orderRepository.findByIdAndCourierId(id, courier.getId())
-				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
-		return toOrderDetailsDto(order);
+		TenantResolver.Tenant courier = resolveCourier(auth);
+		return primaryDatabase.read(() -> orderRepository.findByIdAndCourierId(id, courier.userId())
+				.map(this::toOrderDetailsDto)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found")));
 	}
 
 	@PutMapping("/orders/{id}/status")
 	public ResponseEntity<OrderDto> updateStatus(@PathVariable Long id,
 	                                             @RequestBody @Valid OrderStatusUpdateDto body,
 	                                             Authentication auth) {
-		User courier = resolveCourier(auth);
-		Order order = orderRepository.findByIdAndCourierId(id, courier.getId())
+		TenantResolver.Tenant courier = resolveCourier(auth);
+		Order order = primaryDatabase.read(() -> orderRepository.findByIdAndCourierId(id, courier.userId()))
 				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
 
-		OrderStatus previousStatus = order.getStatus();
 		OrderStatus targetStatus;
 		try {
 			targetStatus = parseStatus(body.status());
 		} catch (IllegalArgumentException ex) {
 			return ResponseEntity.badRequest().build();
 		}
-		if (targetStatus != OrderStatus.DELIVERED || order.getStatus() != OrderStatus.IN_DELIVERY) {
+		if (targetStatus != OrderStatus.DELIVERED) {
 			return ResponseEntity.badRequest().build();
 		}
-		order.setStatus(OrderStatus.DELIVERED);
-		order = orderRepository.save(order);
-		orderNotificationService.addStatusChangeNotification(order, previousStatus, OrderStatus.DELIVERED);
-		return ResponseEntity.ok(toOrderDto(order));
+		if (order.getStatus() == OrderStatus.DELIVERED) {
+			return ResponseEntity.ok(toOrderDto(order));
+		}
+		if (order.getStatus() != OrderStatus.IN_DELIVERY) {
+			return ResponseEntity.badRequest().build();
+		}
+		OrderStateMachine.Transition transition = orderStateMachine.transition(id, OrderStatus.IN_DELIVERY, OrderStatus.DELIVERED);
+		if (transition.applied()) {
+			orderNotificationService.addStatusChangeNotification(transition.order(), transition.previousStatus(), OrderStatus.DELIVERED);
+			pdfService.invalidate(id);
+		}
+		return ResponseEntity.ok(toOrderDto(transition.order()));
 	}
 
-	private User resolveCourier(Authentication auth) {
-		String email = auth.getName();
-		User courier = userRepository.findByEmail(email).orElseThrow();
-		if (courier.getRole() != User.Role.COURIER) {
+	private TenantResolver.Tenant resolveCourier(Authentication auth) {
+		TenantResolver.Tenant courier = tenantResolver.resolve(auth.getName()).orElseThrow();
+		if (courier.role() != User.Role.COURIER) {
 			throw new IllegalStateException("Authenticated user is not a courier");
 		}
 		return courier;
@@ -2,6 +2,7 @@ package pollub.eatgo.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -9,10 +10,13 @@ import org.springframework.web.bind.annotation.*;
 import pollub.eatgo.dto.order.OrderCreateRequestDto;
 import pollub.eatgo.dto.order.OrderDetailsDto;
 import pollub.eatgo.dto.order.OrderDto;
+import pollub.eatgo.dto.order.OrderPage;
+import pollub.eatgo.dto.order.OrderPageRequest;
 import pollub.eatgo.service.OrderService;
 import pollub.eatgo.repository.UserRepository;
 import pollub.eatgo.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -30,8 +34,15 @@ public class OrderController {
 	}
 
 	@GetMapping
-	public List<OrderDto> list(Authentication auth) {
-		return orderService.listUserOrders(resolveUserId(auth));
+	public ResponseEntity<List<OrderDto>> list(Authentication auth,
+	                                           @RequestParam(required = false) String cursor,
+	                                           @RequestParam(required = false) Integer size,
+	                                           @RequestParam(required = false) List<String> status,
+	                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+	                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+		OrderPage<OrderDto> page = orderService.listUserOrders(resolveUserId(auth),
+				OrderPageRequest.of(cursor, size, status, from, to));
+		return OrderPageHeaders.ok(page);
 	}
 
 	@GetMapping("/{id}")
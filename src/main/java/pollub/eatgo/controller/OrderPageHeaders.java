@@ -0,0 +1,27 @@
+package pollub.eatgo.controller;
+
+import org.springframework.http.ResponseEntity;
+import pollub.eatgo.dto.order.OrderPage;
+
+import java.util.List;
+
+/**
+ * Strony historii zamówień zwracane są jako tablica JSON (zgodnie z dotychczasowym kontraktem),
+ * a kursor kolejnej strony trafia do nagłówka {@value #NEXT_CURSOR}.
+ */
+final class OrderPageHeaders {
+
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private OrderPageHeaders() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(OrderPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        String next = page.nextCursorToken();
+        if (next != null) {
+            response.header(NEXT_CURSOR, next);
+        }
+        return response.body(page.items());
+    }
+}
@@ -1,7 +1,10 @@
 package pollub.eatgo.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
@@ -13,9 +16,15 @@ import pollub.eatgo.dto.dish.DishDto;
 import pollub.eatgo.dto.dish.DishUpdateDto;
 import pollub.eatgo.dto.order.*;
 import pollub.eatgo.dto.restaurant.RestaurantDto;
+import pollub.eatgo.dto.restaurant.RestaurantStatisticsDto;
 import pollub.eatgo.dto.restaurant.RestaurantUpdateDto;
+import pollub.eatgo.service.OrderExportService;
 import pollub.eatgo.service.RestaurantService;
+import pollub.eatgo.service.RestaurantStatisticsService;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -25,11 +34,38 @@ import java.util.List;
 public class RestaurantController {
 
     private final RestaurantService restaurantService;
+    private final RestaurantStatisticsService restaurantStatisticsService;
+    private final OrderExportService orderExportService;
 
     @GetMapping("/orders")
-    public ResponseEntity<List<OrderDto>> listOrders(Authentication auth) {
+    public ResponseEntity<List<OrderDto>> listOrders(Authentication auth,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size,
+                                                     @RequestParam(required = false) List<String> status,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
         String email = auth.getName();
-        return ResponseEntity.ok(restaurantService.listOrders(email));
+        OrderPage<OrderDto> page = restaurantService.listOrders(email, OrderPageRequest.of(cursor, size, status, from, to));
+        return OrderPageHeaders.ok(page);
+    }
+
+    @GetMapping("/orders/export")
+    public void exportOrders(Authentication auth,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                             HttpServletResponse response) throws IOException {
+        String email = auth.getName();
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"zamowienia_" + LocalDate.now() + ".xlsx\"");
+        orderExportService.exportOrders(email, from, to, response.getOutputStream());
+    }
+
+    @GetMapping("/statistics")
+    public ResponseEntity<RestaurantStatisticsDto> getStatistics(Authentication auth,
+                                                                 @RequestParam(defaultValue = "10") int topDishes) {
+        String email = auth.getName();
+        return ResponseEntity.ok(restaurantStatisticsService.getStatistics(email, topDishes));
     }
 
     @PutMapping("/orders/{id}/status")
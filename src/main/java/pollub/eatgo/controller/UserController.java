@@ -9,8 +9,11 @@ import org.springframework.web.bind.annotation.*;
 import pollub.eatgo.dto.user.UserSettingsDto;
 import pollub.eatgo.model.User;
 import pollub.eatgo.repository.UserRepository;
+import pollub.eatgo.service.OrderNotificationService;
 import pollub.eatgo.service.UserService;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -18,6 +21,7 @@ public class UserController {
     
     private final UserService userService;
     private final UserRepository userRepository;
+    private final OrderNotificationService orderNotificationService;
     
     @GetMapping("/settings")
     public ResponseEntity<UserSettingsDto> getUserSettings(Authentication auth) {
@@ -40,5 +44,16 @@ public class UserController {
         UserSettingsDto updatedSettings = userService.updateUserSettings(user.getId(), settings);
         return ResponseEntity.ok(updatedSettings);
     }
+
+    @GetMapping("/notifications")
+    public ResponseEntity<List<OrderNotificationService.OrderNotification>> getNotifications(
+            @RequestParam(defaultValue = "0") long since,
+            Authentication auth) {
+        String email = auth.getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return ResponseEntity.ok(orderNotificationService.getNotificationsSince(user.getId(), since));
+    }
 }
 
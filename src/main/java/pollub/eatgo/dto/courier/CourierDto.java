@@ -1,9 +1,13 @@
 package pollub.eatgo.dto.courier;
 
+import java.time.LocalDateTime;
+
 public record CourierDto(
         Long id,
         String email,
         String fullName,
         Long restaurantId,
-        Boolean isAvailable
+        Boolean isAvailable,
+        Integer activeDeliveries,
+        LocalDateTime lastDeliveredAt
 ) {}
@@ -0,0 +1,34 @@
+package pollub.eatgo.dto.dish;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Niezmienny obraz menu restauracji (dostępne dania) z ETagiem wyliczonym z zawartości,
+ * więc ten sam stan menu ma ten sam ETag na każdym węźle i po restarcie.
+ */
+public record MenuSnapshot(Long restaurantId, List<DishDto> dishes, String etag) {
+
+    public static MenuSnapshot of(Long restaurantId, List<DishDto> dishes) {
+        List<DishDto> copy = List.copyOf(dishes);
+        return new MenuSnapshot(restaurantId, copy, etagOf(restaurantId, copy));
+    }
+
+    private static String etagOf(Long restaurantId, List<DishDto> dishes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(restaurantId).getBytes(StandardCharsets.UTF_8));
+            for (DishDto dish : dishes) {
+                digest.update((byte) 0);
+                digest.update(dish.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            byte[] hash = digest.digest();
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package pollub.eatgo.dto.order;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Strona historii zamówień; {@code nextCursor} jest {@code null} na ostatniej stronie.
+ */
+public record OrderPage<T>(List<T> items, OrderCursor nextCursor) {
+
+    public <R> OrderPage<R> map(Function<T, R> mapper) {
+        return new OrderPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public String nextCursorToken() {
+        return nextCursor != null ? nextCursor.encode() : null;
+    }
+}
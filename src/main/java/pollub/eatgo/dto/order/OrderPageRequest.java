@@ -0,0 +1,75 @@
+package pollub.eatgo.dto.order;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import pollub.eatgo.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Parametry strony historii zamówień: kursor, rozmiar strony, filtry statusu i zakresu dat
+ * ({@code from} włącznie, {@code to} wyłącznie) oraz kierunek po kluczu {@code (created_at, id)}
+ * — domyślnie od najnowszych.
+ */
+public record OrderPageRequest(
+        OrderCursor cursor,
+        int size,
+        Set<OrderStatus> statuses,
+        LocalDateTime from,
+        LocalDateTime to,
+        boolean oldestFirst
+) {
+
+    public OrderPageRequest(OrderCursor cursor, int size, Set<OrderStatus> statuses, LocalDateTime from, LocalDateTime to) {
+        this(cursor, size, statuses, from, to, false);
+    }
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    public static OrderPageRequest first(int size) {
+        return new OrderPageRequest(null, size, Set.of(), null, null);
+    }
+
+    public static OrderPageRequest of(String cursor, Integer size, Collection<String> statuses,
+                                      LocalDateTime from, LocalDateTime to) {
+        int pageSize = size == null ? DEFAULT_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be between 1 and " + MAX_SIZE);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+        }
+        return new OrderPageRequest(OrderCursor.decode(cursor), pageSize, parseStatuses(statuses), from, to);
+    }
+
+    public OrderPageRequest withStatuses(Set<OrderStatus> statuses) {
+        return new OrderPageRequest(cursor, size, statuses, from, to, oldestFirst);
+    }
+
+    public OrderPageRequest withOldestFirst(boolean oldestFirst) {
+        return new OrderPageRequest(cursor, size, statuses, from, to, oldestFirst);
+    }
+
+    public OrderPageRequest after(OrderCursor cursor) {
+        return new OrderPageRequest(cursor, size, statuses, from, to, oldestFirst);
+    }
+
+    private static Set<OrderStatus> parseStatuses(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        Set<OrderStatus> parsed = EnumSet.noneOf(OrderStatus.class);
+        for (String value : values) {
+            try {
+                parsed.add(OrderStatus.valueOf(value.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status: " + value);
+            }
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,16 @@
+package pollub.eatgo.dto.restaurant;
+
+import java.util.Map;
+
+public record RestaurantStatisticsDto(
+        double todayRevenue,
+        long todayOrders,
+        double weekRevenue,
+        long weekOrders,
+        double monthRevenue,
+        long monthOrders,
+        double averageOrderValue,
+        long activeOrders,
+        Map<String, Integer> topDishes,
+        Map<String, Long> courierDeliveries
+) {}
@@ -3,9 +3,11 @@ package pollub.eatgo.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import pollub.eatgo.model.Dish;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface DishRepository extends JpaRepository<Dish, Long> {
     List<Dish> findByRestaurantIdAndAvailableTrue(Long restaurantId);
     List<Dish> findByRestaurantId(Long restaurantId);
+    List<Dish> findByIdInAndRestaurantId(Collection<Long> ids, Long restaurantId);
 }
@@ -1,10 +1,26 @@
 package pollub.eatgo.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import pollub.eatgo.model.OrderItem;
+import pollub.eatgo.model.OrderStatus;
 
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
+
+    @Query("select d.name as dishName, sum(oi.quantity) as quantity from OrderItem oi join oi.order o join oi.dish d " +
+            "where o.restaurant.id = :restaurantId and o.status = :status " +
+            "group by d.name order by sum(oi.quantity) desc")
+    List<DishQuantityView> findTopDishes(@Param("restaurantId") Long restaurantId,
+                                         @Param("status") OrderStatus status,
+                                         Pageable pageable);
+
+    interface DishQuantityView {
+        String getDishName();
+        long getQuantity();
+    }
 }
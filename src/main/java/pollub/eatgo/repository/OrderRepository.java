@@ -1,24 +1,108 @@
 package pollub.eatgo.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import pollub.eatgo.model.Order;
 import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+    @EntityGraph(attributePaths = {"user", "courier", "restaurant", "address", "items", "items.dish"})
     List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
     Optional<Order> findByIdAndUserId(Long id, Long userId);
-    List<Order> findByRestaurantId(Long restaurantId);
+	@EntityGraph(attributePaths = {"user", "courier", "restaurant", "address", "items", "items.dish"})
 	List<Order> findByRestaurantIdOrderByCreatedAtDesc(Long restaurantId);
     Optional<Order> findByIdAndRestaurantId(Long id, Long restaurantId);
+	@EntityGraph(attributePaths = {"user", "courier", "restaurant", "address", "items", "items.dish"})
 	List<Order> findByCourierIdOrderByCreatedAtDesc(Long courierId);
 	Optional<Order> findByIdAndCourierId(Long id, Long courierId);
-	List<Order> findByRestaurantIdAndCreatedAtAfter(Long restaurantId, LocalDateTime date);
-	long countByRestaurantIdAndCreatedAtAfter(Long restaurantId, LocalDateTime date);
-	long countByRestaurantIdAndStatusIn(Long restaurantId, List<OrderStatus> statuses);
 	boolean existsByCourierIdAndStatus(Long courierId, OrderStatus status);
 	List<Order> findByUserIdAndRestaurantIdAndStatus(Long userId, Long restaurantId, OrderStatus status);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Order o set o.status = :to, o.version = o.version + 1, o.updatedAt = :now " +
+			"where o.id = :id and o.status = :from")
+	int compareAndSetStatus(@Param("id") Long id,
+	                        @Param("from") OrderStatus from,
+	                        @Param("to") OrderStatus to,
+	                        @Param("now") LocalDateTime now);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Order o set o.status = :to, o.courier = :courier, o.version = o.version + 1, o.updatedAt = :now " +
+			"where o.id = :id and o.status = :from")
+	int compareAndSetStatusWithCourier(@Param("id") Long id,
+	                                   @Param("from") OrderStatus from,
+	                                   @Param("to") OrderStatus to,
+	                                   @Param("courier") User courier,
+	                                   @Param("now") LocalDateTime now);
+
+	@Query("select " +
+			"coalesce(sum(case when o.createdAt >= :todayStart and o.status = :delivered then o.totalPrice else 0 end), 0) as todayRevenue, " +
+			"coalesce(sum(case when o.createdAt >= :todayStart then 1 else 0 end), 0) as todayOrders, " +
+			"coalesce(sum(case when o.createdAt >= :weekStart and o.status = :delivered then o.totalPrice else 0 end), 0) as weekRevenue, " +
+			"coalesce(sum(case when o.createdAt >= :weekStart then 1 else 0 end), 0) as weekOrders, " +
+			"coalesce(sum(case when o.createdAt >= :monthStart and o.status = :delivered then o.totalPrice else 0 end), 0) as monthRevenue, " +
+			"coalesce(sum(case when o.createdAt >= :monthStart then 1 else 0 end), 0) as monthOrders, " +
+			"coalesce(avg(case when o.status = :delivered then o.totalPrice end), 0) as averageOrderValue, " +
+			"coalesce(sum(case when o.status in :activeStatuses then 1 else 0 end), 0) as activeOrders " +
+			"from Order o where o.restaurant.id = :restaurantId")
+	OrderTotalsView aggregateTotals(@Param("restaurantId") Long restaurantId,
+	                                @Param("todayStart") LocalDateTime todayStart,
+	                                @Param("weekStart") LocalDateTime weekStart,
+	                                @Param("monthStart") LocalDateTime monthStart,
+	                                @Param("delivered") OrderStatus delivered,
+	                                @Param("activeStatuses") List<OrderStatus> activeStatuses);
+
+	@Query("select c.fullName as courierName, count(o) as deliveries from Order o join o.courier c " +
+			"where o.restaurant.id = :restaurantId group by c.fullName order by count(o) desc")
+	List<CourierDeliveriesView> countDeliveriesByCourier(@Param("restaurantId") Long restaurantId);
+
+	@Query("select u.restaurant.id as restaurantId, u.id as courierId, " +
+			"coalesce(sum(case when o.status = :active then 1 else 0 end), 0) as activeDeliveries, " +
+			"max(case when o.status = :delivered then o.updatedAt end) as lastDeliveredAt " +
+			"from User u left join Order o on o.courier = u " +
+			"where u.role = :role and u.restaurant is not null group by u.restaurant.id, u.id")
+	List<CourierStatusView> findCourierStatuses(@Param("role") User.Role role,
+	                                            @Param("active") OrderStatus active,
+	                                            @Param("delivered") OrderStatus delivered);
+
+	@Query("select o from Order o join fetch o.address " +
+			"where o.id in :ids and o.status = :status and o.courier is null order by o.createdAt")
+	List<Order> findUnassignedByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") OrderStatus status);
+
+	long countByCourierIdAndStatus(Long courierId, OrderStatus status);
+
+	@Query("select o.id from Order o where o.status = :status and o.courier is null")
+	List<Long> findUnassignedIdsByStatus(@Param("status") OrderStatus status);
+
+	interface OrderTotalsView {
+		double getTodayRevenue();
+		long getTodayOrders();
+		double getWeekRevenue();
+		long getWeekOrders();
+		double getMonthRevenue();
+		long getMonthOrders();
+		double getAverageOrderValue();
+		long getActiveOrders();
+	}
+
+	interface CourierDeliveriesView {
+		String getCourierName();
+		long getDeliveries();
+	}
+
+	interface CourierStatusView {
+		Long getRestaurantId();
+		Long getCourierId();
+		long getActiveDeliveries();
+		LocalDateTime getLastDeliveredAt();
+	}
 }
@@ -0,0 +1,29 @@
+package pollub.eatgo.repository;
+
+import pollub.eatgo.dto.order.OrderPage;
+import pollub.eatgo.dto.order.OrderPageRequest;
+import pollub.eatgo.model.Order;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Właściciel historii zamówień, po którym filtrowana jest strona.
+     */
+    enum OrderOwner {
+        USER("user"),
+        RESTAURANT("restaurant"),
+        COURIER("courier");
+
+        private final String attribute;
+
+        OrderOwner(String attribute) {
+            this.attribute = attribute;
+        }
+
+        String attribute() {
+            return attribute;
+        }
+    }
+
+    OrderPage<Order> findPage(OrderOwner owner, Long ownerId, OrderPageRequest request);
+}
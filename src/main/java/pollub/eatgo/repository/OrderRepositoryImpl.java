@@ -0,0 +1,95 @@
+package pollub.eatgo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import pollub.eatgo.dto.order.OrderCursor;
+import pollub.eatgo.dto.order.OrderPage;
+import pollub.eatgo.dto.order.OrderPageRequest;
+import pollub.eatgo.model.Order;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Paginacja keyset po {@code (created_at, id)} w obu kierunkach (indeksy malejące są czytane wstecz):
+ * najpierw identyfikatory strony (bez OFFSET), potem jedno zapytanie z fetch join po powiązaniach
+ * potrzebnych do DTO.
+ */
+class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public OrderPage<Order> findPage(OrderOwner owner, Long ownerId, OrderPageRequest request) {
+        List<Object[]> keys = findPageKeys(owner, ownerId, request);
+        OrderCursor nextCursor = null;
+        if (keys.size() > request.size()) {
+            keys = keys.subList(0, request.size());
+            Object[] last = keys.get(keys.size() - 1);
+            nextCursor = new OrderCursor((LocalDateTime) last[0], (Long) last[1]);
+        }
+        if (keys.isEmpty()) {
+            return new OrderPage<>(List.of(), null);
+        }
+
+        List<Long> ids = keys.stream().map(key -> (Long) key[1]).toList();
+        List<Order> orders = new ArrayList<>(entityManager.createQuery(
+                        "select distinct o from Order o " +
+                        "left join fetch o.user left join fetch o.courier left join fetch o.restaurant " +
+                        "left join fetch o.address left join fetch o.items i left join fetch i.dish " +
+                        "where o.id in :ids", Order.class)
+                .setParameter("ids", ids)
+                .getResultList());
+        Comparator<Order> oldestFirst = Comparator.comparing(Order::getCreatedAt).thenComparing(Order::getId);
+        orders.sort(request.oldestFirst() ? oldestFirst : oldestFirst.reversed());
+        return new OrderPage<>(orders, nextCursor);
+    }
+
+    private List<Object[]> findPageKeys(OrderOwner owner, Long ownerId, OrderPageRequest request) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Order> order = query.from(Order.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(order.get(owner.attribute()).get("id"), ownerId));
+        if (!request.statuses().isEmpty()) {
+            predicates.add(order.get("status").in(request.statuses()));
+        }
+        if (request.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("createdAt"), request.from()));
+        }
+        if (request.to() != null) {
+            predicates.add(cb.lessThan(order.get("createdAt"), request.to()));
+        }
+        OrderCursor cursor = request.cursor();
+        if (cursor != null && request.oldestFirst()) {
+            predicates.add(cb.or(
+                    cb.greaterThan(order.get("createdAt"), cursor.createdAt()),
+                    cb.and(cb.equal(order.get("createdAt"), cursor.createdAt()),
+                            cb.greaterThan(order.get("id"), cursor.id()))
+            ));
+        } else if (cursor != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(order.get("createdAt"), cursor.createdAt()),
+                    cb.and(cb.equal(order.get("createdAt"), cursor.createdAt()),
+                            cb.lessThan(order.get("id"), cursor.id()))
+            ));
+        }
+
+        query.multiselect(order.get("createdAt"), order.get("id"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(request.oldestFirst()
+                        ? List.of(cb.asc(order.get("createdAt")), cb.asc(order.get("id")))
+                        : List.of(cb.desc(order.get("createdAt")), cb.desc(order.get("id"))));
+        return entityManager.createQuery(query)
+                .setMaxResults(request.size() + 1)
+                .getResultList();
+    }
+}
@@ -1,6 +1,7 @@
 package pollub.eatgo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import pollub.eatgo.model.Review;
 
 import java.util.List;
@@ -8,4 +9,15 @@ import java.util.List;
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     boolean existsByOrderIdAndReviewerIdAndTargetType(Long orderId, Long reviewerId, String targetType);
 	List<Review> findByTargetTypeAndTargetIdOrderByCreatedAtDesc(String targetType, Long targetId);
+
+	@Query("select r.targetType as targetType, r.targetId as targetId, count(r) as reviewCount, sum(r.rating) as ratingSum " +
+			"from Review r where r.targetId is not null group by r.targetType, r.targetId")
+	List<RatingAggregateView> aggregateRatings();
+
+	interface RatingAggregateView {
+		String getTargetType();
+		Long getTargetId();
+		long getReviewCount();
+		long getRatingSum();
+	}
 }
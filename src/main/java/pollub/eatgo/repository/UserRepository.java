@@ -1,6 +1,10 @@
 package pollub.eatgo.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import pollub.eatgo.model.User;
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +14,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(User.Role role);
 	List<User> findByRestaurantIdAndRole(Long restaurantId, User.Role role);
 	Optional<User> findByIdAndRestaurantId(Long courierId, Long restaurantId);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select u from User u where u.id = :id")
+	Optional<User> findByIdForUpdate(@Param("id") Long id);
 }
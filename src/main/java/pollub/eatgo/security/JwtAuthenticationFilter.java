@@ -1,5 +1,7 @@
 package pollub.eatgo.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,16 +12,35 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
+import pollub.eatgo.service.TenantResolver;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Uwierzytelnienie tokenem Bearer. Czas weryfikacji (bez reszty łańcucha filtrów) trafia do
+ * {@code eatgo.jwt.authentication} z tagiem {@code outcome}.
+ */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TenantResolver tenantResolver;
+    private final Timer authenticated;
+    private final Timer rejected;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TenantResolver tenantResolver, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.tenantResolver = tenantResolver;
+        this.authenticated = timer(meterRegistry, "authenticated");
+        this.rejected = timer(meterRegistry, "rejected");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("eatgo.jwt.authentication")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Override
@@ -35,19 +56,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = header.substring(7);
 
-        if (!jwtUtil.validateToken(token)) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        String email = jwtUtil.extractEmail(token);
-        String role = jwtUtil.extractRole(token);
-
-        List<SimpleGrantedAuthority> authorities =
-                (role != null) ? List.of(new SimpleGrantedAuthority("ROLE_" + role)) : List.of();
+        long start = System.nanoTime();
+        Optional<JwtPrincipal> authentication = jwtUtil.authenticate(token);
+        authentication.ifPresent(principal -> {
+            List<SimpleGrantedAuthority> authorities = (principal.role() != null)
+                    ? List.of(new SimpleGrantedAuthority("ROLE_" + principal.role()))
+                    : List.of();
 
-        var auth = new UsernamePasswordAuthenticationToken(email, "", authorities);
-        SecurityContextHolder.getContext().setAuthentication(auth);
+            var auth = new UsernamePasswordAuthenticationToken(principal, "", authorities);
+            SecurityContextHolder.getContext().setAuthentication(auth);
+            tenantResolver.warm(principal.email(), principal.role());
+        });
+        (authentication.isPresent() ? authenticated : rejected).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,20 @@
+package pollub.eatgo.security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Zweryfikowana tożsamość z tokena JWT. {@link #getName()} zwraca email, więc
+ * {@code Authentication#getName()} w kontrolerach działa jak dotychczas.
+ */
+public record JwtPrincipal(Long id, String email, String role, Instant expiresAt) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
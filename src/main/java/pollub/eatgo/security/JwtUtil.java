@@ -2,6 +2,7 @@ package pollub.eatgo.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -11,11 +12,22 @@ import org.springframework.stereotype.Component;
 import pollub.eatgo.model.User;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
 
+    static final int MAX_CACHED_TOKENS = 10_000;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -23,10 +35,17 @@ public class JwtUtil {
     private long expirationMs;
 
     private SecretKey key;
+    private JwtParser parser;
+
+    /**
+     * Zweryfikowane tokeny (klucz: SHA-256 tokena), ważne do {@code exp} tokena.
+     */
+    private final Map<String, JwtPrincipal> verifiedTokens = new ConcurrentHashMap<>();
 
     @PostConstruct
     private void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateToken(User user) {
@@ -43,30 +62,72 @@ public class JwtUtil {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Weryfikuje token jednym parsowaniem i zwraca tożsamość; kolejne zapytania z tym samym
+     * tokenem są obsługiwane z pamięci podręcznej aż do wygaśnięcia tokena.
+     */
+    public Optional<JwtPrincipal> authenticate(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        String cacheKey = hash(token);
+        JwtPrincipal cached = verifiedTokens.get(cacheKey);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(cacheKey, cached);
+            return Optional.empty();
+        }
+
+        JwtPrincipal principal;
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            principal = toPrincipal(parser.parseClaimsJws(token).getBody());
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
+        if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+            evict(now);
+        }
+        verifiedTokens.put(cacheKey, principal);
+        return Optional.of(principal);
     }
 
-    public Claims getAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    int cachedTokens() {
+        return verifiedTokens.size();
     }
 
-    public String extractUserId(String token) {
-        return getAllClaims(token).getSubject();
+    private JwtPrincipal toPrincipal(Claims claims) {
+        Object email = claims.get("email");
+        Object role = claims.get("role");
+        Date exp = claims.getExpiration();
+        return new JwtPrincipal(
+                claims.getSubject() != null ? Long.valueOf(claims.getSubject()) : null,
+                email == null ? null : email.toString(),
+                role == null ? null : role.toString(),
+                exp == null ? null : exp.toInstant()
+        );
     }
 
-    public String extractRole(String token) {
-        Object r = getAllClaims(token).get("role");
-        return r == null ? null : r.toString();
+    /**
+     * Usuwa wygasłe wpisy; jeśli to nie wystarczy, usuwa dowolne wpisy do połowy limitu.
+     */
+    private void evict(Instant now) {
+        verifiedTokens.values().removeIf(principal -> principal.isExpired(now));
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() > MAX_CACHED_TOKENS / 2 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
     }
 
-    public String extractEmail(String token) {
-        Object e = getAllClaims(token).get("email");
-        return e == null ? null : e.toString();
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
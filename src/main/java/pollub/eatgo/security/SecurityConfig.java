@@ -1,6 +1,8 @@
 package pollub.eatgo.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +14,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import pollub.eatgo.service.TenantResolver;
 
 @Configuration
 @RequiredArgsConstructor
@@ -19,6 +23,8 @@ public class SecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtUtil jwtUtil;
+    private final TenantResolver tenantResolver;
+    private final MeterRegistry meterRegistry;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -39,9 +45,18 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Metryki bez JWT tylko na porcie zarządzania ({@code management.server.port}); gdyby actuator
+     * działał na porcie aplikacji, {@code /actuator/prometheus} wymaga uwierzytelnienia.
+     */
     @Bean
-    public SecurityFilterChain filterChain(org.springframework.security.config.annotation.web.builders.HttpSecurity http) throws Exception {
-        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtUtil);
+    public SecurityFilterChain filterChain(org.springframework.security.config.annotation.web.builders.HttpSecurity http,
+                                           @Value("${server.port:8080}") int serverPort,
+                                           @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtUtil, tenantResolver, meterRegistry);
+        RequestMatcher managementPortPrometheus = request -> managementPort > 0 && managementPort != serverPort
+                && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
 
         http
                 .csrf(AbstractHttpConfigurer::disable)
@@ -53,6 +68,8 @@ public class SecurityConfig {
                         .requestMatchers("/restaurant", "/courier", "/restaurant-view/**", "/checkout/**", "/cart", "/orders", "/profile").permitAll()
                         .requestMatchers("/images/**", "/static/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(managementPortPrometheus).permitAll()
                         .requestMatchers("/api/restaurants").permitAll()
                         .requestMatchers("/api/restaurants/*/menu", "/api/restaurants/*/reviews").permitAll()
 						.requestMatchers("/api/restaurant/**", "/api/admin/**").hasRole("RESTAURANT_ADMIN")
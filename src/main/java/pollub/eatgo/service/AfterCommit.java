@@ -0,0 +1,28 @@
+package pollub.eatgo.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Odkłada aktualizację stanu trzymanego w pamięci (indeksy, agregaty, powiadomienia) do commitu
+ * bieżącej transakcji; wycofana transakcja nie zostawia po sobie śladu. Poza transakcją akcja
+ * wykonuje się od razu.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
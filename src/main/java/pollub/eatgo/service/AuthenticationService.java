@@ -2,12 +2,15 @@ package pollub.eatgo.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import pollub.eatgo.model.Restaurant;
 import pollub.eatgo.model.User;
 import pollub.eatgo.repository.RestaurantRepository;
@@ -16,6 +19,13 @@ import pollub.eatgo.security.JwtUtil;
 
 import java.util.Optional;
 
+/**
+ * Wspólna, wewnątrzprocesowa ścieżka logowania i rejestracji - używana zarówno przez
+ * {@code AuthController} (REST), jak i dialogi Vaadin, bez wywołań HTTP do samej aplikacji.
+ * <p>
+ * Nieoczekiwane błędy trafiają tylko do logu; wywołujący dostaje ogólny komunikat
+ * ({@link Failure#ERROR}), bez treści wyjątku.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -26,6 +36,8 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantSearchIndex restaurantSearchIndex;
+    private final TenantResolver tenantResolver;
     
     public AuthResult login(String email, String password) {
         try {
@@ -38,13 +50,14 @@ public class AuthenticationService {
             
             String token = jwtUtil.generateToken(user);
             
-            return new AuthResult(true, token, user.getId(), user.getRole().name(), null);
+            return AuthResult.success(token, user);
         } catch (AuthenticationException e) {
-            log.error("Authentication failed for email: {}", email, e);
-            return new AuthResult(false, null, null, null, "Nieprawidłowy email lub hasło");
+            log.warn("Authentication failed for email: {}", email);
+            return AuthResult.failure(Failure.INVALID_CREDENTIALS, "Nieprawidłowy email lub hasło",
+                    "Invalid credentials");
         } catch (Exception e) {
             log.error("Unexpected error during login", e);
-            return new AuthResult(false, null, null, null, "Wystąpił błąd podczas logowania: " + e.getMessage());
+            return AuthResult.failure(Failure.ERROR, "Wystąpił błąd podczas logowania", "Login failed");
         }
     }
     
@@ -54,18 +67,33 @@ public class AuthenticationService {
         try {
             Optional<User> exists = userRepository.findByEmail(email);
             if (exists.isPresent()) {
-                return new AuthResult(false, null, null, null, "Email jest już w użyciu");
+                return AuthResult.failure(Failure.EMAIL_TAKEN, "Email jest już w użyciu", "Email already in use");
             }
             
             if (role == null || role.isBlank()) {
-                return new AuthResult(false, null, null, null, "Rola jest wymagana");
+                return AuthResult.failure(Failure.INVALID_INPUT, "Rola jest wymagana", "Role is required");
             }
             
             User.Role userRole;
             try {
                 userRole = User.Role.valueOf(role.toUpperCase());
             } catch (IllegalArgumentException e) {
-                return new AuthResult(false, null, null, null, "Nieprawidłowa rola. Użyj CLIENT lub RESTAURANT_ADMIN");
+                return AuthResult.failure(Failure.INVALID_INPUT, "Nieprawidłowa rola. Użyj CLIENT lub RESTAURANT_ADMIN",
+                        "Invalid role. Use CLIENT or RESTAURANT_ADMIN");
+            }
+
+            double delivery = restaurantDeliveryPrice == null ? 0.0 : restaurantDeliveryPrice;
+            if (userRole == User.Role.RESTAURANT_ADMIN) {
+                if (restaurantName == null || restaurantName.isBlank() ||
+                    restaurantAddress == null || restaurantAddress.isBlank()) {
+                    return AuthResult.failure(Failure.INVALID_INPUT,
+                        "Nazwa restauracji i adres są wymagane dla RESTAURANT_ADMIN",
+                        "restaurantName and restaurantAddress are required for RESTAURANT_ADMIN");
+                }
+                if (delivery < 0) {
+                    return AuthResult.failure(Failure.INVALID_INPUT, "Cena dostawy musi być >= 0",
+                        "restaurantDeliveryPrice must be >= 0");
+                }
             }
             
             User user = User.builder()
@@ -78,18 +106,6 @@ public class AuthenticationService {
             user = userRepository.save(user);
             
             if (userRole == User.Role.RESTAURANT_ADMIN) {
-                if (restaurantName == null || restaurantName.isBlank() ||
-                    restaurantAddress == null || restaurantAddress.isBlank()) {
-                    return new AuthResult(false, null, null, null, 
-                        "Nazwa restauracji i adres są wymagane dla RESTAURANT_ADMIN");
-                }
-                
-                double delivery = restaurantDeliveryPrice == null ? 0.0 : restaurantDeliveryPrice;
-                if (delivery < 0) {
-                    return new AuthResult(false, null, null, null, 
-                        "Cena dostawy musi być >= 0");
-                }
-                
                 Restaurant restaurant = Restaurant.builder()
                         .name(restaurantName)
                         .address(restaurantAddress)
@@ -97,32 +113,75 @@ public class AuthenticationService {
                         .admin(user)
                         .build();
                 
-                restaurantRepository.save(restaurant);
+                restaurant = restaurantRepository.save(restaurant);
+                restaurantSearchIndex.onRestaurantChanged(restaurant);
+                tenantResolver.evict(user.getEmail());
             }
             
             String token = jwtUtil.generateToken(user);
             
-            return new AuthResult(true, token, user.getId(), user.getRole().name(), null);
+            return AuthResult.success(token, user);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Registration conflict for email: {}", email);
+            rollback();
+            return AuthResult.failure(Failure.EMAIL_TAKEN, "Email jest już w użyciu", "Email already in use");
         } catch (Exception e) {
             log.error("Error during registration", e);
-            return new AuthResult(false, null, null, null, 
-                "Wystąpił błąd podczas rejestracji: " + e.getMessage());
+            rollback();
+            return AuthResult.failure(Failure.ERROR, "Wystąpił błąd podczas rejestracji", "Registration failed");
+        }
+    }
+
+    /**
+     * Błąd jest zamieniany na {@link AuthResult}, więc transakcję trzeba wycofać jawnie —
+     * inaczej użytkownik zostałby zapisany bez restauracji.
+     */
+    private static void rollback() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
         }
     }
+
+    /**
+     * Rodzaj błędu, pozwalający kontrolerowi REST dobrać kod odpowiedzi.
+     */
+    public enum Failure {
+        INVALID_CREDENTIALS,
+        EMAIL_TAKEN,
+        INVALID_INPUT,
+        ERROR
+    }
     
     public static class AuthResult {
         private final boolean success;
+        private final Failure failure;
         private final String token;
         private final Long userId;
         private final String role;
         private final String errorMessage;
+        private final String apiMessage;
         
-        public AuthResult(boolean success, String token, Long userId, String role, String errorMessage) {
+        private AuthResult(boolean success, Failure failure, String token, Long userId, String role,
+                           String errorMessage, String apiMessage) {
             this.success = success;
+            this.failure = failure;
             this.token = token;
             this.userId = userId;
             this.role = role;
             this.errorMessage = errorMessage;
+            this.apiMessage = apiMessage;
+        }
+
+        static AuthResult success(String token, User user) {
+            return new AuthResult(true, null, token, user.getId(), user.getRole().name(), null, null);
+        }
+
+        static AuthResult failure(Failure failure, String errorMessage, String apiMessage) {
+            return new AuthResult(false, failure, null, null, null, errorMessage, apiMessage);
+        }
+        
+        public Failure getFailure() {
+            return failure;
         }
         
         public boolean isSuccess() {
@@ -144,6 +203,14 @@ public class AuthenticationService {
         public String getErrorMessage() {
             return errorMessage;
         }
+
+        /**
+         * Komunikat dla klientów REST - po angielsku, jak w odpowiedziach {@code /api/auth} sprzed
+         * wydzielenia tego serwisu. {@link #getErrorMessage()} jest dla dialogów Vaadin.
+         */
+        public String getApiMessage() {
+            return apiMessage;
+        }
     }
 }
 
@@ -0,0 +1,185 @@
+package pollub.eatgo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pollub.eatgo.model.Order;
+import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.repository.OrderRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Automatyczne przydzielanie kurierów do zamówień {@code READY}.
+ * <p>
+ * Zamówienie trafia do kolejki po commicie przejścia do {@code READY}; kolejka jest opróżniana
+ * cyklicznie w wątku harmonogramu, więc żądanie administratora nie czeka na przydział. Zamówienia
+ * jednej restauracji zebrane w tym samym cyklu i z tym samym kodem pocztowym dostaje razem
+ * najmniej obciążony kurier (w granicach {@link CourierStatusIndex#MAX_ACTIVE_DELIVERIES}).
+ * Kurier jest wybierany z {@link CourierStatusIndex}, ale jego bieżąca liczba dostaw jest czytana
+ * z bazy, a sam przydział sprawdza limit pod blokadą wiersza kuriera — indeks może nie znać
+ * dostaw przypisanych na innych węzłach.
+ * Zamówienia bez wolnego kuriera wracają do kolejki z rosnącym odstępem (od {@link #RETRY_DELAY}
+ * do {@link #MAX_RETRY_DELAY}); po {@link #MAX_ATTEMPTS} próbach dispatcher je porzuca i zostają
+ * do ręcznego przypisania. Ręczne przypisanie nadal działa — wygrywa to, które pierwsze zmieni status.
+ * <p>
+ * Dispatcher ({@code eatgo.dispatch.auto}) może działać na kilku węzłach naraz: każdy przy starcie
+ * kolejkuje wszystkie zamówienia {@code READY}, ale o wyniku przydziału decyduje baza (przejście
+ * warunkowe i limit liczony pod blokadą kuriera), więc kolejne węzły powielają tylko pracę.
+ */
+@Service
+@Slf4j
+public class CourierDispatcher {
+
+    private final OrderRepository orderRepository;
+    private final RestaurantService restaurantService;
+    private final CourierStatusIndex courierStatusIndex;
+    static final Duration RETRY_DELAY = Duration.ofSeconds(2);
+    static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+    static final int MAX_ATTEMPTS = 20;
+
+    private final boolean enabled;
+
+    /** Zamówienie → najwcześniejszy moment kolejnej próby (ms). */
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> attempts = new ConcurrentHashMap<>();
+
+    public CourierDispatcher(OrderRepository orderRepository,
+                             RestaurantService restaurantService,
+                             CourierStatusIndex courierStatusIndex,
+                             @Value("${eatgo.dispatch.auto:true}") boolean enabled) {
+        this.orderRepository = orderRepository;
+        this.restaurantService = restaurantService;
+        this.courierStatusIndex = courierStatusIndex;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            orderRepository.findUnassignedIdsByStatus(OrderStatus.READY).forEach(this::enqueue);
+            log.info("Courier dispatch enabled, {} ready orders waiting", pending.size());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (enabled && event.currentStatus() == OrderStatus.READY && event.courierId() == null) {
+            enqueue(event.orderId());
+        }
+    }
+
+    private void enqueue(Long orderId) {
+        attempts.remove(orderId);
+        pending.put(orderId, 0L);
+    }
+
+    private void retryLater(Long orderId) {
+        int attempt = attempts.merge(orderId, 1, Integer::sum);
+        if (attempt >= MAX_ATTEMPTS) {
+            attempts.remove(orderId);
+            log.info("No courier for order {} after {} attempts, leaving it for manual assignment", orderId, attempt);
+            return;
+        }
+        long delay = Math.min(MAX_RETRY_DELAY.toMillis(), RETRY_DELAY.toMillis() << Math.min(attempt - 1, 16));
+        pending.put(orderId, System.currentTimeMillis() + delay);
+    }
+
+    @Scheduled(fixedDelay = 2, timeUnit = TimeUnit.SECONDS)
+    public void dispatch() {
+        if (!enabled || pending.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Long> batch = new ArrayList<>();
+        pending.forEach((orderId, dueAt) -> {
+            if (dueAt <= now) {
+                batch.add(orderId);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+        batch.forEach(pending::remove);
+
+        Map<Long, Map<String, List<Order>>> byRestaurant = new LinkedHashMap<>();
+        List<Order> unassigned = orderRepository.findUnassignedByIdInAndStatus(batch, OrderStatus.READY);
+        Set<Long> stillReady = unassigned.stream().map(Order::getId).collect(Collectors.toSet());
+        batch.stream().filter(orderId -> !stillReady.contains(orderId)).forEach(attempts::remove);
+        for (Order order : unassigned) {
+            byRestaurant.computeIfAbsent(order.getRestaurant().getId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(areaKey(order), key -> new ArrayList<>())
+                    .add(order);
+        }
+        byRestaurant.forEach((restaurantId, areas) ->
+                areas.values().forEach(orders -> assign(restaurantId, orders)));
+    }
+
+    private void assign(Long restaurantId, List<Order> orders) {
+        int next = 0;
+        while (next < orders.size()) {
+            Optional<Long> courier = courierStatusIndex.leastLoadedCourier(restaurantId);
+            if (courier.isEmpty()) {
+                orders.subList(next, orders.size()).forEach(order -> retryLater(order.getId()));
+                return;
+            }
+            Long courierId = courier.get();
+            int active = (int) orderRepository.countByCourierIdAndStatus(courierId, OrderStatus.IN_DELIVERY);
+            courierStatusIndex.onActiveDeliveriesRead(courierId, active);
+            int capacity = CourierStatusIndex.MAX_ACTIVE_DELIVERIES - active;
+            if (capacity <= 0) {
+                continue;
+            }
+            int end = Math.min(orders.size(), next + capacity);
+            int assigned = 0;
+            for (Order order : orders.subList(next, end)) {
+                if (tryAssign(order.getId(), courierId)) {
+                    assigned++;
+                }
+            }
+            next = end;
+            log.debug("Dispatched {} orders of restaurant {} to courier {}", assigned, restaurantId, courierId);
+        }
+    }
+
+    private boolean tryAssign(Long orderId, Long courierId) {
+        try {
+            if (restaurantService.dispatchCourier(orderId, courierId)) {
+                attempts.remove(orderId);
+                return true;
+            }
+            retryLater(orderId);
+            return false;
+        } catch (OrderTransitionConflictException e) {
+            attempts.remove(orderId);
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("Failed to dispatch order {} to courier {}", orderId, courierId, e);
+            retryLater(orderId);
+            return false;
+        }
+    }
+
+    private static String areaKey(Order order) {
+        String postalCode = order.getAddress() != null ? order.getAddress().getPostalCode() : null;
+        return postalCode != null ? postalCode.trim() : "";
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+}
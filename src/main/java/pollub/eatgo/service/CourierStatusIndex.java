@@ -0,0 +1,212 @@
+package pollub.eatgo.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.model.User;
+import pollub.eatgo.repository.OrderRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bieżący stan kurierów w podziale na restauracje: liczba zamówień {@code IN_DELIVERY}, czas
+ * ostatniej dostawy i dostępność.
+ * <p>
+ * Budowany jednym zapytaniem grupującym przy starcie, potem aktualizowany po commicie przez
+ * {@link OrderStatusChangedEvent} oraz przy dodaniu i usunięciu kuriera. Lista kurierów czyta stan
+ * wyłącznie z pamięci.
+ * <p>
+ * Zdarzenia są lokalne dla węzła, więc zmiany z innych instancji trafiają tu dopiero przy okresowym
+ * uzgodnieniu z bazą ({@code eatgo.couriers.reconcile-interval}). {@link CourierDispatcher} traktuje
+ * indeks tylko jako podpowiedź: przed przydziałem czyta liczbę dostaw wybranego kuriera z bazy.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourierStatusIndex {
+
+    /**
+     * Liczba jednoczesnych dostaw, od której kurier nie dostaje kolejnych zamówień.
+     */
+    public static final int MAX_ACTIVE_DELIVERIES = 3;
+
+    public record CourierStatus(Long courierId, int activeDeliveries, LocalDateTime lastDeliveredAt) {
+        public boolean available() {
+            return activeDeliveries < MAX_ACTIVE_DELIVERIES;
+        }
+    }
+
+    private static final class Entry {
+        final AtomicInteger activeDeliveries;
+        volatile LocalDateTime lastDeliveredAt;
+
+        Entry(int activeDeliveries, LocalDateTime lastDeliveredAt) {
+            this.activeDeliveries = new AtomicInteger(activeDeliveries);
+            this.lastDeliveredAt = lastDeliveredAt;
+        }
+    }
+
+    private final OrderRepository orderRepository;
+
+    private final Map<Long, Map<Long, Entry>> entriesByRestaurant = new ConcurrentHashMap<>();
+    private final Map<Long, Long> restaurantByCourier = new ConcurrentHashMap<>();
+
+    /** Zmiany zastosowane w trakcie przebudowy; {@code null}, gdy przebudowa nie trwa. */
+    private List<Runnable> changesDuringRebuild;
+
+    /**
+     * Zapytanie idzie poza monitorem; zmiany zastosowane w tym czasie są powtarzane na nowym stanie,
+     * żeby uzgodnienie nie cofnęło dostaw zatwierdzonych w jego trakcie.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${eatgo.couriers.reconcile-interval:PT1M}",
+            initialDelayString = "${eatgo.couriers.reconcile-interval:PT1M}")
+    public void rebuild() {
+        startRecordingChanges();
+        List<OrderRepository.CourierStatusView> statuses = orderRepository.findCourierStatuses(
+                User.Role.COURIER, OrderStatus.IN_DELIVERY, OrderStatus.DELIVERED);
+        replaceAll(statuses);
+        log.debug("Courier status index built: {} couriers", restaurantByCourier.size());
+    }
+
+    private synchronized void startRecordingChanges() {
+        changesDuringRebuild = new ArrayList<>();
+    }
+
+    private synchronized void replaceAll(List<OrderRepository.CourierStatusView> statuses) {
+        entriesByRestaurant.clear();
+        restaurantByCourier.clear();
+        for (OrderRepository.CourierStatusView view : statuses) {
+            register(view.getRestaurantId(), view.getCourierId(),
+                    new Entry((int) view.getActiveDeliveries(), view.getLastDeliveredAt()));
+        }
+        List<Runnable> changes = changesDuringRebuild;
+        changesDuringRebuild = null;
+        if (changes != null) {
+            changes.forEach(Runnable::run);
+        }
+    }
+
+    private synchronized void apply(Runnable change) {
+        change.run();
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.courierId() != null) {
+            apply(() -> statusChanged(event));
+        }
+    }
+
+    private void statusChanged(OrderStatusChangedEvent event) {
+        boolean wasActive = event.previousStatus() == OrderStatus.IN_DELIVERY;
+        boolean isActive = event.currentStatus() == OrderStatus.IN_DELIVERY;
+        if (wasActive == isActive) {
+            return;
+        }
+        Entry entry = entry(event.restaurantId(), event.courierId());
+        if (isActive) {
+            entry.activeDeliveries.incrementAndGet();
+        } else {
+            entry.activeDeliveries.updateAndGet(value -> Math.max(0, value - 1));
+        }
+        if (event.currentStatus() == OrderStatus.DELIVERED) {
+            entry.lastDeliveredAt = event.changedAt();
+        }
+    }
+
+    public void onCourierAdded(Long restaurantId, Long courierId) {
+        apply(() -> register(restaurantId, courierId, new Entry(0, null)));
+    }
+
+    public void onCourierRemoved(Long courierId) {
+        apply(() -> courierRemoved(courierId));
+    }
+
+    /**
+     * Poprawia liczbę dostaw kuriera odczytaną właśnie z bazy (np. przez {@link CourierDispatcher}).
+     */
+    public void onActiveDeliveriesRead(Long courierId, int activeDeliveries) {
+        apply(() -> {
+            Entry entry = find(courierId);
+            if (entry != null) {
+                entry.activeDeliveries.set(activeDeliveries);
+            }
+        });
+    }
+
+    private void courierRemoved(Long courierId) {
+        Long restaurantId = restaurantByCourier.remove(courierId);
+        if (restaurantId != null) {
+            Map<Long, Entry> couriers = entriesByRestaurant.get(restaurantId);
+            if (couriers != null) {
+                couriers.remove(courierId);
+            }
+        }
+    }
+
+    /**
+     * Stan kuriera; nieznany kurier jest traktowany jako wolny, bez historii dostaw.
+     */
+    public CourierStatus status(Long courierId) {
+        Entry entry = find(courierId);
+        return entry != null
+                ? new CourierStatus(courierId, entry.activeDeliveries.get(), entry.lastDeliveredAt)
+                : new CourierStatus(courierId, 0, null);
+    }
+
+    public int activeDeliveries(Long courierId) {
+        Entry entry = find(courierId);
+        return entry != null ? entry.activeDeliveries.get() : 0;
+    }
+
+    /**
+     * Kurier restauracji z najmniejszą liczbą dostaw, który może przyjąć jeszcze co najmniej jedno
+     * zamówienie; przy remisie pierwszeństwo ma ten, który najdłużej nie kończył dostawy.
+     */
+    public Optional<Long> leastLoadedCourier(Long restaurantId) {
+        return entriesByRestaurant.getOrDefault(restaurantId, Map.of()).entrySet().stream()
+                .filter(e -> e.getValue().activeDeliveries.get() < MAX_ACTIVE_DELIVERIES)
+                .min(Comparator.<Map.Entry<Long, Entry>>comparingInt(e -> e.getValue().activeDeliveries.get())
+                        .thenComparing(e -> e.getValue().lastDeliveredAt,
+                                Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Map.Entry::getKey))
+                .map(Map.Entry::getKey);
+    }
+
+    public int remainingCapacity(Long courierId) {
+        return Math.max(0, MAX_ACTIVE_DELIVERIES - activeDeliveries(courierId));
+    }
+
+    private Entry find(Long courierId) {
+        Long restaurantId = restaurantByCourier.get(courierId);
+        return restaurantId != null ? entriesByRestaurant.getOrDefault(restaurantId, Map.of()).get(courierId) : null;
+    }
+
+    private void register(Long restaurantId, Long courierId, Entry entry) {
+        restaurantByCourier.put(courierId, restaurantId);
+        entriesByRestaurant.computeIfAbsent(restaurantId, id -> new ConcurrentHashMap<>()).put(courierId, entry);
+    }
+
+    private Entry entry(Long restaurantId, Long courierId) {
+        restaurantByCourier.putIfAbsent(courierId, restaurantId);
+        return entriesByRestaurant.computeIfAbsent(restaurantId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(courierId, id -> new Entry(0, null));
+    }
+}
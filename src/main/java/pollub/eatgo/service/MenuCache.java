@@ -0,0 +1,87 @@
+package pollub.eatgo.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import pollub.eatgo.config.PrimaryDatabase;
+import pollub.eatgo.dto.dish.DishDto;
+import pollub.eatgo.dto.dish.MenuSnapshot;
+import pollub.eatgo.model.Dish;
+import pollub.eatgo.repository.DishRepository;
+import pollub.eatgo.repository.RestaurantRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through cache menu restauracji: przy braku wpisu jedno zapytanie o dostępne dania,
+ * potem niezmienny {@link MenuSnapshot} do czasu unieważnienia przez zmianę dania albo upływu {@link #TTL}.
+ * Unieważnienie jest lokalne dla węzła, więc TTL ogranicza, jak długo inny węzeł serwuje menu
+ * sprzed zmiany.
+ * <p>
+ * Unieważnienie podbija generację restauracji, więc odczyt rozpoczęty przed zmianą nie nadpisze
+ * cache starszym stanem; w transakcji wpis jest usuwany ponownie po commicie. Brakujący wpis jest
+ * ładowany z bazy głównej ({@link PrimaryDatabase}), żeby nie zapamiętać menu sprzed zmiany z repliki.
+ */
+@Service
+@RequiredArgsConstructor
+public class MenuCache {
+
+    static final Duration TTL = Duration.ofMinutes(1);
+
+    private record Entry(MenuSnapshot snapshot, long loadedAtMillis) {}
+
+    private final DishRepository dishRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final PrimaryDatabase primaryDatabase;
+
+    private final Map<Long, Entry> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    public MenuSnapshot get(Long restaurantId) {
+        long now = System.currentTimeMillis();
+        Entry cached = snapshots.get(restaurantId);
+        if (cached != null && now - cached.loadedAtMillis() < TTL.toMillis()) {
+            return cached.snapshot();
+        }
+        long generation = generations.getOrDefault(restaurantId, 0L);
+        MenuSnapshot loaded = primaryDatabase.read(() -> load(restaurantId));
+        Entry stored = snapshots.compute(restaurantId, (id, current) ->
+                generations.getOrDefault(id, 0L) == generation ? new Entry(loaded, now) : current);
+        return stored != null ? stored.snapshot() : loaded;
+    }
+
+    private MenuSnapshot load(Long restaurantId) {
+        List<Dish> dishes = dishRepository.findByRestaurantIdAndAvailableTrue(restaurantId);
+        if (dishes.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant not found");
+        }
+        return MenuSnapshot.of(restaurantId, dishes.stream().map(d -> toDishDto(restaurantId, d)).toList());
+    }
+
+    public void invalidate(Long restaurantId) {
+        evict(restaurantId);
+        AfterCommit.run(() -> evict(restaurantId));
+    }
+
+    private void evict(Long restaurantId) {
+        generations.merge(restaurantId, 1L, Long::sum);
+        snapshots.remove(restaurantId);
+    }
+
+    private static DishDto toDishDto(Long restaurantId, Dish dish) {
+        return new DishDto(
+                dish.getId(),
+                dish.getName(),
+                dish.getDescription(),
+                dish.getPrice(),
+                dish.isAvailable(),
+                restaurantId,
+                dish.getCategory(),
+                dish.getImageUrl() != null ? dish.getImageUrl() : ""
+        );
+    }
+}
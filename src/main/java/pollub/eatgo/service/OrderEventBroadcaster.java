@@ -0,0 +1,97 @@
+package pollub.eatgo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Strumień zdarzeń zamówień (utworzenie, zmiana statusu, przypisanie kuriera) dla widoków UI.
+ * <p>
+ * Zdarzenia są rozsyłane dopiero po commicie i na wykonawcy {@code uiPushExecutor}: słuchacze
+ * wołają {@code ui.access}, a Vaadin nie pozwala sięgać do cudzej sesji z wątku, który trzyma
+ * blokadę własnej (np. administratora zmieniającego status). Zdarzenia są też przekazywane
+ * pozostałym węzłom przez {@link OrderNotificationStore} ({@code LISTEN/NOTIFY}), więc widok
+ * otwarty na innej instancji niż ta, która zmieniła zamówienie, również je dostaje.
+ */
+@Service
+@Slf4j
+public class OrderEventBroadcaster {
+
+    private final Map<Long, Set<Consumer<OrderStatusChangedEvent>>> restaurantSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Consumer<OrderStatusChangedEvent>>> courierSubscribers = new ConcurrentHashMap<>();
+    private final Executor dispatcher;
+    private final OrderNotificationStore store;
+
+    public OrderEventBroadcaster(@Qualifier("uiPushExecutor") Executor dispatcher, OrderNotificationStore store) {
+        this.dispatcher = dispatcher;
+        this.store = store;
+        store.setOrderEventListener(this::deliverToSubscribers);
+    }
+
+    /**
+     * Zdarzenia wszystkich zamówień restauracji. Zwrócony {@link Runnable} wyrejestrowuje słuchacza.
+     */
+    public Runnable subscribeRestaurant(Long restaurantId, Consumer<OrderStatusChangedEvent> listener) {
+        return subscribe(restaurantSubscribers, restaurantId, listener);
+    }
+
+    /**
+     * Zdarzenia zamówień przypisanych do kuriera. Zwrócony {@link Runnable} wyrejestrowuje słuchacza.
+     */
+    public Runnable subscribeCourier(Long courierId, Consumer<OrderStatusChangedEvent> listener) {
+        return subscribe(courierSubscribers, courierId, listener);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        store.publishOrderEvent(event);
+        deliverToSubscribers(event);
+    }
+
+    private void deliverToSubscribers(OrderStatusChangedEvent event) {
+        Set<Consumer<OrderStatusChangedEvent>> forRestaurant = restaurantSubscribers.get(event.restaurantId());
+        Set<Consumer<OrderStatusChangedEvent>> forCourier =
+                event.courierId() != null ? courierSubscribers.get(event.courierId()) : null;
+        if (forRestaurant == null && forCourier == null) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            deliver(forRestaurant, event);
+            deliver(forCourier, event);
+        });
+    }
+
+    private static Runnable subscribe(Map<Long, Set<Consumer<OrderStatusChangedEvent>>> subscribers,
+                                      Long key, Consumer<OrderStatusChangedEvent> listener) {
+        if (key == null || listener == null) {
+            return () -> {};
+        }
+        subscribers.computeIfAbsent(key, k -> new CopyOnWriteArraySet<>()).add(listener);
+        return () -> subscribers.computeIfPresent(key, (k, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    private static void deliver(Set<Consumer<OrderStatusChangedEvent>> listeners, OrderStatusChangedEvent event) {
+        if (listeners == null) {
+            return;
+        }
+        for (Consumer<OrderStatusChangedEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Order event listener for order {} failed: {}", event.orderId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package pollub.eatgo.service;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import pollub.eatgo.model.Restaurant;
+import pollub.eatgo.model.User;
+import pollub.eatgo.repository.RestaurantRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Strumieniowy eksport zamówień restauracji do XLSX.
+ * <p>
+ * Wiersze czytane są kursorem (forward-only, {@code fetchSize}) w transakcji tylko do odczytu,
+ * a {@link SXSSFWorkbook} trzyma w pamięci jedynie okno ostatnich wierszy — resztę zrzuca do pliku
+ * tymczasowego. Zużycie pamięci nie zależy więc od liczby eksportowanych zamówień.
+ * <p>
+ * Transakcja obejmuje tylko odczyt kursora; skoroszyt jest wysyłany do klienta już po jej zakończeniu,
+ * żeby wolny odbiorca nie trzymał połączenia z bazą.
+ */
+@Service
+public class OrderExportService {
+
+    static final int ROW_WINDOW = 100;
+    static final int FETCH_SIZE = 500;
+
+    private static final String[] HEADERS = {
+            "ID", "Status", "Wartość", "Dostawa", "Klient", "Kurier", "Data", "Danie", "Ilość", "Cena"
+    };
+    private static final int[] COLUMN_WIDTHS = {8, 16, 10, 10, 28, 24, 18, 28, 8, 10};
+
+    private static final String EXPORT_QUERY =
+            "select o.id, o.status, o.total_price, o.delivery_price, o.created_at, " +
+            "u.email as client_email, c.full_name as courier_name, c.email as courier_email, " +
+            "d.name as dish_name, i.quantity, i.price_snapshot " +
+            "from orders o " +
+            "join users u on u.id = o.user_id " +
+            "left join users c on c.id = o.courier_id " +
+            "left join order_items i on i.order_id = o.id " +
+            "left join dishes d on d.id = i.dish_id " +
+            "where o.restaurant_id = ? and o.created_at >= ? and o.created_at < ? " +
+            "order by o.created_at desc, o.id desc, i.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RestaurantRepository restaurantRepository;
+    private final TenantResolver tenantResolver;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public OrderExportService(JdbcTemplate jdbcTemplate, RestaurantRepository restaurantRepository,
+                              TenantResolver tenantResolver, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.restaurantRepository = restaurantRepository;
+        this.tenantResolver = tenantResolver;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Zapisuje zamówienia z zakresu {@code [from, to)} (po jednym wierszu na pozycję) do {@code out}.
+     * Brak granicy oznacza zakres otwarty z tej strony. Zwraca liczbę zapisanych zamówień.
+     */
+    public int exportOrders(String adminEmail, LocalDateTime from, LocalDateTime to, OutputStream out) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+        }
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Integer orders = readOnlyTransaction.execute(status -> fillSheet(workbook, adminEmail, from, to));
+            workbook.write(out);
+            out.flush();
+            return orders;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write orders export", e);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    private int fillSheet(SXSSFWorkbook workbook, String adminEmail, LocalDateTime from, LocalDateTime to) {
+        Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
+        SXSSFSheet sheet = workbook.createSheet("Zamówienia");
+        Styles styles = new Styles(workbook);
+        writeHeader(sheet, styles);
+
+        int[] counters = {1, 0};
+        long[] lastOrderId = {-1};
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(EXPORT_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, restaurant.getId());
+            ps.setTimestamp(2, Timestamp.valueOf(from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0)));
+            ps.setTimestamp(3, Timestamp.valueOf(to != null ? to : LocalDateTime.of(9999, 1, 1, 0, 0)));
+            return ps;
+        }, rs -> {
+            long orderId = rs.getLong("id");
+            if (orderId != lastOrderId[0]) {
+                lastOrderId[0] = orderId;
+                counters[1]++;
+            }
+            writeRow(sheet.createRow(counters[0]++), rs, styles);
+        });
+        return counters[1];
+    }
+
+    private void writeHeader(Sheet sheet, Styles styles) {
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(HEADERS[i]);
+            cell.setCellStyle(styles.header);
+            sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    private void writeRow(Row row, ResultSet rs, Styles styles) throws SQLException {
+        numeric(row, 0, rs.getLong("id"), styles.data);
+        text(row, 1, statusLabel(rs.getString("status")), styles.data);
+        numeric(row, 2, rs.getDouble("total_price"), styles.money);
+        numeric(row, 3, rs.getDouble("delivery_price"), styles.money);
+        text(row, 4, rs.getString("client_email"), styles.data);
+        String courierName = rs.getString("courier_name");
+        text(row, 5, courierName != null ? courierName : rs.getString("courier_email"), styles.data);
+
+        Cell dateCell = row.createCell(6);
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        if (createdAt != null) {
+            dateCell.setCellValue(createdAt.toLocalDateTime());
+        }
+        dateCell.setCellStyle(styles.date);
+
+        text(row, 7, rs.getString("dish_name"), styles.data);
+        int quantity = rs.getInt("quantity");
+        if (!rs.wasNull()) {
+            numeric(row, 8, quantity, styles.data);
+            numeric(row, 9, rs.getDouble("price_snapshot"), styles.money);
+        } else {
+            text(row, 8, null, styles.data);
+            text(row, 9, null, styles.money);
+        }
+    }
+
+    private static void text(Row row, int column, String value, CellStyle style) {
+        Cell cell = row.createCell(column);
+        cell.setCellValue(value != null ? value : "");
+        cell.setCellStyle(style);
+    }
+
+    private static void numeric(Row row, int column, double value, CellStyle style) {
+        Cell cell = row.createCell(column);
+        cell.setCellValue(value);
+        cell.setCellStyle(style);
+    }
+
+    static String statusLabel(String status) {
+        if (status == null) return "";
+        return switch (status) {
+            case "PLACED" -> "Złożone";
+            case "ACCEPTED" -> "Przyjęte";
+            case "COOKING" -> "W przygotowaniu";
+            case "READY" -> "Gotowe";
+            case "IN_DELIVERY" -> "W drodze";
+            case "DELIVERED" -> "Dostarczone";
+            case "CANCELLED" -> "Anulowane";
+            default -> status;
+        };
+    }
+
+    private Restaurant resolveRestaurantForAdmin(String adminEmail) {
+        TenantResolver.Tenant admin = tenantResolver.resolve(adminEmail)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Admin user not found"));
+        if (admin.role() != User.Role.RESTAURANT_ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User is not restaurant admin");
+        }
+        if (admin.restaurantId() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant for admin not found");
+        }
+        return restaurantRepository.getReferenceById(admin.restaurantId());
+    }
+
+    /**
+     * Style tworzone raz na skoroszyt — liczba stylów w XLSX jest ograniczona.
+     */
+    private static final class Styles {
+        final CellStyle header;
+        final CellStyle data;
+        final CellStyle money;
+        final CellStyle date;
+
+        Styles(Workbook workbook) {
+            header = workbook.createCellStyle();
+            Font headerFont = workbook.createFont();
+            headerFont.setBold(true);
+            headerFont.setFontHeightInPoints((short) 12);
+            header.setFont(headerFont);
+            header.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+            header.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            bordered(header);
+
+            data = workbook.createCellStyle();
+            bordered(data);
+
+            DataFormat format = workbook.createDataFormat();
+            money = workbook.createCellStyle();
+            money.cloneStyleFrom(data);
+            money.setDataFormat(format.getFormat("0.00"));
+
+            date = workbook.createCellStyle();
+            date.cloneStyleFrom(data);
+            date.setDataFormat(format.getFormat("dd.mm.yyyy hh:mm"));
+        }
+
+        private static void bordered(CellStyle style) {
+            style.setBorderBottom(BorderStyle.THIN);
+            style.setBorderTop(BorderStyle.THIN);
+            style.setBorderLeft(BorderStyle.THIN);
+            style.setBorderRight(BorderStyle.THIN);
+        }
+    }
+}
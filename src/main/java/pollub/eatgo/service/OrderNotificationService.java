@@ -1,19 +1,46 @@
 package pollub.eatgo.service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import pollub.eatgo.model.Order;
 import pollub.eatgo.model.OrderStatus;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 
+/**
+ * Powiadomienia o zmianach statusu zamówień. Zamiast odpytywania licznika przez każdy UI,
+ * subskrybenci danego użytkownika dostają nową liczbę nieprzeczytanych po każdej zmianie.
+ * <p>
+ * Każdy użytkownik ma bufor cykliczny o stałej pojemności z licznikiem dopisanych wpisów
+ * i znacznikiem "przeczytane do", więc dopisanie, liczenie i oznaczanie jako przeczytane są O(1).
+ * Bufory nieaktywnych użytkowników są okresowo usuwane.
+ * <p>
+ * Gdy dostępny jest {@link OrderNotificationStore}, źródłem prawdy jest baza: powiadomienia trafiają
+ * do bufora dopiero po zapisie (z identyfikatorem z bazy), a bufory są odtwarzane z bazy przy pierwszym
+ * dostępie, więc restart ani usunięcie bufora nie gubią powiadomień.
+ */
 @Service
-public class OrderNotificationService {
+@RequiredArgsConstructor
+@Slf4j
+public class OrderNotificationService implements OrderNotificationStore.Listener, MeterBinder {
 
     public record OrderNotification(
             Long id,
@@ -26,8 +53,43 @@ public class OrderNotificationService {
             LocalDateTime createdAt
     ) {}
 
-    private final Map<Long, List<OrderNotification>> notificationsByUser = new ConcurrentHashMap<>();
+    static final int CAPACITY = 50;
+    static final Duration IDLE_TIMEOUT = Duration.ofHours(6);
+
+    private final OrderNotificationStore store;
+
+    private final Map<Long, NotificationBuffer> notificationsByUser = new ConcurrentHashMap<>();
     private final AtomicLong idSequence = new AtomicLong(1);
+    private final Map<Long, Set<LongConsumer>> subscribersByUser = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerStoreListener() {
+        store.setListener(this);
+    }
+
+    /**
+     * Liczba buforów w pamięci (użytkownicy z powiadomieniami) i użytkowników z aktywnym dzwonkiem.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("eatgo.notifications.buffers", notificationsByUser, Map::size).register(registry);
+        Gauge.builder("eatgo.notifications.subscribers", subscribersByUser, Map::size).register(registry);
+    }
+
+    /**
+     * Rejestruje słuchacza liczby nieprzeczytanych powiadomień użytkownika.
+     * Zwrócony {@link Runnable} wyrejestrowuje słuchacza (np. przy odłączeniu komponentu UI).
+     */
+    public Runnable subscribe(Long userId, LongConsumer unreadListener) {
+        if (userId == null || unreadListener == null) {
+            return () -> {};
+        }
+        subscribersByUser.computeIfAbsent(userId, key -> new CopyOnWriteArraySet<>()).add(unreadListener);
+        return () -> subscribersByUser.computeIfPresent(userId, (key, listeners) -> {
+            listeners.remove(unreadListener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
 
     public void addStatusChangeNotification(Order order, OrderStatus previousStatus, OrderStatus currentStatus) {
         if (order == null || order.getUser() == null || previousStatus == currentStatus) {
@@ -44,10 +106,30 @@ public class OrderNotificationService {
                 toLabel(previousStatus),
                 toLabel(currentStatus)
         );
+        Long orderId = order.getId();
+        // Powiadomienie powstaje dopiero po commicie zmiany statusu, więc wycofana zmiana
+        // nie zostawia powiadomienia ani w pamięci, ani w bazie
+        AfterCommit.run(() -> add(orderId, userId, previousStatus, currentStatus, message));
+    }
+
+    private void add(Long orderId, Long userId, OrderStatus previousStatus, OrderStatus currentStatus, String message) {
+        if (store.isEnabled()) {
+            store.enqueue(new OrderNotification(
+                    null,
+                    orderId,
+                    userId,
+                    previousStatus,
+                    currentStatus,
+                    message,
+                    false,
+                    LocalDateTime.now()
+            ));
+            return;
+        }
 
         OrderNotification notification = new OrderNotification(
                 idSequence.getAndIncrement(),
-                order.getId(),
+                orderId,
                 userId,
                 previousStatus,
                 currentStatus,
@@ -56,65 +138,87 @@ public class OrderNotificationService {
                 LocalDateTime.now()
         );
 
-        notificationsByUser.compute(userId, (key, list) -> {
-            if (list == null) {
-                list = new ArrayList<>();
-            } else {
-                list = new ArrayList<>(list);
-            }
-            list.add(notification);
-            list.sort(Comparator.comparing(OrderNotification::createdAt).reversed());
-            if (list.size() > 50) {
-                list = new ArrayList<>(list.subList(0, 50));
+        notificationsByUser.compute(userId, (key, buffer) -> {
+            if (buffer == null) {
+                buffer = new NotificationBuffer();
             }
-            return list;
+            buffer.append(notification);
+            return buffer;
         });
+        publishUnread(userId);
+    }
+
+    @Override
+    public void onNotifications(List<OrderNotification> notifications) {
+        Set<Long> touched = new LinkedHashSet<>();
+        for (OrderNotification notification : notifications) {
+            NotificationBuffer buffer = notificationsByUser.get(notification.userId());
+            if (buffer != null) {
+                if (!buffer.append(notification)) {
+                    // spóźniony commit z mniejszym id: bufor zostanie odtworzony z bazy w kolejności id
+                    notificationsByUser.remove(notification.userId(), buffer);
+                }
+                touched.add(notification.userId());
+            } else if (subscribersByUser.containsKey(notification.userId())) {
+                touched.add(notification.userId());
+            }
+        }
+        touched.forEach(this::publishUnread);
+    }
+
+    @Override
+    public void onReadStateChanged(Long userId) {
+        notificationsByUser.remove(userId);
+        if (subscribersByUser.containsKey(userId)) {
+            publishUnread(userId);
+        }
     }
 
     public List<OrderNotification> getNotificationsForUser(Long userId) {
         if (userId == null) {
             return List.of();
         }
-        return notificationsByUser.getOrDefault(userId, List.of())
-                .stream()
-                .sorted(Comparator.comparing(OrderNotification::createdAt).reversed())
-                .toList();
+        NotificationBuffer buffer = bufferFor(userId);
+        return buffer == null ? List.of() : buffer.newestFirst();
+    }
+
+    /**
+     * Powiadomienia o id większym niż {@code sinceId}, rosnąco - dla klientów wznawiających odczyt.
+     */
+    public List<OrderNotification> getNotificationsSince(Long userId, long sinceId) {
+        if (userId == null) {
+            return List.of();
+        }
+        if (store.isEnabled()) {
+            return store.findSince(userId, sinceId, CAPACITY);
+        }
+        List<OrderNotification> newestFirst = new ArrayList<>(getNotificationsForUser(userId));
+        newestFirst.removeIf(n -> n.id() <= sinceId);
+        Collections.reverse(newestFirst);
+        return newestFirst;
     }
 
     public long countUnread(Long userId) {
         if (userId == null) {
             return 0;
         }
-        return notificationsByUser.getOrDefault(userId, List.of())
-                .stream()
-                .filter(n -> !n.read())
-                .count();
+        NotificationBuffer buffer = bufferFor(userId);
+        return buffer == null ? 0 : buffer.unread();
     }
 
     public void markAllAsRead(Long userId) {
         if (userId == null) {
             return;
         }
-        notificationsByUser.computeIfPresent(userId, (key, list) -> {
-            List<OrderNotification> updated = new ArrayList<>(list.size());
-            for (OrderNotification n : list) {
-                if (n.read()) {
-                    updated.add(n);
-                } else {
-                    updated.add(new OrderNotification(
-                            n.id(),
-                            n.orderId(),
-                            n.userId(),
-                            n.previousStatus(),
-                            n.currentStatus(),
-                            n.message(),
-                            true,
-                            n.createdAt()
-                    ));
-                }
-            }
-            return updated;
-        });
+        NotificationBuffer buffer = bufferFor(userId);
+        if (buffer == null) {
+            return;
+        }
+        buffer.markAllRead();
+        if (store.isEnabled()) {
+            store.markRead(userId);
+        }
+        publishUnread(userId);
     }
 
     /**
@@ -126,6 +230,153 @@ public class OrderNotificationService {
             return;
         }
         notificationsByUser.remove(userId);
+        if (store.isEnabled()) {
+            store.clear(userId);
+            notificationsByUser.put(userId, new NotificationBuffer());
+        }
+        publishUnread(userId);
+    }
+
+    /**
+     * Bufor użytkownika; przy włączonym magazynie brakujący bufor jest odtwarzany z bazy.
+     */
+    private NotificationBuffer bufferFor(Long userId) {
+        NotificationBuffer buffer = notificationsByUser.get(userId);
+        if (buffer != null || !store.isEnabled()) {
+            return buffer;
+        }
+        NotificationBuffer loaded = NotificationBuffer.of(store.findRecent(userId, CAPACITY));
+        NotificationBuffer existing = notificationsByUser.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void evictIdleBuffers() {
+        int evicted = evictIdleSince(System.currentTimeMillis() - IDLE_TIMEOUT.toMillis());
+        if (evicted > 0) {
+            log.debug("Evicted {} idle notification buffers", evicted);
+        }
+    }
+
+    /**
+     * Usuwa bufory bez aktywnych subskrybentów, nieużywane od {@code cutoffMillis}.
+     */
+    int evictIdleSince(long cutoffMillis) {
+        int[] evicted = {0};
+        for (Long userId : notificationsByUser.keySet()) {
+            if (subscribersByUser.containsKey(userId)) {
+                continue;
+            }
+            notificationsByUser.computeIfPresent(userId, (key, buffer) -> {
+                if (buffer.lastAccessMillis() < cutoffMillis) {
+                    evicted[0]++;
+                    return null;
+                }
+                return buffer;
+            });
+        }
+        return evicted[0];
+    }
+
+    int bufferedUsers() {
+        return notificationsByUser.size();
+    }
+
+    private void publishUnread(Long userId) {
+        Set<LongConsumer> listeners = subscribersByUser.get(userId);
+        if (listeners == null || listeners.isEmpty()) {
+            return;
+        }
+        long unread = countUnread(userId);
+        for (LongConsumer listener : listeners) {
+            try {
+                listener.accept(unread);
+            } catch (RuntimeException e) {
+                log.warn("Notification listener for user {} failed: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Bufor cykliczny: pozycje {@code [appended - CAPACITY, appended)} są dostępne,
+     * a wszystkie poniżej {@code readWatermark} są przeczytane.
+     */
+    private static final class NotificationBuffer {
+        private final OrderNotification[] slots = new OrderNotification[CAPACITY];
+        private long appended;
+        private long readWatermark;
+        private long lastId;
+        private volatile long lastAccessMillis = System.currentTimeMillis();
+
+        /**
+         * Odtwarza bufor z listy od najnowszego; przeczytane tworzą zawsze najstarszy prefiks.
+         */
+        static NotificationBuffer of(List<OrderNotification> newestFirst) {
+            NotificationBuffer buffer = new NotificationBuffer();
+            for (int i = newestFirst.size() - 1; i >= 0; i--) {
+                OrderNotification n = newestFirst.get(i);
+                buffer.append(n);
+                if (n.read()) {
+                    buffer.readWatermark = buffer.appended;
+                }
+            }
+            return buffer;
+        }
+
+        /**
+         * Dopisuje powiadomienie; {@code false}, gdy jego id nie jest większe od ostatniego.
+         */
+        synchronized boolean append(OrderNotification notification) {
+            if (notification.id() <= lastId) {
+                return false;
+            }
+            lastId = notification.id();
+            slots[(int) (appended % CAPACITY)] = notification;
+            appended++;
+            lastAccessMillis = System.currentTimeMillis();
+            return true;
+        }
+
+        synchronized long unread() {
+            lastAccessMillis = System.currentTimeMillis();
+            return appended - Math.max(readWatermark, oldest());
+        }
+
+        synchronized void markAllRead() {
+            readWatermark = appended;
+            lastAccessMillis = System.currentTimeMillis();
+        }
+
+        synchronized List<OrderNotification> newestFirst() {
+            lastAccessMillis = System.currentTimeMillis();
+            List<OrderNotification> result = new ArrayList<>((int) (appended - oldest()));
+            for (long position = appended - 1; position >= oldest(); position--) {
+                OrderNotification n = slots[(int) (position % CAPACITY)];
+                result.add(position < readWatermark ? asRead(n) : n);
+            }
+            return result;
+        }
+
+        long lastAccessMillis() {
+            return lastAccessMillis;
+        }
+
+        private long oldest() {
+            return Math.max(0, appended - CAPACITY);
+        }
+
+        private static OrderNotification asRead(OrderNotification n) {
+            return new OrderNotification(
+                    n.id(),
+                    n.orderId(),
+                    n.userId(),
+                    n.previousStatus(),
+                    n.currentStatus(),
+                    n.message(),
+                    true,
+                    n.createdAt()
+            );
+        }
     }
 
     private String toLabel(OrderStatus status) {
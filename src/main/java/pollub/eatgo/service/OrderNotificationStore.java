@@ -0,0 +1,480 @@
+package pollub.eatgo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.service.OrderNotificationService.OrderNotification;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Trwały magazyn powiadomień w tabeli {@code order_notifications} (PostgreSQL).
+ * <p>
+ * Nowe powiadomienia trafiają do kolejki i są zapisywane paczkami; po zapisie wysyłany jest
+ * {@code NOTIFY}, a każdy węzeł (także ten, który zapisał) na dedykowanym połączeniu z {@code LISTEN}
+ * dociąga wiersze o id większym od ostatnio dostarczonego. Dzięki temu wszystkie instancje widzą
+ * te same powiadomienia z tymi samymi identyfikatorami. Na bazach innych niż PostgreSQL (np. H2
+ * w testach) magazyn pozostaje wyłączony, a {@link OrderNotificationService} działa tylko w pamięci.
+ * <p>
+ * Id z sekwencji są nadawane przy insercie, a widoczne dopiero po commicie, więc zapis z mniejszym id
+ * może się pojawić po większym. Pominięte id są pamiętane przez {@link #GAP_GRACE} i dociągane przy
+ * kolejnych {@code NOTIFY}; luki po wycofanych insertach po prostu wygasają.
+ * <p>
+ * Tym samym kanałem węzły przekazują sobie {@link OrderStatusChangedEvent} dla widoków UI
+ * ({@link OrderEventBroadcaster}) — bez zapisu w tabeli, w treści {@code NOTIFY}.
+ */
+@Service
+@Slf4j
+public class OrderNotificationStore {
+
+    /**
+     * Odbiorca zmian pochodzących z bazy (również z innych węzłów).
+     */
+    public interface Listener {
+        void onNotifications(List<OrderNotification> notifications);
+
+        void onReadStateChanged(Long userId);
+    }
+
+    static final String CHANNEL = "order_notifications";
+    private static final String NEW_ROWS = "n";
+    private static final String READ_STATE = "r";
+    private static final String ORDER_EVENT = "o";
+    private static final int BATCH_SIZE = 500;
+    private static final int FETCH_SIZE = 1000;
+    static final int MAX_ATTEMPTS = 50;
+    static final Duration GAP_GRACE = Duration.ofMinutes(2);
+    private static final int MAX_GAPS = 10_000;
+
+    private static final String SELECT_COLUMNS =
+            "select n.id, n.order_id, n.user_id, n.previous_status, n.current_status, n.message, n.created_at, ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean durable;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Queue<PendingNotification> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<OrderStatusChangedEvent> outgoingEvents = new ConcurrentLinkedQueue<>();
+    /** Pominięte id → chwila zauważenia luki (nanoTime); używane tylko przez wątek nasłuchu. */
+    private final Map<Long, Long> gaps = new TreeMap<>();
+
+    private volatile boolean enabled;
+    private volatile boolean running;
+    private volatile Listener listener;
+    private volatile Consumer<OrderStatusChangedEvent> orderEventListener;
+    private volatile long lastDeliveredId;
+    private Thread listenerThread;
+
+    public OrderNotificationStore(JdbcTemplate jdbcTemplate,
+                                  DataSourceProperties dataSourceProperties,
+                                  @Value("${eatgo.notifications.durable:true}") boolean durable) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.durable = durable;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!durable) {
+            return;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            log.info("Durable order notifications disabled: {} does not support LISTEN/NOTIFY", product);
+            return;
+        }
+        lastDeliveredId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from order_notifications", Long.class);
+        enabled = true;
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "order-notification-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        log.info("Durable order notifications enabled (node {}), last id {}", nodeId, lastDeliveredId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        flush();
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Odbiorca zdarzeń zamówień z innych węzłów; własne zdarzenia węzła nie wracają.
+     */
+    public void setOrderEventListener(Consumer<OrderStatusChangedEvent> orderEventListener) {
+        this.orderEventListener = orderEventListener;
+    }
+
+    /**
+     * Przekazuje zdarzenie pozostałym węzłom przy najbliższym {@link #flush()}. Wywoływane po commicie;
+     * bez PostgreSQL nic nie robi.
+     */
+    public void publishOrderEvent(OrderStatusChangedEvent event) {
+        if (enabled) {
+            outgoingEvents.add(event);
+        }
+    }
+
+    /**
+     * Kolejkuje powiadomienie do zapisu; identyfikator nada baza. Wywołujący odpowiada za to, by
+     * zrobić to dopiero po commicie transakcji, której dotyczy powiadomienie.
+     */
+    public void enqueue(OrderNotification notification) {
+        pending.add(new PendingNotification(notification, 0));
+    }
+
+    private record PendingNotification(OrderNotification notification, int attempts) {}
+
+    @Scheduled(fixedDelay = 200, timeUnit = TimeUnit.MILLISECONDS)
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        publishOrderEvents();
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<PendingNotification> batch = new ArrayList<>();
+        PendingNotification next;
+        while (batch.size() < BATCH_SIZE && (next = pending.poll()) != null) {
+            batch.add(next);
+        }
+        try {
+            insert(batch);
+        } catch (DataIntegrityViolationException e) {
+            insertOneByOne(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist {} order notifications, will retry: {}", batch.size(), e.getMessage());
+            batch.forEach(this::retry);
+            return;
+        }
+        notifyNodes(NEW_ROWS);
+    }
+
+    /**
+     * Paczka odrzucona przez bazę (np. powiadomienie o usuniętym zamówieniu): wiersze zapisywane
+     * pojedynczo, a te, których nie da się zapisać, trafiają tylko do logu i nie blokują reszty.
+     */
+    private void insertOneByOne(List<PendingNotification> batch) {
+        for (PendingNotification row : batch) {
+            try {
+                insert(List.of(row));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping order notification that cannot be stored: {} ({})",
+                        row.notification(), e.getMostSpecificCause().getMessage());
+            } catch (RuntimeException e) {
+                retry(row);
+            }
+        }
+    }
+
+    /**
+     * Zdarzenia dla UI są ulotne: gdy {@code NOTIFY} się nie uda, giną, a widoki innych węzłów
+     * zobaczą zmianę przy najbliższym odświeżeniu.
+     */
+    private void publishOrderEvents() {
+        List<String> payloads = new ArrayList<>();
+        OrderStatusChangedEvent event;
+        while (payloads.size() < BATCH_SIZE && (event = outgoingEvents.poll()) != null) {
+            payloads.add(encode(event));
+        }
+        if (payloads.isEmpty()) {
+            return;
+        }
+        try {
+            notifyNodes(payloads);
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay {} order events to other nodes: {}", payloads.size(), e.getMessage());
+        }
+    }
+
+    private String encode(OrderStatusChangedEvent event) {
+        return String.join(":", ORDER_EVENT, nodeId,
+                String.valueOf(event.orderId()),
+                String.valueOf(event.restaurantId()),
+                event.courierId() != null ? event.courierId().toString() : "",
+                event.previousStatus() != null ? event.previousStatus().name() : "",
+                event.currentStatus().name(),
+                event.changedAt() != null ? event.changedAt().toString() : "");
+    }
+
+    /**
+     * Zdarzenie z innego węzła albo {@code null} dla własnego; {@code changedAt} jest ostatnie,
+     * bo sam zawiera dwukropki.
+     */
+    private OrderStatusChangedEvent decode(String payload) {
+        String[] parts = payload.split(":", 8);
+        if (parts.length != 8 || nodeId.equals(parts[1])) {
+            return null;
+        }
+        return new OrderStatusChangedEvent(
+                Long.valueOf(parts[2]),
+                Long.valueOf(parts[3]),
+                parts[4].isEmpty() ? null : Long.valueOf(parts[4]),
+                parts[5].isEmpty() ? null : OrderStatus.valueOf(parts[5]),
+                OrderStatus.valueOf(parts[6]),
+                parts[7].isEmpty() ? null : LocalDateTime.parse(parts[7]));
+    }
+
+    private void retry(PendingNotification row) {
+        if (row.attempts() + 1 >= MAX_ATTEMPTS) {
+            log.error("Dropping order notification after {} failed attempts: {}", MAX_ATTEMPTS, row.notification());
+            return;
+        }
+        pending.add(new PendingNotification(row.notification(), row.attempts() + 1));
+    }
+
+    private void insert(List<PendingNotification> rows) {
+        jdbcTemplate.batchUpdate(
+                "insert into order_notifications (user_id, order_id, previous_status, current_status, message, created_at) " +
+                "values (?, ?, ?, ?, ?, ?)",
+                rows, BATCH_SIZE, (ps, row) -> {
+                    OrderNotification n = row.notification();
+                    ps.setLong(1, n.userId());
+                    ps.setObject(2, n.orderId());
+                    ps.setString(3, n.previousStatus() != null ? n.previousStatus().name() : null);
+                    ps.setString(4, n.currentStatus().name());
+                    ps.setString(5, n.message());
+                    ps.setTimestamp(6, Timestamp.valueOf(n.createdAt()));
+                });
+    }
+
+    /**
+     * Najnowsze powiadomienia użytkownika (od najnowszego), z pominięciem wyczyszczonych.
+     */
+    public List<OrderNotification> findRecent(Long userId, int limit) {
+        return jdbcTemplate.query(
+                SELECT_COLUMNS + "coalesce(c.read_up_to, 0) as read_up_to from order_notifications n " +
+                "left join order_notification_cursors c on c.user_id = n.user_id " +
+                "where n.user_id = ? and n.id > coalesce(c.cleared_up_to, 0) order by n.id desc limit ?",
+                ROW_MAPPER, userId, limit);
+    }
+
+    /**
+     * Powiadomienia użytkownika o id większym niż {@code sinceId}, rosnąco (kursor do odtwarzania).
+     */
+    public List<OrderNotification> findSince(Long userId, long sinceId, int limit) {
+        return jdbcTemplate.query(
+                SELECT_COLUMNS + "coalesce(c.read_up_to, 0) as read_up_to from order_notifications n " +
+                "left join order_notification_cursors c on c.user_id = n.user_id " +
+                "where n.user_id = ? and n.id > greatest(?, coalesce(c.cleared_up_to, 0)) order by n.id limit ?",
+                ROW_MAPPER, userId, sinceId, limit);
+    }
+
+    public void markRead(Long userId) {
+        jdbcTemplate.update(
+                "insert into order_notification_cursors (user_id, read_up_to, cleared_up_to) " +
+                "select ?, coalesce(max(id), 0), 0 from order_notifications where user_id = ? " +
+                "on conflict (user_id) do update set read_up_to = greatest(order_notification_cursors.read_up_to, excluded.read_up_to)",
+                userId, userId);
+        notifyNodes(READ_STATE + ":" + nodeId + ":" + userId);
+    }
+
+    public void clear(Long userId) {
+        jdbcTemplate.update(
+                "insert into order_notification_cursors (user_id, read_up_to, cleared_up_to) " +
+                "select ?, coalesce(max(id), 0), coalesce(max(id), 0) from order_notifications where user_id = ? " +
+                "on conflict (user_id) do update set " +
+                "read_up_to = greatest(order_notification_cursors.read_up_to, excluded.read_up_to), " +
+                "cleared_up_to = greatest(order_notification_cursors.cleared_up_to, excluded.cleared_up_to)",
+                userId, userId);
+        notifyNodes(READ_STATE + ":" + nodeId + ":" + userId);
+    }
+
+    private void notifyNodes(String payload) {
+        notifyNodes(List.of(payload));
+    }
+
+    private void notifyNodes(List<String> payloads) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) c -> {
+            try (var ps = c.prepareStatement("select pg_notify(?, ?)")) {
+                for (String payload : payloads) {
+                    ps.setString(1, CHANNEL);
+                    ps.setString(2, payload);
+                    ps.execute();
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Pętla nasłuchu na osobnym połączeniu spoza puli; po zerwaniu połączenia wznawia
+     * {@code LISTEN} i dociąga wszystko, co pojawiło się w międzyczasie.
+     */
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                deliverNewRows();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(10_000);
+                    if (notifications != null) {
+                        handle(notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Order notification listener disconnected, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(PGNotification[] notifications) {
+        boolean newRows = false;
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            if (NEW_ROWS.equals(payload)) {
+                newRows = true;
+            } else if (payload.startsWith(READ_STATE + ":")) {
+                String[] parts = payload.split(":");
+                Listener current = listener;
+                if (parts.length == 3 && !nodeId.equals(parts[1]) && current != null) {
+                    current.onReadStateChanged(Long.valueOf(parts[2]));
+                }
+            } else if (payload.startsWith(ORDER_EVENT + ":")) {
+                OrderStatusChangedEvent event = decode(payload);
+                Consumer<OrderStatusChangedEvent> current = orderEventListener;
+                if (event != null && current != null) {
+                    current.accept(event);
+                }
+            }
+        }
+        if (newRows) {
+            deliverNewRows();
+        }
+    }
+
+    private void deliverNewRows() {
+        deliverGaps();
+        List<OrderNotification> rows;
+        do {
+            rows = jdbcTemplate.query(
+                    SELECT_COLUMNS + "coalesce(c.read_up_to, 0) as read_up_to from order_notifications n " +
+                    "left join order_notification_cursors c on c.user_id = n.user_id " +
+                    "where n.id > ? order by n.id limit ?",
+                    ROW_MAPPER, lastDeliveredId, FETCH_SIZE);
+            if (rows.isEmpty()) {
+                return;
+            }
+            recordGaps(rows);
+            lastDeliveredId = rows.get(rows.size() - 1).id();
+            deliver(rows);
+        } while (rows.size() == FETCH_SIZE);
+    }
+
+    private void recordGaps(List<OrderNotification> rows) {
+        long expected = lastDeliveredId + 1;
+        long now = System.nanoTime();
+        for (OrderNotification row : rows) {
+            for (long id = expected; id < row.id() && gaps.size() < MAX_GAPS; id++) {
+                gaps.put(id, now);
+            }
+            expected = row.id() + 1;
+        }
+    }
+
+    /**
+     * Dociąga wiersze z luk, które zdążyły się pojawić (późniejszy commit z mniejszym id).
+     */
+    private void deliverGaps() {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        long cutoff = System.nanoTime() - GAP_GRACE.toNanos();
+        gaps.values().removeIf(noticed -> noticed < cutoff);
+        if (gaps.isEmpty()) {
+            return;
+        }
+        Long[] ids = gaps.keySet().toArray(Long[]::new);
+        List<OrderNotification> rows = jdbcTemplate.query(
+                SELECT_COLUMNS + "coalesce(c.read_up_to, 0) as read_up_to from order_notifications n " +
+                "left join order_notification_cursors c on c.user_id = n.user_id " +
+                "where n.id = any(?) order by n.id",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                ROW_MAPPER);
+        if (rows.isEmpty()) {
+            return;
+        }
+        rows.forEach(row -> gaps.remove(row.id()));
+        deliver(rows);
+    }
+
+    private void deliver(List<OrderNotification> rows) {
+        Listener current = listener;
+        if (current != null) {
+            current.onNotifications(rows);
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private static final RowMapper<OrderNotification> ROW_MAPPER = (rs, rowNum) -> {
+        long id = rs.getLong("id");
+        String previousStatus = rs.getString("previous_status");
+        return new OrderNotification(
+                id,
+                rs.getObject("order_id", Long.class),
+                rs.getLong("user_id"),
+                previousStatus != null ? OrderStatus.valueOf(previousStatus) : null,
+                OrderStatus.valueOf(rs.getString("current_status")),
+                rs.getString("message"),
+                id <= rs.getLong("read_up_to"),
+                rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    };
+}
@@ -1,24 +1,29 @@
 package pollub.eatgo.service;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import pollub.eatgo.dto.order.OrderCreateRequestDto;
 import pollub.eatgo.dto.order.OrderDetailsDto;
 import pollub.eatgo.dto.order.OrderDto;
 import pollub.eatgo.dto.order.OrderItemDto;
+import pollub.eatgo.dto.order.OrderPage;
+import pollub.eatgo.dto.order.OrderPageRequest;
 import pollub.eatgo.model.*;
 import pollub.eatgo.repository.*;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("eatgo.service")
 @RequiredArgsConstructor
 @Transactional
 public class OrderService {
@@ -28,6 +33,7 @@ public class OrderService {
 	private final RestaurantRepository restaurantRepository;
 	private final AddressRepository addressRepository;
 	private final DishRepository dishRepository;
+	private final ApplicationEventPublisher eventPublisher;
 
 	public OrderDto createOrder(Long userId, OrderCreateRequestDto req) {
 		User user = userRepository.findById(userId)
@@ -43,24 +49,26 @@ public class OrderService {
 		order.setAddress(address);
 		order.setStatus(OrderStatus.PLACED);
 
-		List<OrderItem> items = new ArrayList<>();
-		double itemsTotal = 0.0;
+		Map<Long, Integer> quantities = new LinkedHashMap<>();
 		for (var itemReq : req.items()) {
-			Dish dish = dishRepository.findById(itemReq.dishId())
-					.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dish not found"));
-			if (dish.getRestaurant() == null || !dish.getRestaurant().getId().equals(restaurant.getId())) {
-				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Dish does not belong to the restaurant");
-			}
+			quantities.merge(itemReq.dishId(), itemReq.quantity(), Integer::sum);
+		}
+		Map<Long, Dish> dishes = loadDishes(restaurant, quantities.keySet());
+
+		List<OrderItem> items = new ArrayList<>(quantities.size());
+		double itemsTotal = 0.0;
+		for (var entry : quantities.entrySet()) {
+			Dish dish = dishes.get(entry.getKey());
 			if (!dish.isAvailable()) {
 				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Dish " + dish.getName() + " is not available");
 			}
-			double linePrice = dish.getPrice() * itemReq.quantity();
-			itemsTotal += linePrice;
+			int quantity = entry.getValue();
+			itemsTotal += dish.getPrice() * quantity;
 
 			OrderItem oi = new OrderItem();
 			oi.setOrder(order);
 			oi.setDish(dish);
-			oi.setQuantity(itemReq.quantity());
+			oi.setQuantity(quantity);
 			oi.setPriceSnapshot(dish.getPrice());
 			items.add(oi);
 		}
@@ -69,21 +77,51 @@ public class OrderService {
 		order.setTotalPrice(itemsTotal + restaurant.getDeliveryPrice());
 
 		order = orderRepository.save(order);
+		eventPublisher.publishEvent(new OrderStatusChangedEvent(
+				order.getId(), restaurant.getId(), null, null, OrderStatus.PLACED, order.getCreatedAt()));
 		return toOrderDto(order);
 	}
 
+	@Transactional(readOnly = true)
 	public List<OrderDto> listUserOrders(Long userId) {
 		return orderRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
 				.map(this::toOrderDto)
 				.collect(Collectors.toList());
 	}
 
+	@Transactional(readOnly = true)
+	public OrderPage<OrderDto> listUserOrders(Long userId, OrderPageRequest request) {
+		return orderRepository.findPage(OrderRepositoryCustom.OrderOwner.USER, userId, request)
+				.map(this::toOrderDto);
+	}
+
+	@Transactional(readOnly = true)
 	public OrderDetailsDto getOrderDetails(Long userId, Long orderId) {
 		Order order = orderRepository.findByIdAndUserId(orderId, userId)
 				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
 		return toOrderDetailsDto(order);
 	}
 
+	/**
+	 * Ładuje wszystkie dania zamówienia jednym zapytaniem ograniczonym do restauracji.
+	 * Brakujące identyfikatory są sprawdzane dodatkowo tylko po to, by zwrócić właściwy błąd:
+	 * jeśli którekolwiek danie nie istnieje, wynikiem jest 404 — także gdy inne należą do obcej
+	 * restauracji; 400 tylko wtedy, gdy wszystkie brakujące dania istnieją gdzie indziej.
+	 */
+	private Map<Long, Dish> loadDishes(Restaurant restaurant, Set<Long> dishIds) {
+		Map<Long, Dish> dishes = dishRepository.findByIdInAndRestaurantId(dishIds, restaurant.getId()).stream()
+				.collect(Collectors.toMap(Dish::getId, Function.identity()));
+		if (dishes.size() < dishIds.size()) {
+			Set<Long> missing = new HashSet<>(dishIds);
+			missing.removeAll(dishes.keySet());
+			if (dishRepository.findAllById(missing).size() < missing.size()) {
+				throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dish not found");
+			}
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Dish does not belong to the restaurant");
+		}
+		return dishes;
+	}
+
 	private OrderItemDto toOrderItemDto(OrderItem oi) {
 		return new OrderItemDto(
 				oi.getId(),
@@ -0,0 +1,81 @@
+package pollub.eatgo.service;
+
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import pollub.eatgo.model.Order;
+import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.model.User;
+import pollub.eatgo.repository.OrderRepository;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Atomowe przejścia statusów zamówienia: {@code UPDATE ... WHERE id = ? AND status = ?} zamiast
+ * odczytu, sprawdzenia i zapisu encji. Z dwóch równoległych przejść z tego samego stanu wygrywa
+ * jedno; przegrany dostaje {@link OrderTransitionConflictException}, chyba że zamówienie jest już
+ * w docelowym stanie — wtedy operacja jest traktowana jako wykonana (idempotentna).
+ * Nikt nie czeka na blokadę dłużej niż trwa pojedynczy UPDATE.
+ * <p>
+ * Każde wykonane przejście publikuje {@link OrderStatusChangedEvent}; słuchacze transakcyjni
+ * dostają je dopiero po commicie.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OrderStateMachine {
+
+    /**
+     * Stan zamówienia po przejściu; {@code applied} jest fałszywe, gdy zmianę wykonał już ktoś inny.
+     */
+    public record Transition(Order order, OrderStatus previousStatus, boolean applied) {}
+
+    private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public Transition transition(Long orderId, OrderStatus from, OrderStatus to) {
+        int updated = orderRepository.compareAndSetStatus(orderId, from, to, LocalDateTime.now());
+        Order current = reload(orderId);
+        if (updated == 0 && current.getStatus() != to) {
+            throw new OrderTransitionConflictException(orderId, current.getStatus());
+        }
+        if (updated > 0) {
+            publish(current, from);
+        }
+        return new Transition(current, from, updated > 0);
+    }
+
+    public Transition assignCourier(Long orderId, User courier) {
+        int updated = orderRepository.compareAndSetStatusWithCourier(
+                orderId, OrderStatus.READY, OrderStatus.IN_DELIVERY, courier, LocalDateTime.now());
+        Order current = reload(orderId);
+        if (updated == 0) {
+            Long assignedCourierId = current.getCourier() != null ? current.getCourier().getId() : null;
+            if (current.getStatus() != OrderStatus.IN_DELIVERY || !Objects.equals(assignedCourierId, courier.getId())) {
+                throw new OrderTransitionConflictException(orderId, current.getStatus());
+            }
+        } else {
+            publish(current, OrderStatus.READY);
+        }
+        return new Transition(current, OrderStatus.READY, updated > 0);
+    }
+
+    private void publish(Order order, OrderStatus previousStatus) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(),
+                order.getRestaurant().getId(),
+                order.getCourier() != null ? order.getCourier().getId() : null,
+                previousStatus,
+                order.getStatus(),
+                order.getUpdatedAt() != null ? order.getUpdatedAt() : LocalDateTime.now()));
+    }
+
+    private Order reload(Long orderId) {
+        return orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+    }
+}
@@ -0,0 +1,30 @@
+package pollub.eatgo.service;
+
+import pollub.eatgo.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Zdarzenie publikowane po utworzeniu zamówienia ({@link OrderService}) i po każdej faktycznej
+ * zmianie jego statusu ({@link OrderStateMachine}). Zawiera same identyfikatory, bo słuchacze
+ * działają po commicie, poza sesją JPA. Dla nowego zamówienia {@code previousStatus} jest puste.
+ */
+public record OrderStatusChangedEvent(Long orderId,
+                                      Long restaurantId,
+                                      Long courierId,
+                                      OrderStatus previousStatus,
+                                      OrderStatus currentStatus,
+                                      LocalDateTime changedAt) {
+
+    public enum Type { CREATED, STATUS_CHANGED, COURIER_ASSIGNED }
+
+    public Type type() {
+        if (previousStatus == null) {
+            return Type.CREATED;
+        }
+        if (previousStatus == OrderStatus.READY && currentStatus == OrderStatus.IN_DELIVERY) {
+            return Type.COURIER_ASSIGNED;
+        }
+        return Type.STATUS_CHANGED;
+    }
+}
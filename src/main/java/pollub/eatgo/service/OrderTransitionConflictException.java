@@ -0,0 +1,23 @@
+package pollub.eatgo.service;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import pollub.eatgo.model.OrderStatus;
+
+/**
+ * Przejście statusu przegrało z równoległą zmianą tego samego zamówienia (409).
+ * Klient może odczytać aktualny status i ponowić operację, jeśli nadal ma sens.
+ */
+@Getter
+public class OrderTransitionConflictException extends ResponseStatusException {
+
+    private final Long orderId;
+    private final OrderStatus currentStatus;
+
+    public OrderTransitionConflictException(Long orderId, OrderStatus currentStatus) {
+        super(HttpStatus.CONFLICT, "Order " + orderId + " was changed concurrently, current status: " + currentStatus);
+        this.orderId = orderId;
+        this.currentStatus = currentStatus;
+    }
+}
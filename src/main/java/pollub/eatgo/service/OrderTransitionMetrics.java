@@ -0,0 +1,28 @@
+package pollub.eatgo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Licznik zatwierdzonych przejść statusów zamówień {@code eatgo.orders.transitions} z tagami
+ * {@code from} i {@code to}; złożenie zamówienia jest liczone jako {@code from=NONE}.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderTransitionMetrics {
+
+    static final String METER = "eatgo.orders.transitions";
+
+    private final MeterRegistry meterRegistry;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        meterRegistry.counter(METER,
+                        "from", event.previousStatus() != null ? event.previousStatus().name() : "NONE",
+                        "to", event.currentStatus().name())
+                .increment();
+    }
+}
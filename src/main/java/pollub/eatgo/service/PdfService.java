@@ -1,26 +1,177 @@
 package pollub.eatgo.service;
 
+import io.micrometer.core.annotation.Timed;
+import com.itextpdf.html2pdf.ConverterProperties;
 import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.html2pdf.resolver.font.DefaultFontProvider;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import pollub.eatgo.dto.order.OrderDto;
 import pollub.eatgo.dto.restaurant.RestaurantDto;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+/**
+ * Generowanie bonów PDF na dedykowanej, ograniczonej puli wątków (poza wątkiem żądania Vaadin).
+ * <p>
+ * Każdy wątek roboczy ma własne {@link ConverterProperties} z dostawcą czcionek tworzonym raz
+ * (dostawca czcionek iText nie jest bezpieczny przy współbieżnym użyciu). Gotowe PDF-y są
+ * buforowane per zamówienie i unieważniane przy zmianie statusu ({@link #invalidate(Long)});
+ * dodatkowo wpis jest użyty tylko, gdy dane zamówienia nie zmieniły się od renderowania.
+ * <p>
+ * Przepełniona kolejka nie rzuca wyjątku do wywołującego — zwracany jest nieudany future
+ * z {@link RejectedExecutionException}.
+ */
 @Service
+@Timed("eatgo.service")
+@Slf4j
 public class PdfService {
-    
+
+    private static final int WORKERS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int QUEUE_CAPACITY = 200;
+    /** Tyle bonów z jednego archiwum ZIP może naraz czekać w kolejce; reszta jest zlecana po ich ukończeniu. */
+    private static final int ZIP_CHUNK = WORKERS;
+    private static final int CACHE_CAPACITY = 500;
+
+    private record CachedReceipt(OrderDto order, byte[] pdf) {}
+
+    private final ExecutorService renderPool;
+    private final ThreadLocal<ConverterProperties> converterProperties = ThreadLocal.withInitial(() -> {
+        ConverterProperties properties = new ConverterProperties();
+        properties.setFontProvider(new DefaultFontProvider(true, true, false));
+        return properties;
+    });
+    private final Map<Long, CachedReceipt> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedReceipt> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
+    public PdfService() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.renderPool = new ThreadPoolExecutor(
+                WORKERS, WORKERS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-render-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdown();
+    }
+
+    /**
+     * Synchroniczny wariant dla wywołań spoza UI; renderowanie i tak odbywa się na puli.
+     */
     public byte[] generateReceipt(OrderDto order, RestaurantDto restaurant) {
         try {
+            return renderReceipt(order, restaurant).join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Error generating PDF receipt", e.getCause());
+        }
+    }
+
+    public CompletableFuture<byte[]> renderReceipt(OrderDto order, RestaurantDto restaurant) {
+        byte[] cached = cachedReceipt(order);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                byte[] pdf = convert(generateReceiptHtml(order, restaurant));
+                synchronized (cache) {
+                    cache.put(order.id(), new CachedReceipt(order, pdf));
+                }
+                return pdf;
+            }, renderPool);
+        } catch (RejectedExecutionException e) {
+            log.warn("PDF render queue is full, rejecting receipt for order {}", order.id());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Renderuje bony i pakuje je do jednego archiwum ZIP (po jednym PDF na zamówienie).
+     * Zamówienia są zlecane porcjami po {@link #ZIP_CHUNK}, kolejna porcja po ukończeniu poprzedniej,
+     * więc duże archiwum nie zapycha kolejki i nie blokuje pojedynczych bonów innych użytkowników.
+     */
+    public CompletableFuture<byte[]> renderReceiptsZip(List<OrderDto> orders, RestaurantDto restaurant) {
+        CompletableFuture<List<byte[]>> rendered = CompletableFuture.completedFuture(new ArrayList<>(orders.size()));
+        for (int from = 0; from < orders.size(); from += ZIP_CHUNK) {
+            List<OrderDto> chunk = orders.subList(from, Math.min(from + ZIP_CHUNK, orders.size()));
+            rendered = rendered.thenCompose(pdfs -> renderChunk(chunk, restaurant).thenApply(chunkPdfs -> {
+                pdfs.addAll(chunkPdfs);
+                return pdfs;
+            }));
+        }
+        return rendered.thenApply(pdfs -> {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            String html = generateReceiptHtml(order, restaurant);
-            HtmlConverter.convertToPdf(html, baos);
+            try (ZipOutputStream zip = new ZipOutputStream(baos)) {
+                for (int i = 0; i < orders.size(); i++) {
+                    zip.putNextEntry(new ZipEntry("bon_zamowienia_" + orders.get(i).id() + ".pdf"));
+                    zip.write(pdfs.get(i));
+                    zip.closeEntry();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
             return baos.toByteArray();
-        } catch (Exception e) {
-            throw new RuntimeException("Error generating PDF receipt", e);
+        });
+    }
+
+    private CompletableFuture<List<byte[]>> renderChunk(List<OrderDto> chunk, RestaurantDto restaurant) {
+        List<CompletableFuture<byte[]>> receipts = chunk.stream()
+                .map(order -> renderReceipt(order, restaurant))
+                .toList();
+        return CompletableFuture.allOf(receipts.toArray(CompletableFuture[]::new))
+                .thenApply(done -> receipts.stream().map(CompletableFuture::join).toList());
+    }
+
+    public void invalidate(Long orderId) {
+        if (orderId == null) {
+            return;
+        }
+        synchronized (cache) {
+            cache.remove(orderId);
         }
     }
+
+    private byte[] cachedReceipt(OrderDto order) {
+        synchronized (cache) {
+            CachedReceipt cached = cache.get(order.id());
+            return cached != null && cached.order().equals(order) ? cached.pdf() : null;
+        }
+    }
+
+    private byte[] convert(String html) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos, converterProperties.get());
+        return baos.toByteArray();
+    }
     
     private String generateReceiptHtml(OrderDto order, RestaurantDto restaurant) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
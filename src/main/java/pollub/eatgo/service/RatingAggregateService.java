@@ -0,0 +1,101 @@
+package pollub.eatgo.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pollub.eatgo.repository.ReviewRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agregaty ocen (liczba i suma ocen) per {@code targetType}/{@code targetId}, utrzymywane przyrostowo
+ * przez {@link ReviewService#addReview} i odtwarzane z tabeli {@code reviews} przy starcie aplikacji
+ * oraz co {@code eatgo.ratings.rebuild-interval} — przyrosty widzi tylko węzeł, który zapisał recenzję,
+ * więc oceny z innych instancji pojawiają się po przebudowie.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RatingAggregateService {
+
+    public record RatingAggregate(long count, long sum) {
+        public Double average() {
+            return count == 0 ? null : Math.round(sum * 10.0 / count) / 10.0;
+        }
+    }
+
+    private record Key(String targetType, Long targetId) {}
+
+    private record Rating(Key key, int rating) {}
+
+    private static final RatingAggregate EMPTY = new RatingAggregate(0, 0);
+
+    private final ReviewRepository reviewRepository;
+
+    private final Object lock = new Object();
+
+    private volatile Map<Key, RatingAggregate> aggregates = new ConcurrentHashMap<>();
+
+    /** Oceny doliczone w trakcie przebudowy; {@code null}, gdy przebudowa nie trwa. Pod {@link #lock}. */
+    private List<Rating> ratingsDuringRebuild;
+
+    /**
+     * Zapytanie idzie poza blokadą; oceny doliczone w tym czasie są zapamiętywane i doliczane
+     * do nowej mapy przy jej podmianie (pod tą samą blokadą co doliczanie), więc nie giną.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${eatgo.ratings.rebuild-interval:PT5M}",
+            initialDelayString = "${eatgo.ratings.rebuild-interval:PT5M}")
+    public void rebuild() {
+        synchronized (lock) {
+            ratingsDuringRebuild = new ArrayList<>();
+        }
+        Map<Key, RatingAggregate> rebuilt = new ConcurrentHashMap<>();
+        for (ReviewRepository.RatingAggregateView row : reviewRepository.aggregateRatings()) {
+            rebuilt.put(new Key(row.getTargetType(), row.getTargetId()),
+                    new RatingAggregate(row.getReviewCount(), row.getRatingSum()));
+        }
+        synchronized (lock) {
+            ratingsDuringRebuild.forEach(rating -> add(rebuilt, rating));
+            ratingsDuringRebuild = null;
+            aggregates = rebuilt;
+        }
+        log.info("Rating aggregates rebuilt for {} targets", rebuilt.size());
+    }
+
+    /**
+     * Wywołane w transakcji dolicza ocenę dopiero po commicie — wycofana recenzja nie zmienia średniej.
+     */
+    public void recordRating(String targetType, Long targetId, int rating) {
+        if (targetType == null || targetId == null) {
+            return;
+        }
+        Rating added = new Rating(new Key(targetType, targetId), rating);
+        AfterCommit.run(() -> {
+            synchronized (lock) {
+                add(aggregates, added);
+                if (ratingsDuringRebuild != null) {
+                    ratingsDuringRebuild.add(added);
+                }
+            }
+        });
+    }
+
+    private static void add(Map<Key, RatingAggregate> target, Rating added) {
+        target.merge(added.key(), new RatingAggregate(1, added.rating()),
+                (current, one) -> new RatingAggregate(current.count() + one.count(), current.sum() + one.sum()));
+    }
+
+    public RatingAggregate get(String targetType, Long targetId) {
+        if (targetType == null || targetId == null) {
+            return EMPTY;
+        }
+        return aggregates.getOrDefault(new Key(targetType, targetId), EMPTY);
+    }
+}
@@ -0,0 +1,209 @@
+package pollub.eatgo.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pollub.eatgo.model.Dish;
+import pollub.eatgo.model.Restaurant;
+import pollub.eatgo.repository.DishRepository;
+import pollub.eatgo.repository.RestaurantRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indeks wyszukiwania restauracji trzymany w pamięci (miasto, kategoria dań, nazwa/adres).
+ * Budowany przy starcie aplikacji i aktualizowany przez {@link RestaurantService} przy zmianach
+ * restauracji i dań — dopiero po commicie, więc wycofana zmiana nie trafia do wyników.
+ * Filtrowanie na stronie głównej nie odpytuje bazy danych.
+ * <p>
+ * Aktualizacje przyrostowe widzi tylko węzeł, który wprowadził zmianę; zmiany z innych instancji
+ * pojawiają się po okresowej przebudowie ({@code eatgo.search.rebuild-interval}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantSearchIndex {
+
+    private final RestaurantRepository restaurantRepository;
+    private final DishRepository dishRepository;
+
+    private record Entry(String name, String address, Map<Long, String> availableDishCategories) {}
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> categoryIndex = new ConcurrentHashMap<>();
+
+    /** Zmiany zatwierdzone w trakcie przebudowy; {@code null}, gdy przebudowa nie trwa. */
+    private List<Runnable> changesDuringRebuild;
+
+    /**
+     * Zapytania wykonywane są poza monitorem indeksu — blokujące I/O w {@code synchronized}
+     * przypinałoby wątek wirtualny do nośnika. Lokalne zmiany zatwierdzone w tym czasie są
+     * zapamiętywane i stosowane ponownie na nowym indeksie, żeby przebudowa ich nie cofnęła.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${eatgo.search.rebuild-interval:PT5M}",
+            initialDelayString = "${eatgo.search.rebuild-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        startRecordingChanges();
+        Map<Long, Map<Long, String>> categoriesByRestaurant = new HashMap<>();
+        for (Dish dish : dishRepository.findAll()) {
+            if (dish.getRestaurant() == null || !dish.isAvailable() || dish.getCategory() == null) {
+                continue;
+            }
+            categoriesByRestaurant
+                    .computeIfAbsent(dish.getRestaurant().getId(), id -> new HashMap<>())
+                    .put(dish.getId(), dish.getCategory());
+        }
+        List<Restaurant> restaurants = restaurantRepository.findAll();
+        replaceAll(restaurants, categoriesByRestaurant);
+        log.info("Restaurant search index built: {} restaurants, {} categories", entries.size(), categoryIndex.size());
+    }
+
+    private synchronized void startRecordingChanges() {
+        changesDuringRebuild = new ArrayList<>();
+    }
+
+    private synchronized void replaceAll(List<Restaurant> restaurants, Map<Long, Map<Long, String>> categoriesByRestaurant) {
+        entries.clear();
+        categoryIndex.clear();
+        for (Restaurant restaurant : restaurants) {
+            put(restaurant.getId(), restaurant.getName(), restaurant.getAddress(),
+                    categoriesByRestaurant.getOrDefault(restaurant.getId(), Map.of()));
+        }
+        List<Runnable> changes = changesDuringRebuild;
+        changesDuringRebuild = null;
+        if (changes != null) {
+            changes.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Zwraca identyfikatory restauracji spełniających wszystkie podane (niepuste) kryteria.
+     * Miasto i fraza są dopasowywane jako podciąg adresu (fraza także nazwy), bez rozróżniania
+     * wielkości liter — np. „zzer” znajduje „Pizzeria”, a „Lubl” restaurację z Lublina — tak jak
+     * filtr strony głównej przed wprowadzeniem indeksu. Kategoria jest dopasowywana dokładnie.
+     */
+    public Set<Long> search(String city, String category, String term) {
+        Set<Long> result = null;
+        if (category != null && !category.isBlank()) {
+            result = new HashSet<>(categoryIndex.getOrDefault(category, Set.of()));
+        }
+        String cityNeedle = needle(city);
+        String termNeedle = needle(term);
+        if (cityNeedle != null || termNeedle != null) {
+            Set<Long> candidates = result != null ? result : entries.keySet();
+            Set<Long> matches = new HashSet<>();
+            for (Long restaurantId : candidates) {
+                Entry entry = entries.get(restaurantId);
+                if (entry != null
+                        && (cityNeedle == null || entry.address().contains(cityNeedle))
+                        && (termNeedle == null || entry.name().contains(termNeedle) || entry.address().contains(termNeedle))) {
+                    matches.add(restaurantId);
+                }
+            }
+            result = matches;
+        }
+        return result == null ? Set.copyOf(entries.keySet()) : result;
+    }
+
+    public void onRestaurantChanged(Restaurant restaurant) {
+        Long restaurantId = restaurant.getId();
+        String name = restaurant.getName();
+        String address = restaurant.getAddress();
+        AfterCommit.run(() -> apply(() -> restaurantChanged(restaurantId, name, address)));
+    }
+
+    public void onDishChanged(Long restaurantId, Dish dish) {
+        Long dishId = dish.getId();
+        String category = dish.isAvailable() ? dish.getCategory() : null;
+        AfterCommit.run(() -> apply(() -> dishChanged(restaurantId, dishId, category)));
+    }
+
+    public void onDishDeleted(Long restaurantId, Long dishId) {
+        AfterCommit.run(() -> apply(() -> dishDeleted(restaurantId, dishId)));
+    }
+
+    private synchronized void apply(Runnable change) {
+        change.run();
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private void restaurantChanged(Long restaurantId, String name, String address) {
+        Entry previous = entries.get(restaurantId);
+        Map<Long, String> categories = previous != null ? previous.availableDishCategories() : Map.of();
+        put(restaurantId, name, address, categories);
+    }
+
+    private void dishChanged(Long restaurantId, Long dishId, String availableCategory) {
+        Entry previous = entries.get(restaurantId);
+        if (previous == null) {
+            return;
+        }
+        Map<Long, String> categories = new HashMap<>(previous.availableDishCategories());
+        if (availableCategory != null) {
+            categories.put(dishId, availableCategory);
+        } else {
+            categories.remove(dishId);
+        }
+        replaceCategories(restaurantId, previous, categories);
+    }
+
+    private void dishDeleted(Long restaurantId, Long dishId) {
+        Entry previous = entries.get(restaurantId);
+        if (previous == null || !previous.availableDishCategories().containsKey(dishId)) {
+            return;
+        }
+        Map<Long, String> categories = new HashMap<>(previous.availableDishCategories());
+        categories.remove(dishId);
+        replaceCategories(restaurantId, previous, categories);
+    }
+
+    private void put(Long restaurantId, String name, String address, Map<Long, String> categories) {
+        remove(restaurantId);
+        Entry entry = new Entry(lowerCase(name), lowerCase(address), Map.copyOf(categories));
+        entries.put(restaurantId, entry);
+        entry.availableDishCategories().values().forEach(category -> addTo(categoryIndex, category, restaurantId));
+    }
+
+    private void replaceCategories(Long restaurantId, Entry previous, Map<Long, String> categories) {
+        previous.availableDishCategories().values().forEach(category -> removeFrom(categoryIndex, category, restaurantId));
+        Entry entry = new Entry(previous.name(), previous.address(), Map.copyOf(categories));
+        entries.put(restaurantId, entry);
+        entry.availableDishCategories().values().forEach(category -> addTo(categoryIndex, category, restaurantId));
+    }
+
+    private void remove(Long restaurantId) {
+        Entry previous = entries.remove(restaurantId);
+        if (previous == null) {
+            return;
+        }
+        previous.availableDishCategories().values().forEach(category -> removeFrom(categoryIndex, category, restaurantId));
+    }
+
+    private static void addTo(Map<String, Set<Long>> index, String key, Long restaurantId) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(restaurantId);
+    }
+
+    private static void removeFrom(Map<String, Set<Long>> index, String key, Long restaurantId) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(restaurantId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static String lowerCase(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static String needle(String text) {
+        return text == null || text.isBlank() ? null : text.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,19 +1,24 @@
 package pollub.eatgo.service;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import pollub.eatgo.config.PrimaryDatabase;
 import pollub.eatgo.dto.courier.CourierCreateDto;
 import pollub.eatgo.dto.courier.CourierDto;
 import pollub.eatgo.dto.courier.CourierUpdateDto;
 import pollub.eatgo.dto.dish.DishCreateDto;
 import pollub.eatgo.dto.dish.DishDto;
 import pollub.eatgo.dto.dish.DishUpdateDto;
+import pollub.eatgo.dto.dish.MenuSnapshot;
 import pollub.eatgo.dto.order.OrderDto;
 import pollub.eatgo.dto.order.OrderItemDto;
+import pollub.eatgo.dto.order.OrderPage;
+import pollub.eatgo.dto.order.OrderPageRequest;
 import pollub.eatgo.dto.restaurant.RestaurantDto;
 import pollub.eatgo.dto.restaurant.RestaurantSummaryDto;
 import pollub.eatgo.dto.restaurant.RestaurantUpdateDto;
@@ -30,6 +35,7 @@ import java.util.stream.Collectors;
  * Połączony serwis dla funkcjonalności "restaurant" (admin) oraz podstawowych metod klienta.
  */
 @Service
+@Timed("eatgo.service")
 @RequiredArgsConstructor
 @Transactional
 public class RestaurantService {
@@ -40,11 +46,36 @@ public class RestaurantService {
     private final DishRepository dishRepository;
 	private final PasswordEncoder passwordEncoder;
     private final OrderNotificationService orderNotificationService;
+    private final RestaurantSearchIndex restaurantSearchIndex;
+    private final RatingAggregateService ratingAggregateService;
+    private final PdfService pdfService;
+    private final MenuCache menuCache;
+    private final TenantResolver tenantResolver;
+    private final OrderStateMachine orderStateMachine;
+    private final CourierStatusIndex courierStatusIndex;
+    private final PrimaryDatabase primaryDatabase;
 
-    public List<OrderDto> listOrders(String adminEmail) {
+    @Transactional(readOnly = true)
+    public OrderPage<OrderDto> listOrders(String adminEmail, OrderPageRequest request) {
         Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
-        List<Order> orders = orderRepository.findByRestaurantIdOrderByCreatedAtDesc(restaurant.getId());
-        return orders.stream().map(this::toOrderDto).collect(Collectors.toList());
+        return orderRepository.findPage(OrderRepositoryCustom.OrderOwner.RESTAURANT, restaurant.getId(), request)
+                .map(this::toOrderDto);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderDto getOrder(String adminEmail, Long orderId) {
+        Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
+        return orderRepository.findByIdAndRestaurantId(orderId, restaurant.getId())
+                .map(this::toOrderDto)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+    }
+
+    /**
+     * {@link #getOrder} przy odświeżeniu po zdarzeniu o zmianie zamówienia: odczyt z bazy głównej,
+     * bo replika może jeszcze nie mieć właśnie zatwierdzonej zmiany.
+     */
+    public OrderDto getOrderAfterChange(String adminEmail, Long orderId) {
+        return primaryDatabase.read(() -> getOrder(adminEmail, orderId));
     }
 
     public OrderDto updateOrderStatus(String adminEmail, Long orderId, String status) {
@@ -54,16 +85,20 @@ public class RestaurantService {
         if (!order.getRestaurant().getId().equals(restaurant.getId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Order does not belong to your restaurant");
         }
-        OrderStatus previousStatus = order.getStatus();
         OrderStatus targetStatus = parseOrderStatus(status);
+        if (order.getStatus() == targetStatus) {
+            return toOrderDto(order);
+        }
         validateAdminTransition(order.getStatus(), targetStatus);
         if (targetStatus == OrderStatus.IN_DELIVERY && order.getCourier() == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Assign courier before marking order IN_DELIVERY");
         }
-        order.setStatus(targetStatus);
-        order = orderRepository.save(order);
-        orderNotificationService.addStatusChangeNotification(order, previousStatus, targetStatus);
-        return toOrderDto(order);
+        OrderStateMachine.Transition transition = orderStateMachine.transition(orderId, order.getStatus(), targetStatus);
+        if (transition.applied()) {
+            orderNotificationService.addStatusChangeNotification(transition.order(), transition.previousStatus(), targetStatus);
+            pdfService.invalidate(orderId);
+        }
+        return toOrderDto(transition.order());
     }
 
     public OrderDto assignCourier(String adminEmail, Long orderId, Long courierId) {
@@ -73,17 +108,40 @@ public class RestaurantService {
         if (!order.getRestaurant().getId().equals(restaurant.getId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Order does not belong to your restaurant");
         }
-        if (order.getStatus() != OrderStatus.READY) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order must be READY before assigning courier");
-        }
         User courier = userRepository.findByIdAndRestaurantId(courierId, restaurant.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Courier not found for your restaurant"));
-        OrderStatus previousStatus = order.getStatus();
-        order.setCourier(courier);
-        order.setStatus(OrderStatus.IN_DELIVERY);
-        order = orderRepository.save(order);
-        orderNotificationService.addStatusChangeNotification(order, previousStatus, OrderStatus.IN_DELIVERY);
-        return toOrderDto(order);
+        if (order.getStatus() != OrderStatus.READY
+                && !(order.getStatus() == OrderStatus.IN_DELIVERY && order.getCourier() != null
+                     && courierId.equals(order.getCourier().getId()))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order must be READY before assigning courier");
+        }
+        return toOrderDto(applyCourierAssignment(orderId, courier).order());
+    }
+
+    /**
+     * Przypisanie wykonywane przez {@link CourierDispatcher}. Gdy zamówienie zostało w międzyczasie
+     * przypisane ręcznie, rzuca {@link OrderTransitionConflictException}.
+     * <p>
+     * Wiersz kuriera jest blokowany, a jego dostawy {@code IN_DELIVERY} liczone w bazie — indeks
+     * {@link CourierStatusIndex} jest per węzeł, więc dispatchery kilku instancji mogłyby inaczej
+     * razem przekroczyć {@link CourierStatusIndex#MAX_ACTIVE_DELIVERIES}. Pełny kurier daje {@code false}.
+     */
+    public boolean dispatchCourier(Long orderId, Long courierId) {
+        User courier = userRepository.findByIdForUpdate(courierId).orElse(null);
+        if (courier == null || orderRepository.countByCourierIdAndStatus(courierId, OrderStatus.IN_DELIVERY)
+                >= CourierStatusIndex.MAX_ACTIVE_DELIVERIES) {
+            return false;
+        }
+        return applyCourierAssignment(orderId, courier).applied();
+    }
+
+    private OrderStateMachine.Transition applyCourierAssignment(Long orderId, User courier) {
+        OrderStateMachine.Transition transition = orderStateMachine.assignCourier(orderId, courier);
+        if (transition.applied()) {
+            orderNotificationService.addStatusChangeNotification(transition.order(), transition.previousStatus(), OrderStatus.IN_DELIVERY);
+            pdfService.invalidate(orderId);
+        }
+        return transition;
     }
 
     public DishDto addDish(String adminEmail, DishCreateDto req) {
@@ -98,6 +156,8 @@ public class RestaurantService {
                 .restaurant(restaurant)
                 .build();
         dish = dishRepository.save(dish);
+        restaurantSearchIndex.onDishChanged(restaurant.getId(), dish);
+        menuCache.invalidate(restaurant.getId());
         return toDishDto(dish);
     }
 
@@ -115,6 +175,8 @@ public class RestaurantService {
         if (req.category() != null) dish.setCategory(req.category());
         if (req.imageUrl() != null) dish.setImageUrl(req.imageUrl());
         dish = dishRepository.save(dish);
+        restaurantSearchIndex.onDishChanged(restaurant.getId(), dish);
+        menuCache.invalidate(restaurant.getId());
         return toDishDto(dish);
     }
 
@@ -126,8 +188,11 @@ public class RestaurantService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Dish does not belong to your restaurant");
         }
         dishRepository.delete(dish);
+        restaurantSearchIndex.onDishDeleted(restaurant.getId(), dish.getId());
+        menuCache.invalidate(restaurant.getId());
     }
 
+    @Transactional(readOnly = true)
     public List<CourierDto> listCouriers(String adminEmail) {
         Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
         return userRepository.findByRestaurantIdAndRole(restaurant.getId(), User.Role.COURIER).stream()
@@ -148,6 +213,7 @@ public class RestaurantService {
                 .restaurant(restaurant)
                 .build();
         courier = userRepository.save(courier);
+        courierStatusIndex.onCourierAdded(restaurant.getId(), courier.getId());
         return toCourierDto(courier);
     }
 
@@ -162,6 +228,7 @@ public class RestaurantService {
             }
         }
         
+        tenantResolver.evict(courier.getEmail());
         courier.setEmail(req.email());
         courier.setFullName(req.fullName());
         courier = userRepository.save(courier);
@@ -173,6 +240,8 @@ public class RestaurantService {
         User courier = userRepository.findByIdAndRestaurantId(courierId, restaurant.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Courier not found for your restaurant"));
         userRepository.delete(courier);
+        tenantResolver.evict(courier.getEmail());
+        courierStatusIndex.onCourierRemoved(courierId);
     }
 
     public RestaurantDto updateRestaurant(String adminEmail, RestaurantUpdateDto req) {
@@ -182,112 +251,50 @@ public class RestaurantService {
         restaurant.setDeliveryPrice(req.deliveryPrice() == null ? 0.0 : req.deliveryPrice());
         if (req.imageUrl() != null) restaurant.setImageUrl(req.imageUrl());
         restaurant = restaurantRepository.save(restaurant);
+        restaurantSearchIndex.onRestaurantChanged(restaurant);
+        tenantResolver.evictRestaurant(restaurant.getId());
         return toRestaurantDto(restaurant);
     }
     
+    @Transactional(readOnly = true)
     public RestaurantDto getRestaurantForAdmin(String adminEmail) {
         Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
         return toRestaurantDto(restaurant);
     }
     
+    @Transactional(readOnly = true)
     public List<DishDto> getAllDishesForAdmin(String adminEmail) {
         Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
         List<Dish> dishes = dishRepository.findByRestaurantId(restaurant.getId());
         return dishes.stream().map(this::toDishDto).collect(Collectors.toList());
     }
     
-    public double getTodayRevenue(String adminEmail) {
-        Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
-        LocalDateTime todayStart = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
-        List<Order> todayOrders = orderRepository.findByRestaurantIdAndCreatedAtAfter(restaurant.getId(), todayStart);
-        return todayOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.DELIVERED)
-                .mapToDouble(Order::getTotalPrice)
-                .sum();
-    }
-    
-    public long getTodayOrdersCount(String adminEmail) {
-        Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
-        LocalDateTime todayStart = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
-        return orderRepository.countByRestaurantIdAndCreatedAtAfter(restaurant.getId(), todayStart);
-    }
-    
-    public long getActiveOrdersCount(String adminEmail) {
-        Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
-        return orderRepository.countByRestaurantIdAndStatusIn(
-            restaurant.getId(),
-            List.of(OrderStatus.PLACED, OrderStatus.ACCEPTED, OrderStatus.COOKING, OrderStatus.READY, OrderStatus.IN_DELIVERY)
-        );
-    }
-    
-    public java.util.Map<String, Integer> getTopDishes(String adminEmail, int limit) {
-        Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
-        List<Order> allOrders = orderRepository.findByRestaurantId(restaurant.getId());
-        
-        return allOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.DELIVERED)
-                .flatMap(o -> o.getItems().stream())
-                .collect(Collectors.groupingBy(
-                    item -> item.getDish() != null ? item.getDish().getName() : "Unknown",
-                    Collectors.summingInt(OrderItem::getQuantity)
-                ))
-                .entrySet().stream()
-                .sorted((e1, e2) -> Integer.compare(e2.getValue(), e1.getValue()))
-                .limit(limit)
-                .collect(Collectors.toMap(
-                    java.util.Map.Entry::getKey,
-                    java.util.Map.Entry::getValue,
-                    (e1, e2) -> e1,
-                    java.util.LinkedHashMap::new
-                ));
-    }
-
+    @Transactional(readOnly = true)
     public List<RestaurantSummaryDto> listRestaurants() {
         return restaurantRepository.findAll().stream()
-                .map(r -> new RestaurantSummaryDto(
-                        r.getId(),
-                        r.getName(),
-                        r.getAddress(),
-                        BigDecimal.valueOf(r.getDeliveryPrice()),
-                        r.getImageUrl(),
-                        null,
-                        0
-                ))
+                .map(r -> {
+                    RatingAggregateService.RatingAggregate rating = ratingAggregateService.get("RESTAURANT", r.getId());
+                    return new RestaurantSummaryDto(
+                            r.getId(),
+                            r.getName(),
+                            r.getAddress(),
+                            BigDecimal.valueOf(r.getDeliveryPrice()),
+                            r.getImageUrl(),
+                            rating.average(),
+                            (int) rating.count()
+                    );
+                })
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<DishDto> getMenu(Long restaurantId) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant not found"));
-
-        List<Dish> allDishes = dishRepository.findByRestaurantId(restaurant.getId());
-        System.out.println("RestaurantService.getMenu: Found " + allDishes.size() + " dishes for restaurant " + restaurantId);
-        
-        List<Dish> availableDishes = dishRepository.findByRestaurantIdAndAvailableTrue(restaurant.getId());
-        System.out.println("RestaurantService.getMenu: Found " + availableDishes.size() + " available dishes");
-        
-        if (availableDishes.isEmpty() && !allDishes.isEmpty()) {
-            System.out.println("RestaurantService.getMenu: WARNING - No available dishes, but " + allDishes.size() + " total dishes exist!");
-            System.out.println("RestaurantService.getMenu: All dishes availability: " + 
-                allDishes.stream().map(d -> d.getName() + "=" + d.isAvailable()).collect(java.util.stream.Collectors.joining(", ")));
-        }
+        return menuCache.get(restaurantId).dishes();
+    }
 
-        return availableDishes.stream()
-                .map(d -> {
-                    DishDto dto = new DishDto(
-                            d.getId(),
-                            d.getName(),
-                            d.getDescription(),
-                            d.getPrice(),
-                            d.isAvailable(),
-                            restaurant.getId(),
-                            d.getCategory(),
-                            d.getImageUrl() != null ? d.getImageUrl() : ""
-                    );
-                    System.out.println("RestaurantService.getMenu: Mapped dish: " + dto.name() + " (category: " + dto.category() + ")");
-                    return dto;
-                })
-                .toList();
+    @Transactional(readOnly = true)
+    public MenuSnapshot getMenuSnapshot(Long restaurantId) {
+        return menuCache.get(restaurantId);
     }
 
     private OrderStatus parseOrderStatus(String value) {
@@ -333,13 +340,15 @@ public class RestaurantService {
     }
 
     private Restaurant resolveRestaurantForAdmin(String adminEmail) {
-        User admin = userRepository.findByEmail(adminEmail)
+        TenantResolver.Tenant admin = tenantResolver.resolve(adminEmail)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Admin user not found"));
-        if (admin.getRole() != User.Role.RESTAURANT_ADMIN) {
+        if (admin.role() != User.Role.RESTAURANT_ADMIN) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User is not restaurant admin");
         }
-        return restaurantRepository.findByAdminId(admin.getId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant for admin not found"));
+        if (admin.restaurantId() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant for admin not found");
+        }
+        return restaurantRepository.getReferenceById(admin.restaurantId());
     }
 
     private DishDto toDishDto(Dish dish) {
@@ -385,16 +394,15 @@ public class RestaurantService {
     }
 
     private CourierDto toCourierDto(User u) {
-        long activeDeliveries = orderRepository.findByCourierIdOrderByCreatedAtDesc(u.getId()).stream()
-            .filter(o -> o.getStatus() == OrderStatus.IN_DELIVERY)
-            .count();
-        boolean isAvailable = true;
+        CourierStatusIndex.CourierStatus status = courierStatusIndex.status(u.getId());
         return new CourierDto(
-            u.getId(), 
-            u.getEmail(), 
-            u.getFullName(), 
+            u.getId(),
+            u.getEmail(),
+            u.getFullName(),
             u.getRestaurant() != null ? u.getRestaurant().getId() : null,
-            isAvailable
+            status.available(),
+            status.activeDeliveries(),
+            status.lastDeliveredAt()
         );
     }
 
@@ -0,0 +1,92 @@
+package pollub.eatgo.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import pollub.eatgo.dto.restaurant.RestaurantStatisticsDto;
+import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.model.Restaurant;
+import pollub.eatgo.model.User;
+import pollub.eatgo.repository.OrderItemRepository;
+import pollub.eatgo.repository.OrderRepository;
+import pollub.eatgo.repository.RestaurantRepository;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statystyki panelu restauracji liczone zapytaniami agregującymi (GROUP BY) po stronie bazy,
+ * zamiast ładowania całej historii zamówień do pamięci.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RestaurantStatisticsService {
+
+    /** Górna granica parametru {@code topDishes} — ranking dłuższy niż menu nie ma sensu, a limit trafia do SQL. */
+    public static final int MAX_TOP_DISHES = 100;
+
+    private static final List<OrderStatus> ACTIVE_STATUSES = List.of(
+            OrderStatus.PLACED, OrderStatus.ACCEPTED, OrderStatus.COOKING, OrderStatus.READY, OrderStatus.IN_DELIVERY);
+
+    private final RestaurantRepository restaurantRepository;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TenantResolver tenantResolver;
+
+    public RestaurantStatisticsDto getStatistics(String adminEmail, int topDishesLimit) {
+        if (topDishesLimit < 1 || topDishesLimit > MAX_TOP_DISHES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "topDishes must be between 1 and " + MAX_TOP_DISHES);
+        }
+        Restaurant restaurant = resolveRestaurantForAdmin(adminEmail);
+        LocalDateTime todayStart = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
+
+        OrderRepository.OrderTotalsView totals = orderRepository.aggregateTotals(
+                restaurant.getId(),
+                todayStart,
+                todayStart.minusDays(7),
+                todayStart.minusDays(30),
+                OrderStatus.DELIVERED,
+                ACTIVE_STATUSES
+        );
+
+        Map<String, Integer> topDishes = new LinkedHashMap<>();
+        orderItemRepository.findTopDishes(restaurant.getId(), OrderStatus.DELIVERED, PageRequest.of(0, topDishesLimit))
+                .forEach(row -> topDishes.put(row.getDishName(), (int) row.getQuantity()));
+
+        Map<String, Long> courierDeliveries = new LinkedHashMap<>();
+        orderRepository.countDeliveriesByCourier(restaurant.getId())
+                .forEach(row -> courierDeliveries.put(row.getCourierName(), row.getDeliveries()));
+
+        return new RestaurantStatisticsDto(
+                totals.getTodayRevenue(),
+                totals.getTodayOrders(),
+                totals.getWeekRevenue(),
+                totals.getWeekOrders(),
+                totals.getMonthRevenue(),
+                totals.getMonthOrders(),
+                totals.getAverageOrderValue(),
+                totals.getActiveOrders(),
+                topDishes,
+                courierDeliveries
+        );
+    }
+
+    private Restaurant resolveRestaurantForAdmin(String adminEmail) {
+        TenantResolver.Tenant admin = tenantResolver.resolve(adminEmail)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Admin user not found"));
+        if (admin.role() != User.Role.RESTAURANT_ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User is not restaurant admin");
+        }
+        if (admin.restaurantId() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant for admin not found");
+        }
+        return restaurantRepository.getReferenceById(admin.restaurantId());
+    }
+}
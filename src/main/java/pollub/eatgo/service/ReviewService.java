@@ -1,5 +1,6 @@
 package pollub.eatgo.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,7 @@ import pollub.eatgo.repository.UserRepository;
 import java.util.List;
 
 @Service
+@Timed("eatgo.service")
 @RequiredArgsConstructor
 public class ReviewService {
 
@@ -27,6 +29,7 @@ public class ReviewService {
 	private final UserRepository userRepository;
 	private final ReviewRepository reviewRepository;
 	private final RestaurantRepository restaurantRepository;
+	private final RatingAggregateService ratingAggregateService;
 
 	public void addReview(Long reviewerId, ReviewCreateDto req) {
 		User reviewer = userRepository.findById(reviewerId).orElseThrow();
@@ -60,6 +63,7 @@ public class ReviewService {
 				.comment(req.comment())
 				.build();
 		reviewRepository.save(review);
+		ratingAggregateService.recordRating(targetType, targetId, req.rating());
 	}
 
 	public List<ReviewDto> getReviewsForRestaurant(Long restaurantId) {
@@ -0,0 +1,98 @@
+package pollub.eatgo.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pollub.eatgo.config.PrimaryDatabase;
+import pollub.eatgo.model.Restaurant;
+import pollub.eatgo.model.User;
+import pollub.eatgo.repository.RestaurantRepository;
+import pollub.eatgo.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache mapowania email → (id użytkownika, rola, id restauracji) dla administratorów i kurierów.
+ * <p>
+ * Wypełniany już przy uwierzytelnieniu JWT, więc kolejne wywołania serwisów w ramach żądania
+ * (i następnych żądań) nie odpytują bazy. Wpisy są usuwane przy zmianach użytkownika lub
+ * restauracji, a dodatkowo wygasają po {@link #TTL}, co ogranicza nieaktualność między węzłami.
+ * Brakujące wpisy są czytane z bazy głównej ({@link PrimaryDatabase}): zaraz po rejestracji czy zmianie
+ * restauracji replika mogłaby zwrócić stan sprzed zmiany, który zostałby w cache na cały TTL.
+ */
+@Service
+@RequiredArgsConstructor
+public class TenantResolver {
+
+    static final Duration TTL = Duration.ofMinutes(5);
+
+    public record Tenant(Long userId, String email, User.Role role, Long restaurantId) {}
+
+    private record Entry(Tenant tenant, long loadedAtMillis) {}
+
+    private final UserRepository userRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final PrimaryDatabase primaryDatabase;
+
+    private final Map<String, Entry> tenants = new ConcurrentHashMap<>();
+
+    public Optional<Tenant> resolve(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        Entry cached = tenants.get(email);
+        if (cached != null && now - cached.loadedAtMillis() < TTL.toMillis()) {
+            return Optional.of(cached.tenant());
+        }
+        Optional<Tenant> loaded = primaryDatabase.read(() -> userRepository.findByEmail(email).map(this::toTenant));
+        loaded.ifPresentOrElse(
+                tenant -> tenants.put(email, new Entry(tenant, now)),
+                () -> tenants.remove(email));
+        return loaded;
+    }
+
+    /**
+     * Wstępne wypełnienie przy uwierzytelnieniu; dotyczy tylko ról przypisanych do restauracji.
+     */
+    public void warm(String email, String role) {
+        if (User.Role.RESTAURANT_ADMIN.name().equals(role) || User.Role.COURIER.name().equals(role)) {
+            resolve(email);
+        }
+    }
+
+    /**
+     * Usuwa wpis od razu i ponownie po commicie — odczyt między zmianą a commitem mógł go
+     * wypełnić jeszcze starymi danymi.
+     */
+    public void evict(String email) {
+        if (email != null) {
+            tenants.remove(email);
+            AfterCommit.run(() -> tenants.remove(email));
+        }
+    }
+
+    public void evictRestaurant(Long restaurantId) {
+        removeRestaurant(restaurantId);
+        AfterCommit.run(() -> removeRestaurant(restaurantId));
+    }
+
+    private void removeRestaurant(Long restaurantId) {
+        tenants.values().removeIf(entry -> restaurantId.equals(entry.tenant().restaurantId()));
+    }
+
+    void clear() {
+        tenants.clear();
+    }
+
+    private Tenant toTenant(User user) {
+        Long restaurantId = switch (user.getRole()) {
+            case RESTAURANT_ADMIN -> restaurantRepository.findByAdminId(user.getId()).map(Restaurant::getId).orElse(null);
+            case COURIER -> user.getRestaurant() != null ? user.getRestaurant().getId() : null;
+            default -> null;
+        };
+        return new Tenant(user.getId(), user.getEmail(), user.getRole(), restaurantId);
+    }
+}
@@ -1,62 +1,43 @@
 package pollub.eatgo.service;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import pollub.eatgo.security.JwtPrincipal;
 import pollub.eatgo.security.JwtUtil;
 
+import java.util.Optional;
+
 /**
  * Serwis do walidacji tokenów JWT po stronie frontendu.
  */
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class TokenValidationService {
     
     private final JwtUtil jwtUtil;
 
     public boolean isTokenValid(String token) {
-        if (token == null || token.isBlank() || "null".equals(token)) {
-            return false;
-        }
-        
-        try {
-            return jwtUtil.validateToken(token);
-        } catch (Exception e) {
-            log.warn("Token validation failed: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
     public boolean isTokenExpired(String token) {
-        if (token == null || token.isBlank() || "null".equals(token)) {
-            return true;
-        }
-        
-        try {
-            var claims = jwtUtil.getAllClaims(token);
-            return claims.getExpiration().before(new java.util.Date());
-        } catch (Exception e) {
-            log.warn("Token expiration check failed: {}", e.getMessage());
-            return true;
-        }
+        return verify(token).isEmpty();
     }
 
     public TokenInfo getTokenInfo(String token) {
-        if (!isTokenValid(token)) {
-            return null;
-        }
-        
-        try {
-            String userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-            String email = jwtUtil.extractEmail(token);
-            
-            return new TokenInfo(userId, role, email);
-        } catch (Exception e) {
-            log.error("Error extracting token info: {}", e.getMessage());
-            return null;
+        return verify(token)
+                .map(principal -> new TokenInfo(
+                        principal.id() != null ? principal.id().toString() : null,
+                        principal.role(),
+                        principal.email()))
+                .orElse(null);
+    }
+
+    private Optional<JwtPrincipal> verify(String token) {
+        if (token == null || token.isBlank() || "null".equals(token)) {
+            return Optional.empty();
         }
+        return jwtUtil.authenticate(token);
     }
     
     public static class TokenInfo {
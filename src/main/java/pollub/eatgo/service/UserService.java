@@ -1,8 +1,8 @@
 package pollub.eatgo.service;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pollub.eatgo.dto.user.UserSettingsDto;
 import pollub.eatgo.model.Address;
 import pollub.eatgo.model.User;
@@ -19,6 +19,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final AddressRepository addressRepository;
     
+    @Transactional(readOnly = true)
     public UserSettingsDto getUserSettings(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
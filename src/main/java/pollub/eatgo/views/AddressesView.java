@@ -14,6 +14,7 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.dto.address.AddressCreateDto;
 import pollub.eatgo.dto.address.AddressDto;
 import pollub.eatgo.service.AddressService;
@@ -26,6 +27,7 @@ import java.util.List;
 
 @Route("addresses")
 @PageTitle("EatGo - Moje adresy")
+@Slf4j
 public class AddressesView extends VerticalLayout {
     
     private final AddressService addressService;
@@ -95,18 +97,17 @@ public class AddressesView extends VerticalLayout {
     
     @com.vaadin.flow.component.ClientCallable
     public void loadAddresses(String userIdStr) {
-        System.out.println("AddressesView.loadAddresses called with userId: " + userIdStr);
+        log.debug("AddressesView.loadAddresses called with userId: {}", userIdStr);
         getUI().ifPresent(ui -> {
             ui.access(() -> {
                 try {
                     Long userId = Long.parseLong(userIdStr);
-                    System.out.println("AddressesView.loadAddresses: Loading addresses for userId: " + userId);
+                    log.debug("AddressesView.loadAddresses: Loading addresses for userId: {}", userId);
                     List<AddressDto> addresses = addressService.listAddresses(userId);
-                    System.out.println("AddressesView.loadAddresses: Loaded " + addresses.size() + " addresses");
+                    log.debug("AddressesView.loadAddresses: Loaded {} addresses", addresses.size());
                     displayAddresses(addresses);
                 } catch (Exception e) {
-                    System.err.println("AddressesView: Error loading addresses: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("AddressesView: Error loading addresses", e);
                     Notification.show("Błąd podczas ładowania adresów: " + e.getMessage(), 3000, Notification.Position.TOP_CENTER);
                 }
             });
@@ -267,7 +268,6 @@ public class AddressesView extends VerticalLayout {
             
             String finalApartmentNumber = (apartmentNumber != null && !apartmentNumber.trim().isEmpty()) ? apartmentNumber.trim() : "";
             
-            System.out.println("AddressesView: Saving address - city=" + city + ", street=" + street + ", postalCode=" + postalCode + ", apartmentNumber=" + finalApartmentNumber);
             
             saveBtn.setEnabled(false);
             saveBtn.setText("Zapisywanie...");
@@ -276,12 +276,12 @@ public class AddressesView extends VerticalLayout {
                 "return localStorage.getItem('eatgo-userId');"
             ).then(String.class, userIdStr -> {
                 if (userIdStr != null && !userIdStr.isEmpty()) {
-                    System.out.println("AddressesView: Got userId from localStorage: " + userIdStr);
+                    log.debug("AddressesView: Got userId from localStorage: {}", userIdStr);
                     // Wywołaj metodę bezpośrednio z Java
                     saveAddressDirect(city.trim(), street.trim(), postalCode.trim(), 
                         finalApartmentNumber != null ? finalApartmentNumber : "", userIdStr);
                 } else {
-                    System.err.println("AddressesView: No userId in localStorage");
+                    log.warn("AddressesView: No userId in localStorage");
                     Notification.show("Użytkownik niezalogowany", 3000, Notification.Position.TOP_CENTER);
                     saveBtn.setEnabled(true);
                     saveBtn.setText("Zapisz");
@@ -298,63 +298,59 @@ public class AddressesView extends VerticalLayout {
     }
     
     private void saveAddressDirect(String city, String street, String postalCode, String apartmentNumber, String userIdStr) {
-        System.out.println("=== AddressesView.saveAddressDirect CALLED ===");
-        System.out.println("Parameters: city=" + city + ", street=" + street + ", postalCode=" + postalCode + ", apartmentNumber=" + apartmentNumber + ", userId=" + userIdStr);
+        log.debug("AddressesView.saveAddressDirect: userId={}", userIdStr);
         
         getUI().ifPresent(ui -> {
             ui.access(() -> {
                 try {
-                    System.out.println("AddressesView.saveAddressDirect: Inside UI.access");
+                    log.debug("AddressesView.saveAddressDirect: Inside UI.access");
                     
                     if (city == null || city.isEmpty() || street == null || street.isEmpty() || postalCode == null || postalCode.isEmpty()) {
-                        System.err.println("AddressesView.saveAddressDirect: Validation failed - missing required fields");
+                        log.warn("AddressesView.saveAddressDirect: Validation failed - missing required fields");
                         Notification.show("Wszystkie wymagane pola muszą być wypełnione.", 3000, Notification.Position.TOP_CENTER);
                         return;
                     }
                     
-                    System.out.println("AddressesView.saveAddressDirect: Parsing userId: " + userIdStr);
+                    log.debug("AddressesView.saveAddressDirect: Parsing userId: {}", userIdStr);
                     Long userId = Long.parseLong(userIdStr);
-                    System.out.println("AddressesView.saveAddressDirect: Parsed userId: " + userId);
+                    log.debug("AddressesView.saveAddressDirect: Parsed userId: {}", userId);
                     
                     String finalApartmentNumber = (apartmentNumber != null && !apartmentNumber.trim().isEmpty()) ? apartmentNumber.trim() : null;
-                    System.out.println("AddressesView.saveAddressDirect: Final apartmentNumber: " + finalApartmentNumber);
+                    log.debug("AddressesView.saveAddressDirect: Final apartmentNumber: {}", finalApartmentNumber);
                     
                     AddressCreateDto addressDto = new AddressCreateDto(city.trim(), street.trim(), postalCode.trim(), finalApartmentNumber);
-                    System.out.println("AddressesView.saveAddressDirect: Created DTO");
+                    log.debug("AddressesView.saveAddressDirect: Created DTO");
                     
                     if (editingAddress != null) {
-                        System.out.println("AddressesView: Updating address ID: " + editingAddress.id());
+                        log.debug("AddressesView: Updating address ID: {}", editingAddress.id());
                         AddressDto updated = addressService.updateAddress(userId, editingAddress.id(), addressDto);
-                        System.out.println("AddressesView: Address updated successfully, ID: " + updated.id());
+                        log.debug("AddressesView: Address updated successfully, ID: {}", updated.id());
                         Notification.show("Adres zaktualizowany pomyślnie!", 3000, Notification.Position.TOP_CENTER);
                     } else {
-                        System.out.println("AddressesView: Adding new address for userId: " + userId);
+                        log.debug("AddressesView: Adding new address for userId: {}", userId);
                         AddressDto saved = addressService.addAddress(userId, addressDto);
-                        System.out.println("AddressesView: Address added successfully, ID: " + saved.id());
+                        log.debug("AddressesView: Address added successfully, ID: {}", saved.id());
                         Notification.show("Adres dodany pomyślnie!", 3000, Notification.Position.TOP_CENTER);
                     }
                     
-                    System.out.println("AddressesView.saveAddressDirect: Closing dialog");
+                    log.debug("AddressesView.saveAddressDirect: Closing dialog");
                     if (addressDialog != null) {
                         addressDialog.close();
                         addressDialog = null;
                     }
                     
                     editingAddress = null;
-                    System.out.println("AddressesView.saveAddressDirect: Reloading addresses");
+                    log.debug("AddressesView.saveAddressDirect: Reloading addresses");
                     
                     List<AddressDto> addresses = addressService.listAddresses(userId);
-                    System.out.println("AddressesView.saveAddressDirect: Reloaded " + addresses.size() + " addresses");
+                    log.debug("AddressesView.saveAddressDirect: Reloaded {} addresses", addresses.size());
                     displayAddresses(addresses);
                     
-                    System.out.println("=== AddressesView.saveAddressDirect COMPLETED ===");
                 } catch (NumberFormatException ex) {
-                    System.err.println("AddressesView: Invalid userId format: " + userIdStr);
-                    ex.printStackTrace();
+                    log.error("AddressesView: Invalid userId format: {}", userIdStr, ex);
                     Notification.show("Błąd: Nieprawidłowy identyfikator użytkownika.", 3000, Notification.Position.TOP_CENTER);
                 } catch (Exception ex) {
-                    System.err.println("AddressesView: Error saving address: " + ex.getMessage());
-                    ex.printStackTrace();
+                    log.error("AddressesView: Error saving address", ex);
                     Notification.show("Błąd podczas zapisywania adresu: " + ex.getMessage(), 3000, Notification.Position.TOP_CENTER);
                 }
             });
@@ -408,8 +404,7 @@ public class AddressesView extends VerticalLayout {
                     Notification.show("Adres usunięty pomyślnie!", 3000, Notification.Position.TOP_CENTER);
                     loadAddresses();
                 } catch (Exception ex) {
-                    System.err.println("AddressesView: Error deleting address: " + ex.getMessage());
-                    ex.printStackTrace();
+                    log.error("AddressesView: Error deleting address", ex);
                     Notification.show("Błąd podczas usuwania adresu: " + ex.getMessage(), 3000, Notification.Position.TOP_CENTER);
                 }
             });
@@ -10,6 +10,7 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouterLink;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.dto.restaurant.RestaurantSummaryDto;
 import pollub.eatgo.service.AuthenticationService;
 import pollub.eatgo.service.OrderNotificationService;
@@ -23,6 +24,7 @@ import java.util.stream.Collectors;
 
 @Route("cart")
 @PageTitle("EatGo - Koszyk")
+@Slf4j
 public class CartView extends VerticalLayout {
     
     private final RestaurantService restaurantService;
@@ -106,14 +108,14 @@ public class CartView extends VerticalLayout {
                             .orElse(null);
                     
                     if (restaurant == null) {
-                        System.err.println("CartView.createCartCard: Restaurant not found for ID: " + restaurantId);
+                        log.warn("CartView.createCartCard: Restaurant not found for ID: {}", restaurantId);
                         return;
                     }
                     
                     Div card = createRestaurantCartCard(restaurant, itemsJson, subtotal);
                     cartsContainer.add(card);
                 } catch (NumberFormatException e) {
-                    System.err.println("CartView.createCartCard: Error parsing restaurantId or subtotal: " + e.getMessage());
+                    log.warn("CartView.createCartCard: Error parsing restaurantId or subtotal: {}", e.getMessage());
                 }
             });
         });
@@ -16,6 +16,7 @@ import com.vaadin.flow.router.BeforeEvent;
 import com.vaadin.flow.router.HasUrlParameter;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.dto.address.AddressCreateDto;
 import pollub.eatgo.dto.address.AddressDto;
 import pollub.eatgo.dto.order.OrderCreateRequestDto;
@@ -34,6 +35,7 @@ import java.util.stream.Collectors;
 
 @Route("checkout")
 @PageTitle("EatGo - Finalizacja zamówienia")
+@Slf4j
 public class CheckoutView extends VerticalLayout implements HasUrlParameter<String> {
     
     private final RestaurantService restaurantService;
@@ -188,7 +190,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
                 try {
                     Long userId = Long.parseLong(userIdStr);
                     List<AddressDto> addresses = addressService.listAddresses(userId);
-                    System.out.println("CheckoutView.loadAddressesForUser: Loaded " + addresses.size() + " addresses for user " + userId);
+                    log.debug("CheckoutView.loadAddressesForUser: Loaded {} addresses for user {}", addresses.size(), userId);
                     currentAddresses = new ArrayList<>(addresses);
                     addressComboBox.setItems(currentAddresses);
                     
@@ -231,8 +233,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
                         getElement(), addresses.size()
                     );
                 } catch (Exception e) {
-                    System.err.println("CheckoutView: Error loading addresses: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("CheckoutView: Error loading addresses", e);
                     Notification.show("Błąd podczas ładowania adresów: " + e.getMessage(), 3000, Notification.Position.TOP_CENTER);
                 }
             });
@@ -255,7 +256,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
                             .findFirst()
                             .ifPresent(addressComboBox::setValue);
                     } catch (NumberFormatException e) {
-                        System.err.println("CheckoutView: Invalid address ID format: " + addressIdStr);
+                        log.warn("CheckoutView: Invalid address ID format: {}", addressIdStr);
                         if (!currentAddresses.isEmpty() && addressComboBox.getValue() == null) {
                             addressComboBox.setValue(currentAddresses.get(0));
                         }
@@ -388,7 +389,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
             ui.access(() -> {
                 itemsContainer.removeAll();
                 
-                System.out.println("CheckoutView: displayCartItems called with itemsJson: " + itemsJson);
+                log.debug("CheckoutView: displayCartItems called with itemsJson: {}", itemsJson);
                 
                 if (itemsJson == null || itemsJson.isEmpty() || "[]".equals(itemsJson)) {
                     Div emptyMsg = new Div();
@@ -415,8 +416,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
                         itemsJson, getElement(), deliveryPrice
                     );
                 } catch (Exception e) {
-                    System.err.println("CheckoutView: Error displaying cart items: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("CheckoutView: Error displaying cart items", e);
                     Notification.show("Błąd podczas wyświetlania produktów", 3000, Notification.Position.TOP_CENTER);
                 }
             });
@@ -437,7 +437,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
                     Div itemCard = createCartItemCard(dishId, name, price, quantity);
                     itemsContainer.add(itemCard);
                 } catch (NumberFormatException e) {
-                    System.err.println("CheckoutView: Error parsing cart item: " + e.getMessage());
+                    log.warn("CheckoutView: Error parsing cart item: {}", e.getMessage());
                 }
             });
         });
@@ -637,7 +637,6 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
             
             String finalApartmentNumber = (apartmentNumber != null && !apartmentNumber.trim().isEmpty()) ? apartmentNumber.trim() : null;
             
-            System.out.println("CheckoutView: Saving address - city=" + city + ", street=" + street + ", postalCode=" + postalCode + ", apartmentNumber=" + finalApartmentNumber);
             
             getElement().executeJs(
                 "const userId = localStorage.getItem('eatgo-userId'); " +
@@ -669,7 +668,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
         getUI().ifPresent(ui -> {
             ui.access(() -> {
                 try {
-                    System.out.println("CheckoutView.saveNewAddress: city=" + city + ", street=" + street + ", postalCode=" + postalCode + ", apartmentNumber=" + apartmentNumber + ", userId=" + userIdStr);
+                    log.debug("CheckoutView.saveNewAddress: userId={}", userIdStr);
                     
                     if (city == null || city.isEmpty() || street == null || street.isEmpty() || postalCode == null || postalCode.isEmpty()) {
                         Notification.show("Wszystkie wymagane pola muszą być wypełnione.", 3000, Notification.Position.TOP_CENTER);
@@ -681,12 +680,12 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
                     AddressCreateDto newAddress = new AddressCreateDto(city.trim(), street.trim(), postalCode.trim(), finalApartmentNumber);
                     AddressDto savedAddress = addressService.addAddress(userId, newAddress);
                     
-                    System.out.println("CheckoutView.saveNewAddress: Address saved successfully, ID: " + savedAddress.id());
+                    log.debug("CheckoutView.saveNewAddress: Address saved successfully, ID: {}", savedAddress.id());
                     
                     Notification.show("Adres dodany pomyślnie!", 3000, Notification.Position.TOP_CENTER);
                     
                     if (addressDialog != null) {
-                        System.out.println("CheckoutView.saveNewAddress: Closing dialog");
+                        log.debug("CheckoutView.saveNewAddress: Closing dialog");
                         addressDialog.close();
                         addressDialog = null;
                     }
@@ -695,11 +694,10 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
                     addressComboBox.setItems(currentAddresses);
                     addressComboBox.setValue(savedAddress);
                 } catch (NumberFormatException ex) {
-                    System.err.println("CheckoutView: Invalid userId format: " + userIdStr);
+                    log.warn("CheckoutView: Invalid userId format: {}", userIdStr);
                     Notification.show("Błąd: Nieprawidłowy identyfikator użytkownika.", 3000, Notification.Position.TOP_CENTER);
                 } catch (Exception ex) {
-                    System.err.println("CheckoutView: Error adding address: " + ex.getMessage());
-                    ex.printStackTrace();
+                    log.error("CheckoutView: Error adding address", ex);
                     Notification.show("Błąd podczas dodawania adresu: " + ex.getMessage(), 3000, Notification.Position.TOP_CENTER);
                 }
             });
@@ -712,7 +710,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
             ui.access(() -> {
                 try {
                     Long addressId = Long.parseLong(addressIdStr);
-                    System.out.println("CheckoutView.selectAddress: Selecting address ID: " + addressId);
+                    log.debug("CheckoutView.selectAddress: Selecting address ID: {}", addressId);
                     
                     AddressDto found = currentAddresses.stream()
                         .filter(a -> a.id().equals(addressId))
@@ -720,14 +718,13 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
                         .orElse(null);
                     if (found != null) {
                         addressComboBox.setValue(found);
-                        System.out.println("CheckoutView.selectAddress: Address selected: " + found.id());
+                        log.debug("CheckoutView.selectAddress: Address selected: {}", found.id());
                     } else {
-                        System.out.println("CheckoutView.selectAddress: Address not found in list: " + addressId);
+                        log.debug("CheckoutView.selectAddress: Address not found in list: {}", addressId);
                         loadUserAddresses();
                     }
                 } catch (Exception e) {
-                    System.err.println("CheckoutView.selectAddress: Error selecting address: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("CheckoutView.selectAddress: Error selecting address", e);
                 }
             });
         });
@@ -764,9 +761,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
             .map(item -> String.format("{\"dishId\":%d,\"quantity\":%d}", item.dishId(), item.quantity()))
             .collect(Collectors.joining(",", "[", "]"));
         
-        System.out.println("CheckoutView: Placing order - restaurantId: " + restaurantId + 
-                          ", addressId: " + selectedAddress.id() + 
-                          ", items: " + itemsJson);
+        log.debug("CheckoutView: Placing order - restaurantId: {}, addressId: {}, items: {}", restaurantId, selectedAddress.id(), itemsJson);
         
         getElement().executeJs(
             "const token = localStorage.getItem('eatgo-token'); " +
@@ -822,7 +817,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
         getUI().ifPresent(ui -> {
             ui.access(() -> {
                 try {
-                    System.out.println("CheckoutView.onOrderSuccess: Order JSON: " + orderJson);
+                    log.debug("CheckoutView.onOrderSuccess: Order JSON: {}", orderJson);
                     
                     getElement().executeJs(
                         "const carts = JSON.parse(localStorage.getItem('eatgo-carts') || '{}'); " +
@@ -849,8 +844,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
                         orderJson, getElement()
                     );
                 } catch (Exception e) {
-                    System.err.println("CheckoutView: Error processing order success: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("CheckoutView: Error processing order success", e);
                     Notification.show("Zamówienie złożone, ale wystąpił błąd przy wyświetlaniu szczegółów", 3000, Notification.Position.TOP_CENTER);
                     getUI().ifPresent(u -> u.navigate("orders"));
                 }
@@ -874,8 +868,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
                     
                     showOrderConfirmationDialog(orderDetails);
                 } catch (Exception e) {
-                    System.err.println("CheckoutView: Error parsing order details: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("CheckoutView: Error parsing order details", e);
                     Notification.show("Zamówienie złożone pomyślnie!", 3000, Notification.Position.TOP_CENTER);
                     getUI().ifPresent(u -> u.navigate("orders"));
                 }
@@ -985,7 +978,7 @@ public class CheckoutView extends VerticalLayout implements HasUrlParameter<Stri
     public void onOrderError(String errorMessage) {
         getUI().ifPresent(ui -> {
             ui.access(() -> {
-                System.err.println("CheckoutView: Order error: " + errorMessage);
+                log.warn("CheckoutView: Order error: {}", errorMessage);
                 Notification.show("Błąd: " + errorMessage, 5000, Notification.Position.TOP_CENTER);
             });
         });
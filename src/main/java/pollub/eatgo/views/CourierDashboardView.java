@@ -14,35 +14,52 @@ import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.dto.order.OrderDetailsDto;
 import pollub.eatgo.dto.address.AddressDto;
 import pollub.eatgo.dto.restaurant.RestaurantSummaryDto;
+import pollub.eatgo.model.User;
 import pollub.eatgo.service.AuthenticationService;
+import pollub.eatgo.service.OrderEventBroadcaster;
 import pollub.eatgo.service.OrderNotificationService;
+import pollub.eatgo.service.TenantResolver;
 import pollub.eatgo.service.TokenValidationService;
 import pollub.eatgo.views.components.HeaderComponent;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Route("courier")
 @PageTitle("EatGo - Panel Kuriera")
+@Slf4j
 public class CourierDashboardView extends VerticalLayout implements BeforeEnterObserver {
     
     private final AuthenticationService authService;
     private final TokenValidationService tokenValidationService;
     private final ObjectMapper objectMapper;
+    private final OrderEventBroadcaster orderEventBroadcaster;
+    private final TenantResolver tenantResolver;
+    private final Map<Long, Div> orderCards = new HashMap<>();
+    private Runnable orderEventsSubscription;
     
     private Div ordersContent;
     private HorizontalLayout activeOrdersContainer;
     private HorizontalLayout deliveredOrdersContainer;
     private Button refreshButton;
+    private Button loadMoreButton;
+    private final LoadedOrderPages<OrderDetailsDto> loadedOrders = new LoadedOrderPages<>(OrderDetailsDto::id);
     
     public CourierDashboardView(AuthenticationService authService,
                                 TokenValidationService tokenValidationService,
-                                OrderNotificationService orderNotificationService) {
+                                OrderNotificationService orderNotificationService,
+                                OrderEventBroadcaster orderEventBroadcaster,
+                                TenantResolver tenantResolver) {
         this.authService = authService;
         this.tokenValidationService = tokenValidationService;
+        this.orderEventBroadcaster = orderEventBroadcaster;
+        this.tenantResolver = tenantResolver;
         
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
@@ -123,10 +140,17 @@ public class CourierDashboardView extends VerticalLayout implements BeforeEnterO
         deliveredOrdersScrollContainer.add(deliveredOrdersContainer);
         deliveredSection.add(deliveredTitle, deliveredOrdersScrollContainer);
         
-        ordersContent.add(activeSection, deliveredSection);
+        loadMoreButton = new Button("Pokaż starsze zamówienia", VaadinIcon.ANGLE_DOWN.create(), e -> loadMoreOrders());
+        loadMoreButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        loadMoreButton.getStyle().set("margin-top", "1rem");
+        loadMoreButton.setVisible(false);
+
+        ordersContent.add(activeSection, deliveredSection, loadMoreButton);
         
         content.add(ordersContent);
         add(content);
+
+        addDetachListener(e -> unsubscribeFromOrderEvents());
     }
     
     @Override
@@ -146,6 +170,105 @@ public class CourierDashboardView extends VerticalLayout implements BeforeEnterO
                 ui.getPage().executeJs("setTimeout(function() { $0.$server.loadOrdersDelayed(); }, 200);", getElement());
             });
         });
+
+        getElement().executeJs(
+            "const token = localStorage.getItem('eatgo-token'); " +
+            "if (token && token !== 'null') { $0.$server.subscribeToOrderEvents(token); }",
+            getElement()
+        );
+    }
+
+    /**
+     * Zamówienia kuriera odświeżane przez server push: po zdarzeniu dociągana jest tylko zmieniona
+     * karta, bez ponownego pobierania całej listy.
+     * <p>
+     * Klient przekazuje tylko token; kurier jest ustalany po stronie serwera z podpisanego JWT
+     * i {@link TenantResolver}, więc nie da się podsłuchać zamówień innego kuriera.
+     */
+    @com.vaadin.flow.component.ClientCallable
+    public void subscribeToOrderEvents(String token) {
+        unsubscribeFromOrderEvents();
+        TokenValidationService.TokenInfo tokenInfo = tokenValidationService.getTokenInfo(token);
+        if (tokenInfo == null) {
+            return;
+        }
+        Long courierId = tenantResolver.resolve(tokenInfo.getEmail())
+                .filter(tenant -> tenant.role() == User.Role.COURIER)
+                .map(TenantResolver.Tenant::userId)
+                .orElse(null);
+        if (courierId == null) {
+            log.warn("Rejected order event subscription for non-courier {}", tokenInfo.getEmail());
+            return;
+        }
+        getUI().ifPresent(ui -> {
+            orderEventsSubscription = orderEventBroadcaster.subscribeCourier(courierId, event ->
+                ui.access(() -> refreshOrder(String.valueOf(event.orderId()))));
+        });
+    }
+
+    private void unsubscribeFromOrderEvents() {
+        if (orderEventsSubscription != null) {
+            orderEventsSubscription.run();
+            orderEventsSubscription = null;
+        }
+    }
+
+    @com.vaadin.flow.component.ClientCallable
+    public void refreshOrder(String orderId) {
+        getElement().executeJs(
+            "const token = localStorage.getItem('eatgo-token'); " +
+            "if (!token) { return; } " +
+            "fetch('/api/courier/orders/' + $1, { " +
+            "  headers: { 'Authorization': 'Bearer ' + token } " +
+            "}) " +
+            ".then(r => r.ok ? r.json() : null) " +
+            ".then(order => { if (order) { $0.$server.upsertOrder(JSON.stringify(order)); } }) " +
+            ".catch(e => console.error('Error refreshing order:', e));",
+            getElement(), orderId
+        );
+    }
+
+    /**
+     * Podmienia kartę pojedynczego zamówienia, przenosząc ją między sekcjami przy zmianie statusu.
+     */
+    @com.vaadin.flow.component.ClientCallable
+    public void upsertOrder(String orderJson) {
+        try {
+            OrderDetailsDto order = objectMapper.readValue(orderJson, OrderDetailsDto.class);
+            Div previous = orderCards.remove(order.id());
+            if (previous != null) {
+                previous.removeFromParent();
+            }
+            boolean active = !isDelivered(order.status());
+            HorizontalLayout target = active ? activeOrdersContainer : deliveredOrdersContainer;
+            removeEmptyMessages(target);
+            Div card = createOrderCard(order, active);
+            orderCards.put(order.id(), card);
+            target.addComponentAsFirst(card);
+            if (activeOrdersContainer.getComponentCount() == 0) {
+                activeOrdersContainer.add(emptyMessage("Brak aktywnych dostaw"));
+            }
+            if (deliveredOrdersContainer.getComponentCount() == 0) {
+                deliveredOrdersContainer.add(emptyMessage("Brak zakończonych dostaw"));
+            }
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            loadOrders();
+        }
+    }
+
+    private void removeEmptyMessages(HorizontalLayout container) {
+        container.getChildren()
+            .filter(c -> c.getElement().getClassList().contains("empty-state-message"))
+            .toList()
+            .forEach(container::remove);
+    }
+
+    private Div emptyMessage(String text) {
+        Div emptyMsg = new Div();
+        emptyMsg.setText(text);
+        emptyMsg.addClassName("empty-state-message");
+        emptyMsg.getStyle().set("width", "100%");
+        return emptyMsg;
     }
     
     @Override
@@ -158,37 +281,20 @@ public class CourierDashboardView extends VerticalLayout implements BeforeEnterO
     }
     
     private void loadOrders() {
+        fetchOrdersPage("");
+    }
+
+    private void loadMoreOrders() {
+        if (loadedOrders.hasMore()) {
+            fetchOrdersPage(loadedOrders.nextCursor());
+        }
+    }
+
+    private void fetchOrdersPage(String cursor) {
         try {
-            getElement().executeJs(
-                "const token = localStorage.getItem('eatgo-token'); " +
-                "if (!token) { " +
-                "  $0.$server.onError('Musisz być zalogowany, aby zobaczyć zamówienia'); " +
-                "  return; " +
-                "} " +
-                "fetch('/api/courier/orders', { " +
-                "  headers: { 'Authorization': 'Bearer ' + token } " +
-                "}) " +
-                ".then(r => { " +
-                "  if (!r.ok) { " +
-                "    return r.text().then(text => { " +
-                "      throw new Error('HTTP ' + r.status + ': ' + (text || r.statusText)); " +
-                "    }); " +
-                "  } " +
-                "  return r.json(); " +
-                "}) " +
-                ".then(orders => { " +
-                "  console.log('CourierDashboard: Loaded ' + orders.length + ' orders'); " +
-                "  $0.$server.displayOrders(JSON.stringify(orders)); " +
-                "}) " +
-                ".catch(e => { " +
-                "  console.error('Error loading orders:', e); " +
-                "  $0.$server.onError('Błąd podczas ładowania zamówień: ' + e.message); " +
-                "});",
-                getElement()
-            );
+            getElement().executeJs(LoadedOrderPages.fetchPageJs("/api/courier/orders"), getElement(), cursor);
         } catch (Exception e) {
-            System.err.println("CourierDashboard: Error in loadOrders: " + e.getMessage());
-            e.printStackTrace();
+            log.error("CourierDashboard: Error in loadOrders", e);
             getUI().ifPresent(ui -> {
                 ui.access(() -> {
                     Notification.show("Błąd podczas ładowania zamówień: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
@@ -198,7 +304,7 @@ public class CourierDashboardView extends VerticalLayout implements BeforeEnterO
     }
     
     @com.vaadin.flow.component.ClientCallable
-    public void displayOrders(String ordersJson) {
+    public void displayOrders(String ordersJson, String nextCursor, boolean append) {
         getUI().ifPresent(ui -> {
             ui.access(() -> {
                 try {
@@ -213,11 +319,19 @@ public class CourierDashboardView extends VerticalLayout implements BeforeEnterO
                         return;
                     }
                     
-                    List<OrderDetailsDto> orders = objectMapper.readValue(ordersJson, 
+                    List<OrderDetailsDto> page = objectMapper.readValue(ordersJson, 
                         objectMapper.getTypeFactory().constructCollectionType(List.class, OrderDetailsDto.class));
+                    List<OrderDetailsDto> orders = loadedOrders.accept(page, nextCursor, append);
+                    loadMoreButton.setVisible(loadedOrders.hasMore());
+
+                    if (append) {
+                        appendOrders(orders);
+                        return;
+                    }
                     
                     activeOrdersContainer.removeAll();
                     deliveredOrdersContainer.removeAll();
+                    orderCards.clear();
                     
                     List<OrderDetailsDto> activeOrders = new ArrayList<>();
                     List<OrderDetailsDto> deliveredOrders = new ArrayList<>();
@@ -240,7 +354,9 @@ public class CourierDashboardView extends VerticalLayout implements BeforeEnterO
                     } else {
                         activeOrdersContainer.removeAll();
                         for (OrderDetailsDto order : activeOrders) {
-                            activeOrdersContainer.add(createOrderCard(order, true));
+                            Div card = createOrderCard(order, true);
+                            orderCards.put(order.id(), card);
+                            activeOrdersContainer.add(card);
                         }
                     }
                     
@@ -254,17 +370,17 @@ public class CourierDashboardView extends VerticalLayout implements BeforeEnterO
                     } else {
                         deliveredOrdersContainer.removeAll();
                         for (OrderDetailsDto order : deliveredOrders) {
-                            deliveredOrdersContainer.add(createOrderCard(order, false));
+                            Div card = createOrderCard(order, false);
+                            orderCards.put(order.id(), card);
+                            deliveredOrdersContainer.add(card);
                         }
                     }
                 } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
-                    System.err.println("CourierDashboard: JSON parsing error: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("CourierDashboard: JSON parsing error", e);
                     Notification.show("Błąd podczas parsowania danych zamówień: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
                     showEmptyOrdersState();
                 } catch (Exception e) {
-                    System.err.println("CourierDashboard: Error displaying orders: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("CourierDashboard: Error displaying orders", e);
                     Notification.show("Błąd podczas wyświetlania zamówień: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
                     showEmptyOrdersState();
                 }
@@ -272,9 +388,29 @@ public class CourierDashboardView extends VerticalLayout implements BeforeEnterO
         });
     }
     
+    /**
+     * Dopisuje na końcu sekcji zamówienia z kolejnej strony, pomijając te, które mają już kartę
+     * (np. dodaną zdarzeniem po wczytaniu pierwszej strony).
+     */
+    private void appendOrders(List<OrderDetailsDto> orders) {
+        for (OrderDetailsDto order : orders) {
+            if (orderCards.containsKey(order.id())) {
+                continue;
+            }
+            boolean active = !isDelivered(order.status());
+            HorizontalLayout target = active ? activeOrdersContainer : deliveredOrdersContainer;
+            removeEmptyMessages(target);
+            Div card = createOrderCard(order, active);
+            orderCards.put(order.id(), card);
+            target.add(card);
+        }
+    }
+    
     private void showEmptyOrdersState() {
+        loadMoreButton.setVisible(false);
         activeOrdersContainer.removeAll();
         deliveredOrdersContainer.removeAll();
+        orderCards.clear();
         
         Div emptyMsg = new Div();
         emptyMsg.setText("Brak zamówień");
@@ -482,7 +618,7 @@ public class CourierDashboardView extends VerticalLayout implements BeforeEnterO
                 "}) " +
                 ".then(updatedOrder => { " +
                 "  $0.$server.onStatusUpdated('Status zamówienia został zaktualizowany'); " +
-                "  setTimeout(function() { $0.$server.loadOrdersDelayed(); }, 500); " +
+                "  $0.$server.refreshOrder($1); " +
                 "}) " +
                 ".catch(e => { " +
                 "  console.error('Error updating status:', e); " +
@@ -491,8 +627,7 @@ public class CourierDashboardView extends VerticalLayout implements BeforeEnterO
                 getElement(), String.valueOf(orderId), status
             );
         } catch (Exception e) {
-            System.err.println("CourierDashboard: Error in updateOrderStatus: " + e.getMessage());
-            e.printStackTrace();
+            log.error("CourierDashboard: Error in updateOrderStatus", e);
             getUI().ifPresent(ui -> {
                 ui.access(() -> {
                     Notification.show("Błąd podczas aktualizacji statusu: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
@@ -13,9 +13,11 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.dto.dish.DishDto;
 import pollub.eatgo.dto.restaurant.RestaurantSummaryDto;
 import pollub.eatgo.service.AuthenticationService;
+import pollub.eatgo.service.RestaurantSearchIndex;
 import pollub.eatgo.service.RestaurantService;
 import pollub.eatgo.service.TokenValidationService;
 import pollub.eatgo.views.components.HeaderComponent;
@@ -26,9 +28,11 @@ import java.util.stream.Collectors;
 
 @Route("")
 @PageTitle("EatGo - Zamów jedzenie online")
+@Slf4j
 public class HomeView extends VerticalLayout {
 
     private final RestaurantService restaurantService;
+    private final RestaurantSearchIndex restaurantSearchIndex;
     private final AuthenticationService authService;
     private final TokenValidationService tokenValidationService;
     private HeaderComponent headerComponent;
@@ -52,10 +56,12 @@ public class HomeView extends VerticalLayout {
     );
 
     public HomeView(RestaurantService restaurantService,
+                    RestaurantSearchIndex restaurantSearchIndex,
                     AuthenticationService authService,
                     TokenValidationService tokenValidationService,
                     pollub.eatgo.service.OrderNotificationService orderNotificationService) {
         this.restaurantService = restaurantService;
+        this.restaurantSearchIndex = restaurantSearchIndex;
         this.authService = authService;
         this.tokenValidationService = tokenValidationService;
         
@@ -427,6 +433,11 @@ public class HomeView extends VerticalLayout {
         Span deliveryInfo = new Span("💰 " + String.format("%.2f zł", restaurant.deliveryPrice()) + " dostawa");
         deliveryInfo.addClassName("delivery-price");
         
+        Span rating = new Span(restaurant.averageRating() != null
+                ? String.format("⭐ %.1f (%d)", restaurant.averageRating(), restaurant.reviewCount())
+                : "⭐ Brak ocen");
+        rating.addClassName("restaurant-rating");
+        
         Div buttonWrapper = new Div();
         buttonWrapper.addClassName("menu-button-wrapper");
         
@@ -453,7 +464,7 @@ public class HomeView extends VerticalLayout {
         buttonsLayout.add(viewMenuBtn, detailsBtn);
         buttonWrapper.add(buttonsLayout);
         
-        content.add(name, address, deliveryInfo, buttonWrapper);
+        content.add(name, address, rating, deliveryInfo, buttonWrapper);
         card.add(imageDiv, content);
         
         return card;
@@ -486,7 +497,7 @@ public class HomeView extends VerticalLayout {
         
         try {
             List<DishDto> menu = restaurantService.getMenu(restaurant.id());
-            System.out.println("HomeView.showMenuDialog: Loaded " + menu.size() + " dishes for restaurant " + restaurant.id());
+            log.debug("HomeView.showMenuDialog: Loaded {} dishes for restaurant {}", menu.size(), restaurant.id());
             
             if (menu.isEmpty()) {
                 Paragraph emptyMsg = new Paragraph("Brak dostępnych dań w menu.");
@@ -499,27 +510,26 @@ public class HomeView extends VerticalLayout {
                                 dish -> dish.category() != null ? dish.category() : "Inne"
                         ));
                 
-                System.out.println("HomeView.showMenuDialog: Grouped into " + dishesByCategory.size() + " categories");
+                log.debug("HomeView.showMenuDialog: Grouped into {} categories", dishesByCategory.size());
                 
                 for (Map.Entry<String, List<DishDto>> entry : dishesByCategory.entrySet()) {
                     String category = entry.getKey();
                     List<DishDto> dishes = entry.getValue();
                     
-                    System.out.println("HomeView.showMenuDialog: Category '" + category + "' has " + dishes.size() + " dishes");
+                    log.debug("HomeView.showMenuDialog: Category '{}' has {} dishes", category, dishes.size());
                     
                     H3 categoryTitle = new H3(category);
                     categoryTitle.addClassName("menu-category-title");
                     content.add(categoryTitle);
                     
                     for (DishDto dish : dishes) {
-                        System.out.println("HomeView.showMenuDialog: Adding dish " + dish.name() + " (imageUrl: " + dish.imageUrl() + ")");
+                        log.debug("HomeView.showMenuDialog: Adding dish {} (imageUrl: {})", dish.name(), dish.imageUrl());
                         content.add(createDishCard(dish));
                     }
                 }
             }
         } catch (Exception e) {
-            System.err.println("HomeView.showMenuDialog: Error loading menu: " + e.getMessage());
-            e.printStackTrace();
+            log.error("HomeView.showMenuDialog: Error loading menu", e);
             Notification.show("Błąd podczas ładowania menu: " + e.getMessage(), 5000, Notification.Position.MIDDLE);
         }
         
@@ -611,37 +621,18 @@ public class HomeView extends VerticalLayout {
 
     private void filterRestaurants() {
         String searchTerm = searchField.getValue();
-        
+        boolean noCriteria = (selectedCity == null || selectedCity.isEmpty())
+                && (selectedCategory == null || selectedCategory.isEmpty())
+                && (searchTerm == null || searchTerm.isBlank());
+        if (noCriteria) {
+            updateRestaurantsDisplay(allRestaurants);
+            return;
+        }
+
+        Set<Long> matchingIds = restaurantSearchIndex.search(selectedCity, selectedCategory, searchTerm);
+
         List<RestaurantSummaryDto> filtered = allRestaurants.stream()
-                .filter(r -> {
-                    if (selectedCity != null && !selectedCity.isEmpty()) {
-                        String address = r.address().toLowerCase();
-                        if (!address.contains(selectedCity.toLowerCase())) {
-                            return false;
-                        }
-                    }
-                    
-                    if (selectedCategory != null && !selectedCategory.isEmpty()) {
-                        try {
-                            List<DishDto> menu = restaurantService.getMenu(r.id());
-                            boolean hasCategory = menu.stream()
-                                    .anyMatch(d -> selectedCategory.equals(d.category()) && d.available());
-                            if (!hasCategory) {
-                                return false;
-                            }
-                        } catch (Exception e) {
-                            return false;
-                        }
-                    }
-                    
-                    if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-                        String lowerTerm = searchTerm.toLowerCase();
-                        return r.name().toLowerCase().contains(lowerTerm) ||
-                               r.address().toLowerCase().contains(lowerTerm);
-                    }
-                    
-                    return true;
-                })
+                .filter(r -> matchingIds.contains(r.id()))
                 .collect(Collectors.toList());
         
         updateRestaurantsDisplay(filtered);
@@ -675,7 +666,7 @@ public class HomeView extends VerticalLayout {
             return;
         }
         
-        System.out.println("HomeView.addDishToCart: Adding dish " + dish.name() + " (ID: " + dish.id() + ") to restaurant " + restaurant.id());
+        log.debug("HomeView.addDishToCart: Adding dish {} (ID: {}) to restaurant {}", dish.name(), dish.id(), restaurant.id());
         
         String restaurantIdStr = String.valueOf(restaurant.id());
         String dishIdStr = String.valueOf(dish.id());
@@ -0,0 +1,85 @@
+package pollub.eatgo.views;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Zamówienia wczytane w widoku stronami z API ({@code /api/orders}, {@code /api/courier/orders}).
+ * Kolejna strona jest pobierana z kursorem z nagłówka {@code X-Next-Cursor} poprzedniej i dopisywana
+ * na końcu; zamówienie, które już jest na liście (np. dodane po zdarzeniu), nie jest powielane.
+ */
+final class LoadedOrderPages<T> {
+
+    private final Function<T, Long> idOf;
+    private final Map<Long, T> orders = new LinkedHashMap<>();
+    private String nextCursor;
+
+    LoadedOrderPages(Function<T, Long> idOf) {
+        this.idOf = idOf;
+    }
+
+    /**
+     * Przyjmuje stronę: pierwszą ({@code append == false}) w miejsce dotychczasowych zamówień albo
+     * kolejną, dopisaną na końcu. Zwraca zamówienia, których wcześniej nie było na liście.
+     */
+    List<T> accept(List<T> page, String nextCursor, boolean append) {
+        if (!append) {
+            orders.clear();
+        }
+        List<T> added = new ArrayList<>();
+        for (T order : page) {
+            if (orders.putIfAbsent(idOf.apply(order), order) == null) {
+                added.add(order);
+            }
+        }
+        this.nextCursor = nextCursor == null || nextCursor.isBlank() ? null : nextCursor;
+        return added;
+    }
+
+    List<T> all() {
+        return List.copyOf(orders.values());
+    }
+
+    String nextCursor() {
+        return nextCursor;
+    }
+
+    boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Skrypt pobierający stronę zamówień z {@code endpoint} z tokenem z {@code localStorage};
+     * {@code $1} to kursor (pusty dla pierwszej strony). Wynik trafia do
+     * {@code $server.displayOrders(json, nextCursor, append)}, błąd do {@code $server.onError}.
+     */
+    static String fetchPageJs(String endpoint) {
+        return "const token = localStorage.getItem('eatgo-token'); " +
+                "if (!token) { " +
+                "  $0.$server.onError('Musisz być zalogowany, aby zobaczyć zamówienia'); " +
+                "  return; " +
+                "} " +
+                "const cursor = $1; " +
+                "fetch('" + endpoint + "' + (cursor ? '?cursor=' + encodeURIComponent(cursor) : ''), { " +
+                "  headers: { 'Authorization': 'Bearer ' + token } " +
+                "}) " +
+                ".then(r => { " +
+                "  if (!r.ok) { " +
+                "    return r.text().then(text => { " +
+                "      throw new Error('HTTP ' + r.status + ': ' + (text || r.statusText)); " +
+                "    }); " +
+                "  } " +
+                "  return r.json().then(orders => ({ orders: orders, next: r.headers.get('X-Next-Cursor') || '' })); " +
+                "}) " +
+                ".then(page => { " +
+                "  $0.$server.displayOrders(JSON.stringify(page.orders), page.next, !!cursor); " +
+                "}) " +
+                ".catch(e => { " +
+                "  console.error('Error loading orders:', e); " +
+                "  $0.$server.onError('Błąd podczas ładowania zamówień: ' + e.message); " +
+                "});";
+    }
+}
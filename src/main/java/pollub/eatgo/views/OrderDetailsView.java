@@ -12,6 +12,7 @@ import com.vaadin.flow.router.HasUrlParameter;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.dto.order.OrderDetailsDto;
 import pollub.eatgo.dto.order.OrderItemDto;
 import pollub.eatgo.service.AuthenticationService;
@@ -23,6 +24,7 @@ import java.util.List;
 
 @Route("order")
 @PageTitle("EatGo - Szczegóły zamówienia")
+@Slf4j
 public class OrderDetailsView extends VerticalLayout implements HasUrlParameter<String> {
     
     private final AuthenticationService authService;
@@ -70,12 +72,12 @@ public class OrderDetailsView extends VerticalLayout implements HasUrlParameter<
     
     @Override
     public void setParameter(BeforeEvent event, String parameter) {
-        System.out.println("OrderDetailsView.setParameter called with: " + parameter);
+        log.debug("OrderDetailsView.setParameter called with: {}", parameter);
         try {
             orderId = Long.parseLong(parameter);
-            System.out.println("OrderDetailsView: Parsed orderId: " + orderId);
+            log.debug("OrderDetailsView: Parsed orderId: {}", orderId);
         } catch (NumberFormatException e) {
-            System.err.println("OrderDetailsView: Invalid order ID format: " + parameter);
+            log.warn("OrderDetailsView: Invalid order ID format: {}", parameter);
             Notification.show("Nieprawidłowy identyfikator zamówienia", 3000, Notification.Position.TOP_CENTER);
             event.forwardTo(OrdersView.class);
         }
@@ -84,11 +86,11 @@ public class OrderDetailsView extends VerticalLayout implements HasUrlParameter<
     @Override
     protected void onAttach(com.vaadin.flow.component.AttachEvent attachEvent) {
         super.onAttach(attachEvent);
-        System.out.println("OrderDetailsView.onAttach called, orderId: " + orderId);
+        log.debug("OrderDetailsView.onAttach called, orderId: {}", orderId);
         if (orderId != null) {
             getUI().ifPresent(ui -> {
                 ui.access(() -> {
-                    System.out.println("OrderDetailsView: Scheduling loadOrderDetails");
+                    log.debug("OrderDetailsView: Scheduling loadOrderDetails");
                     ui.getPage().executeJs(
                         "console.log('OrderDetailsView: setTimeout callback executing'); " +
                         "setTimeout(function() { " +
@@ -104,12 +106,12 @@ public class OrderDetailsView extends VerticalLayout implements HasUrlParameter<
     
     @com.vaadin.flow.component.ClientCallable
     public void loadOrderDetailsDelayed() {
-        System.out.println("OrderDetailsView.loadOrderDetailsDelayed called");
+        log.debug("OrderDetailsView.loadOrderDetailsDelayed called");
         loadOrderDetails();
     }
     
     private void loadOrderDetails() {
-        System.out.println("OrderDetailsView.loadOrderDetails called for orderId: " + orderId);
+        log.debug("OrderDetailsView.loadOrderDetails called for orderId: {}", orderId);
         try {
             getUI().ifPresent(ui -> {
                 ui.access(() -> {
@@ -158,8 +160,7 @@ public class OrderDetailsView extends VerticalLayout implements HasUrlParameter<
                 });
             });
         } catch (Exception e) {
-            System.err.println("OrderDetailsView: Error in loadOrderDetails: " + e.getMessage());
-            e.printStackTrace();
+            log.error("OrderDetailsView: Error in loadOrderDetails", e);
             getUI().ifPresent(ui -> {
                 ui.access(() -> {
                     Notification.show("Błąd podczas ładowania szczegółów zamówienia: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
@@ -171,12 +172,12 @@ public class OrderDetailsView extends VerticalLayout implements HasUrlParameter<
     
     @com.vaadin.flow.component.ClientCallable
     public void displayOrderDetails(String orderDetailsJson) {
-        System.out.println("OrderDetailsView.displayOrderDetails called with JSON length: " + (orderDetailsJson != null ? orderDetailsJson.length() : 0));
+        log.debug("OrderDetailsView.displayOrderDetails called with JSON length: {}", (orderDetailsJson != null ? orderDetailsJson.length() : 0));
         getUI().ifPresent(ui -> {
             ui.access(() -> {
                 try {
                     if (orderDetailsJson == null || orderDetailsJson.trim().isEmpty() || orderDetailsJson.equals("null")) {
-                        System.err.println("OrderDetailsView: Empty or null JSON");
+                        log.warn("OrderDetailsView: Empty or null JSON");
                         Notification.show("Brak danych zamówienia", 3000, Notification.Position.TOP_CENTER);
                         getUI().ifPresent(u -> u.navigate(OrdersView.class));
                         return;
@@ -184,39 +185,37 @@ public class OrderDetailsView extends VerticalLayout implements HasUrlParameter<
                     
                     // Sprawdź czy to jest poprawny JSON
                     if (!orderDetailsJson.trim().startsWith("{")) {
-                        System.err.println("OrderDetailsView: Invalid JSON format - doesn't start with '{': " + orderDetailsJson.substring(0, Math.min(100, orderDetailsJson.length())));
+                        log.warn("OrderDetailsView: Invalid JSON format - doesn't start with '{': {}", orderDetailsJson.substring(0, Math.min(100, orderDetailsJson.length())));
                         Notification.show("Błąd: Nieprawidłowy format danych", 3000, Notification.Position.TOP_CENTER);
                         getUI().ifPresent(u -> u.navigate(OrdersView.class));
                         return;
                     }
                     
                     if (contentContainer == null) {
-                        System.err.println("OrderDetailsView: contentContainer is null!");
+                        log.warn("OrderDetailsView: contentContainer is null!");
                         Notification.show("Błąd: Kontener nie został zainicjalizowany", 3000, Notification.Position.TOP_CENTER);
                         getUI().ifPresent(u -> u.navigate(OrdersView.class));
                         return;
                     }
                     
-                    System.out.println("OrderDetailsView: Attempting to parse JSON...");
+                    log.debug("OrderDetailsView: Attempting to parse JSON...");
                     OrderDetailsDto orderDetails = objectMapper.readValue(orderDetailsJson, OrderDetailsDto.class);
-                    System.out.println("OrderDetailsView: Parsed order details for order ID: " + orderDetails.id());
-                    System.out.println("OrderDetailsView: Restaurant: " + (orderDetails.restaurant() != null ? orderDetails.restaurant().name() : "null"));
-                    System.out.println("OrderDetailsView: Items count: " + (orderDetails.items() != null ? orderDetails.items().size() : 0));
+                    log.debug("OrderDetailsView: Parsed order details for order ID: {}", orderDetails.id());
+                    log.debug("OrderDetailsView: Restaurant: {}", (orderDetails.restaurant() != null ? orderDetails.restaurant().name() : "null"));
+                    log.debug("OrderDetailsView: Items count: {}", (orderDetails.items() != null ? orderDetails.items().size() : 0));
                     
-                    System.out.println("OrderDetailsView: Clearing contentContainer and adding new content...");
+                    log.debug("OrderDetailsView: Clearing contentContainer and adding new content...");
                     contentContainer.removeAll();
                     Div orderContent = createOrderDetailsContent(orderDetails);
-                    System.out.println("OrderDetailsView: Created order content, adding to container...");
+                    log.debug("OrderDetailsView: Created order content, adding to container...");
                     contentContainer.add(orderContent);
-                    System.out.println("OrderDetailsView: Content added successfully");
+                    log.debug("OrderDetailsView: Content added successfully");
                 } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
-                    System.err.println("OrderDetailsView: JSON parsing error: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("OrderDetailsView: JSON parsing error", e);
                     Notification.show("Błąd podczas parsowania danych zamówienia: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
                     getUI().ifPresent(u -> u.navigate(OrdersView.class));
                 } catch (Exception e) {
-                    System.err.println("OrderDetailsView: Error displaying order details: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("OrderDetailsView: Error displaying order details", e);
                     Notification.show("Błąd podczas wyświetlania szczegółów zamówienia: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
                     getUI().ifPresent(u -> u.navigate(OrdersView.class));
                 }
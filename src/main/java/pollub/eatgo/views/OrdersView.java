@@ -13,6 +13,7 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.dto.order.OrderDto;
 import pollub.eatgo.service.AuthenticationService;
 import pollub.eatgo.service.OrderNotificationService;
@@ -24,6 +25,7 @@ import java.util.List;
 
 @Route("orders")
 @PageTitle("EatGo - Moje zamówienia")
+@Slf4j
 public class OrdersView extends VerticalLayout {
     
     private final AuthenticationService authService;
@@ -36,6 +38,8 @@ public class OrdersView extends VerticalLayout {
     private java.util.Set<Long> shownDeliveredDialogs = new java.util.HashSet<>();
     private Long currentUserId;
     private com.vaadin.flow.component.dialog.Dialog deliveredDialog;
+    private final LoadedOrderPages<OrderDto> loadedOrders = new LoadedOrderPages<>(OrderDto::id);
+    private Button loadMoreButton;
     
     public OrdersView(AuthenticationService authService,
                       TokenValidationService tokenValidationService,
@@ -85,7 +89,12 @@ public class OrdersView extends VerticalLayout {
         completedOrdersContainer.setWidthFull();
         completedSection.add(completedTitle, completedOrdersContainer);
         
-        content.add(title, activeSection, completedSection);
+        loadMoreButton = new Button("Pokaż starsze zamówienia", VaadinIcon.ANGLE_DOWN.create(), e -> loadMoreOrders());
+        loadMoreButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        loadMoreButton.getStyle().set("margin-top", "1rem");
+        loadMoreButton.setVisible(false);
+
+        content.add(title, activeSection, completedSection, loadMoreButton);
         add(content);
     }
     
@@ -125,37 +134,20 @@ public class OrdersView extends VerticalLayout {
     }
     
     private void loadOrders() {
+        fetchOrdersPage("");
+    }
+
+    private void loadMoreOrders() {
+        if (loadedOrders.hasMore()) {
+            fetchOrdersPage(loadedOrders.nextCursor());
+        }
+    }
+
+    private void fetchOrdersPage(String cursor) {
         try {
-            getElement().executeJs(
-                "const token = localStorage.getItem('eatgo-token'); " +
-                "if (!token) { " +
-                "  $0.$server.onError('Musisz być zalogowany, aby zobaczyć zamówienia'); " +
-                "  return; " +
-                "} " +
-                "fetch('/api/orders', { " +
-                "  headers: { 'Authorization': 'Bearer ' + token } " +
-                "}) " +
-                ".then(r => { " +
-                "  if (!r.ok) { " +
-                "    return r.text().then(text => { " +
-                "      throw new Error('HTTP ' + r.status + ': ' + (text || r.statusText)); " +
-                "    }); " +
-                "  } " +
-                "  return r.json(); " +
-                "}) " +
-                ".then(orders => { " +
-                "  console.log('OrdersView: Loaded ' + orders.length + ' orders'); " +
-                "  $0.$server.displayOrders(JSON.stringify(orders)); " +
-                "}) " +
-                ".catch(e => { " +
-                "  console.error('Error loading orders:', e); " +
-                "  $0.$server.onError('Błąd podczas ładowania zamówień: ' + e.message); " +
-                "});",
-                getElement()
-            );
+            getElement().executeJs(LoadedOrderPages.fetchPageJs("/api/orders"), getElement(), cursor);
         } catch (Exception e) {
-            System.err.println("OrdersView: Error in loadOrders: " + e.getMessage());
-            e.printStackTrace();
+            log.error("OrdersView: Error in loadOrders", e);
             getUI().ifPresent(ui -> {
                 ui.access(() -> {
                     Notification.show("Błąd podczas ładowania zamówień: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
@@ -165,32 +157,36 @@ public class OrdersView extends VerticalLayout {
     }
     
     @com.vaadin.flow.component.ClientCallable
-    public void displayOrders(String ordersJson) {
-        System.out.println("OrdersView.displayOrders called with JSON length: " + (ordersJson != null ? ordersJson.length() : 0));
+    public void displayOrders(String ordersJson, String nextCursor, boolean append) {
+        log.debug("OrdersView.displayOrders called with JSON length: {}", (ordersJson != null ? ordersJson.length() : 0));
         getUI().ifPresent(ui -> {
             ui.access(() -> {
                 try {
                     if (ordersJson == null || ordersJson.trim().isEmpty() || ordersJson.equals("null")) {
-                        System.out.println("OrdersView: Empty or null JSON, showing empty state");
+                        log.debug("OrdersView: Empty or null JSON, showing empty state");
                         showEmptyState();
                         return;
                     }
 
                     if (!ordersJson.trim().startsWith("[")) {
-                        System.err.println("OrdersView: Invalid JSON format - doesn't start with '[': " + ordersJson.substring(0, Math.min(100, ordersJson.length())));
+                        log.warn("OrdersView: Invalid JSON format - doesn't start with '[': {}", ordersJson.substring(0, Math.min(100, ordersJson.length())));
                         Notification.show("Błąd: Nieprawidłowy format danych", 3000, Notification.Position.TOP_CENTER);
                         showEmptyState();
                         return;
                     }
                     
-                    List<OrderDto> orders = objectMapper.readValue(ordersJson, 
+                    List<OrderDto> page = objectMapper.readValue(ordersJson, 
                         objectMapper.getTypeFactory().constructCollectionType(List.class, OrderDto.class));
                     
-                    System.out.println("OrdersView: Parsed " + orders.size() + " orders");
+                    log.debug("OrdersView: Parsed {} orders", page.size());
+
+                    loadedOrders.accept(page, nextCursor, append);
+                    loadMoreButton.setVisible(loadedOrders.hasMore());
+                    List<OrderDto> orders = loadedOrders.all();
 
                     boolean isFirstLoad = lastStatuses.isEmpty();
                     
-                    for (OrderDto order : orders) {
+                    for (OrderDto order : page) {
                         String previous = lastStatuses.get(order.id());
                         String current = order.status();
 
@@ -199,7 +195,7 @@ public class OrdersView extends VerticalLayout {
                                 && !"DELIVERED".equalsIgnoreCase(previous)
                                 && "DELIVERED".equalsIgnoreCase(current)
                                 && !shownDeliveredDialogs.contains(order.id())) {
-                            System.out.println("OrdersView: Detected status change to DELIVERED for order #" + order.id());
+                            log.debug("OrdersView: Detected status change to DELIVERED for order #{}", order.id());
                             shownDeliveredDialogs.add(order.id());
                             showDeliveredDialog(order.id());
                         }
@@ -208,7 +204,7 @@ public class OrdersView extends VerticalLayout {
                     }
                     
                     if (activeOrdersContainer == null || completedOrdersContainer == null) {
-                        System.err.println("OrdersView: Containers are null!");
+                        log.warn("OrdersView: Containers are null!");
                         return;
                     }
                     
@@ -252,13 +248,11 @@ public class OrdersView extends VerticalLayout {
                         }
                     }
                 } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
-                    System.err.println("OrdersView: JSON parsing error: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("OrdersView: JSON parsing error", e);
                     Notification.show("Błąd podczas parsowania danych zamówień: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
                     showEmptyState();
                 } catch (Exception e) {
-                    System.err.println("OrdersView: Error displaying orders: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("OrdersView: Error displaying orders", e);
                     Notification.show("Błąd podczas wyświetlania zamówień: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
                     showEmptyState();
                 }
@@ -267,6 +261,7 @@ public class OrdersView extends VerticalLayout {
     }
     
     private void showEmptyState() {
+        loadMoreButton.setVisible(false);
         activeOrdersContainer.removeAll();
         completedOrdersContainer.removeAll();
         
@@ -1,8 +1,10 @@
 package pollub.eatgo.views;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Div;
@@ -19,6 +21,8 @@ import com.vaadin.flow.component.tabs.Tabs;
 import com.vaadin.flow.component.textfield.NumberField;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
@@ -32,28 +36,41 @@ import pollub.eatgo.dto.courier.CourierUpdateDto;
 import pollub.eatgo.dto.dish.DishCreateDto;
 import pollub.eatgo.dto.dish.DishDto;
 import pollub.eatgo.dto.dish.DishUpdateDto;
+import pollub.eatgo.dto.order.OrderCursor;
 import pollub.eatgo.dto.order.OrderDto;
+import pollub.eatgo.dto.order.OrderPage;
+import pollub.eatgo.dto.order.OrderPageRequest;
 import pollub.eatgo.dto.restaurant.RestaurantDto;
+import pollub.eatgo.dto.restaurant.RestaurantStatisticsDto;
+import pollub.eatgo.model.OrderStatus;
 import pollub.eatgo.service.AuthenticationService;
+import pollub.eatgo.service.OrderEventBroadcaster;
+import pollub.eatgo.service.OrderExportService;
 import pollub.eatgo.service.OrderNotificationService;
+import pollub.eatgo.service.OrderStatusChangedEvent;
+import pollub.eatgo.service.OrderTransitionConflictException;
 import pollub.eatgo.service.PdfService;
 import pollub.eatgo.service.RestaurantService;
+import pollub.eatgo.service.RestaurantStatisticsService;
 import pollub.eatgo.service.ReviewService;
 import pollub.eatgo.service.TokenValidationService;
 import pollub.eatgo.views.components.HeaderComponent;
 
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Route("restaurant")
 @PageTitle("EatGo - Panel Restauracji")
@@ -63,6 +80,9 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
     private final RestaurantService restaurantService;
     private final TokenValidationService tokenValidationService;
     private final PdfService pdfService;
+    private final RestaurantStatisticsService restaurantStatisticsService;
+    private final OrderExportService orderExportService;
+    private final OrderEventBroadcaster orderEventBroadcaster;
     
     private Tabs tabs;
     private Div contentContainer;
@@ -72,11 +92,19 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
     private Tab couriersTab;
     private Tab statisticsTab;
 
-    private List<OrderDto> orders = new ArrayList<>();
+    private static final int ORDERS_PAGE_SIZE = 50;
+    private static final String ORDERS_SORT_KEY = "createdAt";
+
+    private final List<OrderDto> loadedOrders = new ArrayList<>();
+    private OrderCursor ordersNextCursor;
+    private boolean ordersExhausted;
+    private boolean ordersOldestFirst;
+    private Set<OrderStatus> ordersStatusFilter = Set.of();
     private List<DishDto> dishes = new ArrayList<>();
     private List<CourierDto> couriers = new ArrayList<>();
     private RestaurantDto restaurant;
     private String adminEmail;
+    private Runnable orderEventsSubscription;
 
     private Grid<OrderDto> ordersGrid;
     private Grid<DishDto> dishesGrid;
@@ -86,12 +114,18 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
                                RestaurantService restaurantService,
                                TokenValidationService tokenValidationService,
                                PdfService pdfService,
+                               RestaurantStatisticsService restaurantStatisticsService,
                                ReviewService reviewService,
-                               OrderNotificationService orderNotificationService) {
+                               OrderNotificationService orderNotificationService,
+                               OrderExportService orderExportService,
+                               OrderEventBroadcaster orderEventBroadcaster) {
         this.authService = authService;
         this.restaurantService = restaurantService;
         this.tokenValidationService = tokenValidationService;
         this.pdfService = pdfService;
+        this.restaurantStatisticsService = restaurantStatisticsService;
+        this.orderExportService = orderExportService;
+        this.orderEventBroadcaster = orderEventBroadcaster;
         
         setSizeFull();
         setSpacing(false);
@@ -107,6 +141,7 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
         add(tabs, contentContainer);
 
         loadAdminEmail();
+        addDetachListener(e -> unsubscribeFromOrderEvents());
     }
     
     private void loadAdminEmail() {
@@ -133,7 +168,90 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
         if (email != null) {
             loadRestaurantData();
             showOrdersTab();
+            subscribeToOrderEvents();
+        }
+    }
+
+    /**
+     * Zamówienia restauracji odświeżane przez server push: po zdarzeniu pobierane jest tylko
+     * zmienione zamówienie, a grid aktualizuje pojedynczy wiersz zamiast przeładowania listy.
+     */
+    private void subscribeToOrderEvents() {
+        unsubscribeFromOrderEvents();
+        if (restaurant == null) {
+            return;
+        }
+        getUI().ifPresent(ui -> {
+            orderEventsSubscription = orderEventBroadcaster.subscribeRestaurant(restaurant.getId(), event ->
+                ui.access(() -> onOrderEvent(event)));
+        });
+    }
+
+    private void unsubscribeFromOrderEvents() {
+        if (orderEventsSubscription != null) {
+            orderEventsSubscription.run();
+            orderEventsSubscription = null;
+        }
+    }
+
+    private void onOrderEvent(OrderStatusChangedEvent event) {
+        if (ordersGrid == null || !ordersGrid.isAttached() || adminEmail == null) {
+            return;
+        }
+        applyOrderUpdate(restaurantService.getOrderAfterChange(adminEmail, event.orderId()));
+        if (event.type() == OrderStatusChangedEvent.Type.CREATED) {
+            Notification.show("Nowe zamówienie #" + event.orderId(), 3000, Notification.Position.TOP_END);
+        }
+    }
+
+    /**
+     * Podmienia, wstawia (w kolejności od najnowszych) lub usuwa wiersz zgodnie z filtrem statusu.
+     * Zamówienie spoza wczytanego okna pojawi się przy doczytaniu kolejnej strony.
+     */
+    private void applyOrderUpdate(OrderDto order) {
+        if (ordersGrid == null) {
+            return;
+        }
+        boolean visible = ordersStatusFilter.isEmpty() || ordersStatusFilter.contains(OrderStatus.valueOf(order.status()));
+        int index = indexOfLoadedOrder(order.id());
+        if (index >= 0 && visible) {
+            loadedOrders.set(index, order);
+            ordersGrid.getDataProvider().refreshItem(order);
+            return;
+        }
+        if (index >= 0) {
+            loadedOrders.remove(index);
+        } else if (visible) {
+            int position = 0;
+            while (position < loadedOrders.size() && comesBefore(loadedOrders.get(position), order)) {
+                position++;
+            }
+            if (position == loadedOrders.size() && !ordersExhausted) {
+                return;
+            }
+            loadedOrders.add(position, order);
+        } else {
+            return;
+        }
+        ordersGrid.getDataProvider().refreshAll();
+    }
+
+    private int indexOfLoadedOrder(Long orderId) {
+        for (int i = 0; i < loadedOrders.size(); i++) {
+            if (loadedOrders.get(i).id().equals(orderId)) {
+                return i;
+            }
         }
+        return -1;
+    }
+
+    private boolean comesBefore(OrderDto a, OrderDto b) {
+        return ordersOldestFirst ? isNewer(b, a) : isNewer(a, b);
+    }
+
+    private static boolean isNewer(OrderDto a, OrderDto b) {
+        int byDate = a.createdAt() != null && b.createdAt() != null ? a.createdAt().compareTo(b.createdAt()) : 0;
+        return byDate != 0 ? byDate > 0 : a.id() > b.id();
     }
     
     @Override
@@ -208,7 +326,6 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
                 Notification.show("Błąd autoryzacji", 5000, Notification.Position.TOP_CENTER);
                 return;
             }
-            orders = restaurantService.listOrders(email);
             dishes = restaurantService.getAllDishesForAdmin(email);
             couriers = restaurantService.listCouriers(email);
             restaurant = restaurantService.getRestaurantForAdmin(email);
@@ -217,6 +334,52 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
         }
     }
     
+    private Set<OrderStatus> toStatusFilter(String filter) {
+        if (filter == null) {
+            return Set.of();
+        }
+        return switch (filter) {
+            case "W toku" -> EnumSet.complementOf(EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED));
+            case "Zakończone" -> EnumSet.of(OrderStatus.DELIVERED);
+            case "Anulowane" -> EnumSet.of(OrderStatus.CANCELLED);
+            default -> Set.of();
+        };
+    }
+
+    private void resetLoadedOrders() {
+        loadedOrders.clear();
+        ordersNextCursor = null;
+        ordersExhausted = false;
+    }
+
+    /**
+     * Grid pyta o zakres offset/limit; kolejne strony dociągane są kursorem i buforowane,
+     * więc przewijanie w dół nie powtarza zapytań o już wczytane wiersze. Zmiana kierunku
+     * sortowania (jedyny klucz to data i id) zaczyna wczytywanie od nowa.
+     */
+    private Stream<OrderDto> fetchOrders(int offset, int limit, List<QuerySortOrder> sortOrders) {
+        String email = getAdminEmail();
+        if (email == null) {
+            return Stream.empty();
+        }
+        boolean oldestFirst = !sortOrders.isEmpty() && sortOrders.get(0).getDirection() == SortDirection.ASCENDING;
+        if (oldestFirst != ordersOldestFirst) {
+            ordersOldestFirst = oldestFirst;
+            resetLoadedOrders();
+        }
+        while (loadedOrders.size() < offset + limit && !ordersExhausted) {
+            OrderPageRequest request = OrderPageRequest.first(ORDERS_PAGE_SIZE)
+                .withStatuses(ordersStatusFilter)
+                .withOldestFirst(ordersOldestFirst)
+                .after(ordersNextCursor);
+            OrderPage<OrderDto> page = restaurantService.listOrders(email, request);
+            loadedOrders.addAll(page.items());
+            ordersNextCursor = page.nextCursor();
+            ordersExhausted = ordersNextCursor == null;
+        }
+        return loadedOrders.stream().skip(offset).limit(limit);
+    }
+
     private void showOrdersTab() {
         contentContainer.removeAll();
         
@@ -235,7 +398,15 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
         filterCombo.setValue("Wszystkie");
         filterCombo.setWidth("200px");
         
-        Button exportBtn = new Button("Eksportuj Excel", VaadinIcon.DOWNLOAD.create(), e -> exportOrdersToExcel());
+        DatePicker exportFrom = new DatePicker("Eksport od");
+        exportFrom.setValue(LocalDate.now().minusDays(30));
+        exportFrom.setWidth("150px");
+        DatePicker exportTo = new DatePicker("Eksport do");
+        exportTo.setValue(LocalDate.now());
+        exportTo.setWidth("150px");
+        
+        Button exportBtn = new Button("Eksportuj Excel", VaadinIcon.DOWNLOAD.create(),
+            e -> exportOrdersToExcel(exportFrom.getValue(), exportTo.getValue()));
         exportBtn.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
         
         Button refreshBtn = new Button("Odśwież", VaadinIcon.REFRESH.create(), e -> {
@@ -243,8 +414,12 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
             showOrdersTab();
         });
         
-        HorizontalLayout buttonsLayout = new HorizontalLayout(exportBtn, refreshBtn);
+        Button todayReceiptsBtn = new Button("Bony z dziś (ZIP)", VaadinIcon.PRINT.create(), e -> printTodayReceipts());
+        todayReceiptsBtn.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        
+        HorizontalLayout buttonsLayout = new HorizontalLayout(exportFrom, exportTo, exportBtn, todayReceiptsBtn, refreshBtn);
         buttonsLayout.setSpacing(true);
+        buttonsLayout.setAlignItems(com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment.BASELINE);
         
         HorizontalLayout header = new HorizontalLayout(title, filterCombo, buttonsLayout);
         header.setWidthFull();
@@ -252,7 +427,9 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
         header.setAlignItems(com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment.CENTER);
         
         ordersGrid = new Grid<>(OrderDto.class, false);
-        ordersGrid.addColumn(OrderDto::id).setHeader("ID").setAutoWidth(true).setSortable(true);
+        // Lista jest stronicowana kursorem po (created_at, id), więc sortować można tylko po tym kluczu:
+        // kolumny ID i Data; wartość, klient i kurier nie są sortowalne
+        ordersGrid.addColumn(OrderDto::id).setHeader("ID").setAutoWidth(true).setSortProperty(ORDERS_SORT_KEY);
         ordersGrid.addColumn(new ComponentRenderer<>(order -> {
             Span statusBadge = new Span(getStatusLabel(order.status()));
             statusBadge.addClassName("order-status-badge");
@@ -264,14 +441,14 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
             statusBadge.getStyle().set("background-color", getStatusBackgroundColor(order.status()));
             return statusBadge;
         })).setHeader("Status").setAutoWidth(true);
-        ordersGrid.addColumn(o -> String.format("%.2f zł", o.totalPrice())).setHeader("Wartość").setAutoWidth(true).setSortable(true);
-        ordersGrid.addColumn(OrderDto::userEmail).setHeader("Klient").setAutoWidth(true).setSortable(true);
+        ordersGrid.addColumn(o -> String.format("%.2f zł", o.totalPrice())).setHeader("Wartość").setAutoWidth(true);
+        ordersGrid.addColumn(OrderDto::userEmail).setHeader("Klient").setAutoWidth(true);
         ordersGrid.addColumn(o -> o.courierFullName() != null ? o.courierFullName() : (o.courierEmail() != null ? o.courierEmail() : "-"))
-                  .setHeader("Kurier").setAutoWidth(true).setSortable(true);
+                  .setHeader("Kurier").setAutoWidth(true);
         
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
         ordersGrid.addColumn(o -> o.createdAt() != null ? o.createdAt().format(formatter) : "")
-                  .setHeader("Data").setAutoWidth(true).setSortable(true);
+                  .setHeader("Data").setAutoWidth(true).setSortProperty(ORDERS_SORT_KEY);
         
         ordersGrid.addColumn(new ComponentRenderer<>(order -> {
             HorizontalLayout actions = new HorizontalLayout();
@@ -308,31 +485,16 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
         })).setHeader("Akcje").setAutoWidth(true);
 
         filterCombo.addValueChangeListener(e -> {
-            String filter = e.getValue();
-            List<OrderDto> filtered = orders;
-            if (filter != null) {
-                switch (filter) {
-                    case "W toku":
-                        filtered = orders.stream()
-                            .filter(o -> !"DELIVERED".equals(o.status()) && !"CANCELLED".equals(o.status()))
-                            .collect(Collectors.toList());
-                        break;
-                    case "Zakończone":
-                        filtered = orders.stream()
-                            .filter(o -> "DELIVERED".equals(o.status()))
-                            .collect(Collectors.toList());
-                        break;
-                    case "Anulowane":
-                        filtered = orders.stream()
-                            .filter(o -> "CANCELLED".equals(o.status()))
-                            .collect(Collectors.toList());
-                        break;
-                }
-            }
-            ordersGrid.setItems(filtered);
+            ordersStatusFilter = toStatusFilter(e.getValue());
+            resetLoadedOrders();
+            ordersGrid.getDataProvider().refreshAll();
         });
-        
-        ordersGrid.setItems(orders);
+
+        ordersStatusFilter = toStatusFilter(filterCombo.getValue());
+        resetLoadedOrders();
+        ordersGrid.setItems(query -> fetchOrders(query.getOffset(), query.getLimit(), query.getSortOrders()))
+            .setIdentifierProvider(OrderDto::id);
+        ordersGrid.setPageSize(ORDERS_PAGE_SIZE);
         ordersGrid.setSizeFull();
         
         layout.add(header, ordersGrid);
@@ -353,10 +515,11 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
         try {
             String email = getAdminEmail();
             if (email != null) {
-                double todayRevenue = restaurantService.getTodayRevenue(email);
-                long todayOrders = restaurantService.getTodayOrdersCount(email);
-                long activeOrders = restaurantService.getActiveOrdersCount(email);
-                Map<String, Integer> topDishes = restaurantService.getTopDishes(email, 3);
+                RestaurantStatisticsDto stats = restaurantStatisticsService.getStatistics(email, 3);
+                double todayRevenue = stats.todayRevenue();
+                long todayOrders = stats.todayOrders();
+                long activeOrders = stats.activeOrders();
+                Map<String, Integer> topDishes = stats.topDishes();
                 
                 statsContainer.add(createStatCard("Dzisiejszy przychód", String.format("%.2f zł", todayRevenue), VaadinIcon.MONEY));
                 statsContainer.add(createStatCard("Zamówienia dziś", String.valueOf(todayOrders), VaadinIcon.CLIPBOARD_TEXT));
@@ -569,9 +732,7 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
         couriersGrid.addColumn(CourierDto::email).setHeader("Email").setAutoWidth(true);
         couriersGrid.addColumn(CourierDto::fullName).setHeader("Imię i nazwisko").setAutoWidth(true);
         couriersGrid.addColumn(new ComponentRenderer<>(courier -> {
-            long activeDeliveries = orders.stream()
-                .filter(o -> o.courierId() != null && o.courierId().equals(courier.id()) && "IN_DELIVERY".equals(o.status()))
-                .count();
+            long activeDeliveries = courier.activeDeliveries();
             
             String statusText = activeDeliveries == 0 ? "Dostępny" : activeDeliveries + " aktywnych dostaw";
             Span statusBadge = new Span(statusText);
@@ -589,6 +750,9 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
             }
             return statusBadge;
         })).setHeader("Status").setAutoWidth(true);
+        couriersGrid.addColumn(courier -> courier.lastDeliveredAt() != null
+                ? courier.lastDeliveredAt().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"))
+                : "—").setHeader("Ostatnia dostawa").setAutoWidth(true);
         
         couriersGrid.addColumn(new ComponentRenderer<>(courier -> {
             HorizontalLayout actions = new HorizontalLayout();
@@ -610,9 +774,7 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
                     case "Dostępni":
                         filtered = couriers.stream()
                             .filter(c -> {
-                                long activeDeliveries = orders.stream()
-                                    .filter(o -> o.courierId() != null && o.courierId().equals(c.id()) && "IN_DELIVERY".equals(o.status()))
-                                    .count();
+                                long activeDeliveries = c.activeDeliveries();
                                 return activeDeliveries == 0;
                             })
                             .collect(Collectors.toList());
@@ -620,9 +782,7 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
                     case "W trakcie dostawy":
                         filtered = couriers.stream()
                             .filter(c -> {
-                                long activeDeliveries = orders.stream()
-                                    .filter(o -> o.courierId() != null && o.courierId().equals(c.id()) && "IN_DELIVERY".equals(o.status()))
-                                    .count();
+                                long activeDeliveries = c.activeDeliveries();
                                 return activeDeliveries > 0;
                             })
                             .collect(Collectors.toList());
@@ -695,9 +855,7 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
         ComboBox<CourierDto> courierCombo = new ComboBox<>("Wybierz kuriera");
         courierCombo.setItems(couriers);
         courierCombo.setItemLabelGenerator(c -> {
-            long activeDeliveries = orders.stream()
-                .filter(o -> o.courierId() != null && o.courierId().equals(c.id()) && "IN_DELIVERY".equals(o.status()))
-                .count();
+            long activeDeliveries = c.activeDeliveries();
             if (activeDeliveries > 0) {
                 return c.fullName() + " (" + c.email() + ") - " + activeDeliveries + " aktywnych dostaw";
             } else {
@@ -855,30 +1013,70 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
     }
     
     private void printReceipt(OrderDto order) {
-        try {
-            if (restaurant == null) {
-                Notification.show("Błąd: Brak danych restauracji", 3000, Notification.Position.TOP_CENTER);
+        if (restaurant == null) {
+            Notification.show("Błąd: Brak danych restauracji", 3000, Notification.Position.TOP_CENTER);
+            return;
+        }
+        UI ui = UI.getCurrent();
+        pdfService.renderReceipt(order, restaurant).whenComplete((pdfBytes, error) -> ui.access(() -> {
+            if (error != null) {
+                Notification.show(receiptErrorMessage("Błąd podczas generowania bonu", error), 5000, Notification.Position.TOP_CENTER);
                 return;
             }
-            
-            byte[] pdfBytes = pdfService.generateReceipt(order, restaurant);
-            StreamResource resource = new StreamResource(
-                "bon_zamowienia_" + order.id() + ".pdf",
-                () -> new ByteArrayInputStream(pdfBytes)
-            );
-            resource.setContentType("application/pdf");
-            
-            getUI().ifPresent(ui -> {
-                com.vaadin.flow.server.StreamRegistration registration = 
-                    ui.getSession().getResourceRegistry().registerResource(resource);
-                String url = registration.getResourceUri().toString();
-                ui.getPage().open(url, "_blank");
-            });
-            
+            openDownload(ui, "bon_zamowienia_" + order.id() + ".pdf", "application/pdf", pdfBytes);
             Notification.show("Bon został wygenerowany", 2000, Notification.Position.TOP_CENTER);
-        } catch (Exception e) {
-            Notification.show("Błąd podczas generowania bonu: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
+        }));
+    }
+
+    /**
+     * Bony wszystkich dzisiejszych zamówień w jednym archiwum ZIP, renderowane w tle.
+     */
+    private void printTodayReceipts() {
+        String email = getAdminEmail();
+        if (email == null || restaurant == null) {
+            Notification.show("Błąd: Brak danych restauracji", 3000, Notification.Position.TOP_CENTER);
+            return;
+        }
+        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
+        List<OrderDto> todayOrders = new ArrayList<>();
+        OrderPageRequest request = new OrderPageRequest(null, OrderPageRequest.MAX_SIZE, Set.of(), todayStart, null);
+        OrderPage<OrderDto> page;
+        do {
+            page = restaurantService.listOrders(email, request);
+            todayOrders.addAll(page.items());
+            request = request.after(page.nextCursor());
+        } while (page.nextCursor() != null);
+
+        if (todayOrders.isEmpty()) {
+            Notification.show("Brak dzisiejszych zamówień", 3000, Notification.Position.TOP_CENTER);
+            return;
         }
+        Notification.show("Generowanie " + todayOrders.size() + " bonów...", 2000, Notification.Position.TOP_CENTER);
+        UI ui = UI.getCurrent();
+        pdfService.renderReceiptsZip(todayOrders, restaurant).whenComplete((zipBytes, error) -> ui.access(() -> {
+            if (error != null) {
+                Notification.show(receiptErrorMessage("Błąd podczas generowania bonów", error), 5000, Notification.Position.TOP_CENTER);
+                return;
+            }
+            openDownload(ui, "bony_" + LocalDate.now() + ".zip", "application/zip", zipBytes);
+        }));
+    }
+
+    private static String receiptErrorMessage(String prefix, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            return "Serwer generuje teraz zbyt wiele bonów, spróbuj ponownie za chwilę";
+        }
+        return prefix + ": " + cause.getMessage();
+    }
+
+    private void openDownload(UI ui, String fileName, String contentType, byte[] bytes) {
+        StreamResource resource = new StreamResource(fileName, () -> new ByteArrayInputStream(bytes));
+        resource.setContentType(contentType);
+        com.vaadin.flow.server.StreamRegistration registration =
+            ui.getSession().getResourceRegistry().registerResource(resource);
+        ui.getPage().open(registration.getResourceUri().toString(), "_blank");
     }
 
     private void updateOrderStatus(Long orderId, String status) {
@@ -888,15 +1086,22 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
                 Notification.show("Błąd autoryzacji", 3000, Notification.Position.TOP_CENTER);
                 return;
             }
-            restaurantService.updateOrderStatus(email, orderId, status);
+            applyOrderUpdate(restaurantService.updateOrderStatus(email, orderId, status));
             Notification.show("Status zamówienia zaktualizowany", 3000, Notification.Position.TOP_CENTER);
-            loadRestaurantData();
-            showOrdersTab();
+        } catch (OrderTransitionConflictException e) {
+            showTransitionConflict(e);
         } catch (Exception e) {
             Notification.show("Błąd: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
         }
     }
     
+    private void showTransitionConflict(OrderTransitionConflictException e) {
+        Notification.show("Zamówienie zostało w międzyczasie zmienione (status: "
+            + getStatusLabel(e.getCurrentStatus().name()) + "). Odświeżono listę.", 5000, Notification.Position.TOP_CENTER);
+        loadRestaurantData();
+        showOrdersTab();
+    }
+    
     private void assignCourier(Long orderId, Long courierId) {
         try {
             String email = getAdminEmail();
@@ -904,10 +1109,11 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
                 Notification.show("Błąd autoryzacji", 3000, Notification.Position.TOP_CENTER);
                 return;
             }
-            restaurantService.assignCourier(email, orderId, courierId);
+            applyOrderUpdate(restaurantService.assignCourier(email, orderId, courierId));
+            couriers = restaurantService.listCouriers(email);
             Notification.show("Kurier przypisany", 3000, Notification.Position.TOP_CENTER);
-            loadRestaurantData();
-            showOrdersTab();
+        } catch (OrderTransitionConflictException e) {
+            showTransitionConflict(e);
         } catch (Exception e) {
             Notification.show("Błąd: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
         }
@@ -1074,103 +1280,31 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
     }
 
     
-    private void exportOrdersToExcel() {
-        try {
-            Workbook workbook = new XSSFWorkbook();
-            Sheet sheet = workbook.createSheet("Zamówienia");
-
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerFont.setFontHeightInPoints((short) 12);
-            headerStyle.setFont(headerFont);
-            headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-            headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            headerStyle.setBorderBottom(BorderStyle.THIN);
-            headerStyle.setBorderTop(BorderStyle.THIN);
-            headerStyle.setBorderLeft(BorderStyle.THIN);
-            headerStyle.setBorderRight(BorderStyle.THIN);
-
-            CellStyle dataStyle = workbook.createCellStyle();
-            dataStyle.setBorderBottom(BorderStyle.THIN);
-            dataStyle.setBorderTop(BorderStyle.THIN);
-            dataStyle.setBorderLeft(BorderStyle.THIN);
-            dataStyle.setBorderRight(BorderStyle.THIN);
-
-            CellStyle dateStyle = workbook.createCellStyle();
-            dateStyle.cloneStyleFrom(dataStyle);
-            CreationHelper createHelper = workbook.getCreationHelper();
-            dateStyle.setDataFormat(createHelper.createDataFormat().getFormat("dd.mm.yyyy hh:mm"));
-
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID", "Status", "Wartość", "Klient", "Kurier", "Data"};
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-            int rowNum = 1;
-            for (OrderDto order : orders) {
-                Row row = sheet.createRow(rowNum++);
-
-                Cell idCell = row.createCell(0);
-                idCell.setCellValue(order.id());
-                idCell.setCellStyle(dataStyle);
-
-                Cell statusCell = row.createCell(1);
-                statusCell.setCellValue(order.status() != null ? getStatusLabel(order.status()) : "");
-                statusCell.setCellStyle(dataStyle);
-
-                Cell priceCell = row.createCell(2);
-                priceCell.setCellValue(order.totalPrice());
-                priceCell.setCellStyle(dataStyle);
-
-                Cell clientCell = row.createCell(3);
-                clientCell.setCellValue(order.userEmail() != null ? order.userEmail() : "");
-                clientCell.setCellStyle(dataStyle);
-
-                Cell courierCell = row.createCell(4);
-                String courierName = order.courierFullName() != null ? order.courierFullName() : 
-                    (order.courierEmail() != null ? order.courierEmail() : "");
-                courierCell.setCellValue(courierName);
-                courierCell.setCellStyle(dataStyle);
-
-                Cell dateCell = row.createCell(5);
-                if (order.createdAt() != null) {
-                    dateCell.setCellValue(order.createdAt().format(formatter));
-                } else {
-                    dateCell.setCellValue("");
-                }
-                dateCell.setCellStyle(dataStyle);
-            }
-
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            workbook.write(baos);
-            workbook.close();
-            
-            StreamResource resource = new StreamResource(
-                "zamowienia_" + java.time.LocalDate.now() + ".xlsx",
-                () -> new ByteArrayInputStream(baos.toByteArray())
-            );
-            resource.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-            
-            getUI().ifPresent(ui -> {
-                com.vaadin.flow.server.StreamRegistration registration = 
-                    ui.getSession().getResourceRegistry().registerResource(resource);
-                String url = registration.getResourceUri().toString();
-                ui.getPage().open(url, "_blank");
-            });
-            
-            Notification.show("Eksport zakończony pomyślnie", 2000, Notification.Position.TOP_CENTER);
-        } catch (Exception e) {
-            Notification.show("Błąd podczas eksportu: " + e.getMessage(), 5000, Notification.Position.TOP_CENTER);
+    /**
+     * Eksport strumieniowy: plik powstaje dopiero przy pobraniu i jest pisany wprost do odpowiedzi.
+     */
+    private void exportOrdersToExcel(LocalDate from, LocalDate to) {
+        String email = getAdminEmail();
+        if (email == null) {
+            Notification.show("Błąd autoryzacji", 3000, Notification.Position.TOP_CENTER);
+            return;
         }
+        if (from != null && to != null && from.isAfter(to)) {
+            Notification.show("Data początkowa jest późniejsza niż końcowa", 3000, Notification.Position.TOP_CENTER);
+            return;
+        }
+        LocalDateTime fromTime = from != null ? from.atStartOfDay() : null;
+        LocalDateTime toTime = to != null ? to.plusDays(1).atStartOfDay() : null;
+        StreamResource resource = new StreamResource(
+            "zamowienia_" + LocalDate.now() + ".xlsx",
+            (out, session) -> orderExportService.exportOrders(email, fromTime, toTime, out)
+        );
+        resource.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        getUI().ifPresent(ui -> {
+            com.vaadin.flow.server.StreamRegistration registration =
+                ui.getSession().getResourceRegistry().registerResource(resource);
+            ui.getPage().open(registration.getResourceUri().toString(), "_blank");
+        });
     }
     
     private void showStatisticsTab() {
@@ -1202,44 +1336,16 @@ public class RestaurantAdminView extends VerticalLayout implements BeforeEnterOb
                 return;
             }
 
-            double todayRevenue = restaurantService.getTodayRevenue(email);
-            long todayOrders = restaurantService.getTodayOrdersCount(email);
-            Map<String, Integer> topDishes = restaurantService.getTopDishes(email, 10);
-
-            LocalDateTime weekStart = LocalDateTime.now().minusDays(7).withHour(0).withMinute(0).withSecond(0).withNano(0);
-            LocalDateTime monthStart = LocalDateTime.now().minusDays(30).withHour(0).withMinute(0).withSecond(0).withNano(0);
-            
-            List<OrderDto> allOrders = restaurantService.listOrders(email);
-            double weekRevenue = allOrders.stream()
-                .filter(o -> o.createdAt() != null && o.createdAt().isAfter(weekStart) && "DELIVERED".equals(o.status()))
-                .mapToDouble(OrderDto::totalPrice)
-                .sum();
-            
-            double monthRevenue = allOrders.stream()
-                .filter(o -> o.createdAt() != null && o.createdAt().isAfter(monthStart) && "DELIVERED".equals(o.status()))
-                .mapToDouble(OrderDto::totalPrice)
-                .sum();
-            
-            long weekOrders = allOrders.stream()
-                .filter(o -> o.createdAt() != null && o.createdAt().isAfter(weekStart))
-                .count();
-            
-            long monthOrders = allOrders.stream()
-                .filter(o -> o.createdAt() != null && o.createdAt().isAfter(monthStart))
-                .count();
-
-            double avgOrderValue = allOrders.stream()
-                .filter(o -> "DELIVERED".equals(o.status()))
-                .mapToDouble(OrderDto::totalPrice)
-                .average()
-                .orElse(0.0);
-
-            Map<String, Long> courierStats = allOrders.stream()
-                .filter(o -> o.courierFullName() != null)
-                .collect(Collectors.groupingBy(
-                    o -> o.courierFullName(),
-                    Collectors.counting()
-                ));
+            RestaurantStatisticsDto stats = restaurantStatisticsService.getStatistics(email, 10);
+            double todayRevenue = stats.todayRevenue();
+            long todayOrders = stats.todayOrders();
+            double weekRevenue = stats.weekRevenue();
+            long weekOrders = stats.weekOrders();
+            double monthRevenue = stats.monthRevenue();
+            long monthOrders = stats.monthOrders();
+            double avgOrderValue = stats.averageOrderValue();
+            Map<String, Integer> topDishes = stats.topDishes();
+            Map<String, Long> courierStats = stats.courierDeliveries();
 
             HorizontalLayout mainStatsLayout = new HorizontalLayout();
             mainStatsLayout.setWidthFull();
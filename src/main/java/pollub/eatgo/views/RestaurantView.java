@@ -11,6 +11,7 @@ import com.vaadin.flow.router.BeforeEvent;
 import com.vaadin.flow.router.HasUrlParameter;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.dto.dish.DishDto;
 import pollub.eatgo.dto.restaurant.RestaurantSummaryDto;
 import pollub.eatgo.service.AuthenticationService;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 
 @Route("restaurant-view")
 @PageTitle("EatGo - Restauracja")
+@Slf4j
 public class RestaurantView extends VerticalLayout implements HasUrlParameter<String> {
     
     private final RestaurantService restaurantService;
@@ -76,39 +78,35 @@ public class RestaurantView extends VerticalLayout implements HasUrlParameter<St
         }
         
         menu = restaurantService.getMenu(restaurantId);
-        System.out.println("RestaurantView: Loaded menu for restaurant " + restaurantId + ", items count: " + (menu != null ? menu.size() : 0));
-        if (menu != null && !menu.isEmpty()) {
-            menu.forEach(dish -> System.out.println("  - " + dish.name() + " (category: " + dish.category() + ", available: " + dish.available() + ")"));
-        }
+        log.debug("RestaurantView: Loaded menu for restaurant {}, items count: {}", restaurantId, (menu != null ? menu.size() : 0));
         buildView();
     }
     
     private void buildView() {
         removeAll();
         
-        System.out.println("RestaurantView.buildView: Starting build, menu size: " + (menu != null ? menu.size() : "null"));
+        log.debug("RestaurantView.buildView: Starting build, menu size: {}", (menu != null ? menu.size() : "null"));
 
         headerComponent = new HeaderComponent(authService, tokenValidationService, orderNotificationService);
         add(headerComponent);
-        System.out.println("RestaurantView.buildView: Header added");
+        log.debug("RestaurantView.buildView: Header added");
 
         Div heroSection = createHeroSection();
         add(heroSection);
-        System.out.println("RestaurantView.buildView: Hero section added");
+        log.debug("RestaurantView.buildView: Hero section added");
 
         Div menuSectionDiv;
         if (menu != null && !menu.isEmpty()) {
-            System.out.println("RestaurantView.buildView: Creating menu section with " + menu.size() + " dishes");
+            log.debug("RestaurantView.buildView: Creating menu section with {} dishes", menu.size());
             menuSectionDiv = createMenuSection();
         } else {
-            System.out.println("RestaurantView.buildView: Menu is empty, creating empty message");
+            log.debug("RestaurantView.buildView: Menu is empty, creating empty message");
             menuSectionDiv = new Div();
             menuSectionDiv.addClassName("empty-menu");
             menuSectionDiv.setText("Brak dostępnych dań w menu.");
         }
         add(menuSectionDiv);
         
-        System.out.println("RestaurantView.buildView: Menu section added, total children: " + getChildren().count());
     }
     
     private Div createHeroSection() {
@@ -144,7 +142,7 @@ public class RestaurantView extends VerticalLayout implements HasUrlParameter<St
         menuSection.addClassName("restaurant-menu-section");
         
         if (menu == null || menu.isEmpty()) {
-            System.out.println("RestaurantView: Menu is null or empty!");
+            log.debug("RestaurantView: Menu is null or empty!");
             Div emptyMsg = new Div();
             emptyMsg.addClassName("empty-menu");
             emptyMsg.setText("Brak dostępnych dań w menu.");
@@ -152,14 +150,14 @@ public class RestaurantView extends VerticalLayout implements HasUrlParameter<St
             return menuSection;
         }
         
-        System.out.println("RestaurantView: Creating menu section with " + menu.size() + " dishes");
+        log.debug("RestaurantView: Creating menu section with {} dishes", menu.size());
 
         Map<String, List<DishDto>> dishesByCategory = menu.stream()
                 .collect(Collectors.groupingBy(
                         dish -> dish.category() != null && !dish.category().isEmpty() ? dish.category() : "Inne"
                 ));
         
-        System.out.println("RestaurantView: Dishes grouped into " + dishesByCategory.size() + " categories");
+        log.debug("RestaurantView: Dishes grouped into {} categories", dishesByCategory.size());
         
         if (dishesByCategory.isEmpty()) {
             Div emptyMsg = new Div();
@@ -173,7 +171,7 @@ public class RestaurantView extends VerticalLayout implements HasUrlParameter<St
             String category = entry.getKey();
             List<DishDto> dishes = entry.getValue();
             
-            System.out.println("RestaurantView: Adding category '" + category + "' with " + dishes.size() + " dishes");
+            log.debug("RestaurantView: Adding category '{}' with {} dishes", category, dishes.size());
             
             Div categorySection = new Div();
             categorySection.addClassName("menu-category-section");
@@ -186,25 +184,20 @@ public class RestaurantView extends VerticalLayout implements HasUrlParameter<St
             dishesContainer.addClassName("dishes-container");
             
             for (DishDto dish : dishes) {
-                System.out.println("RestaurantView: Adding dish card for " + dish.name());
+                log.debug("RestaurantView: Adding dish card for {}", dish.name());
                 Div dishCard = createDishCard(dish);
                 dishesContainer.add(dishCard);
-                System.out.println("RestaurantView: Dish card added, children count: " + dishesContainer.getChildren().count());
             }
             
-            System.out.println("RestaurantView: Dishes container has " + dishesContainer.getChildren().count() + " children");
             categorySection.add(dishesContainer);
-            System.out.println("RestaurantView: Category section has " + categorySection.getChildren().count() + " children");
             menuSection.add(categorySection);
-            System.out.println("RestaurantView: Menu section has " + menuSection.getChildren().count() + " children");
         }
         
-        System.out.println("RestaurantView: Final menu section has " + menuSection.getChildren().count() + " children");
         return menuSection;
     }
     
     private Div createDishCard(DishDto dish) {
-        System.out.println("RestaurantView.createDishCard: Creating card for " + dish.name());
+        log.debug("RestaurantView.createDishCard: Creating card for {}", dish.name());
         Div card = new Div();
         card.addClassName("dish-card");
         card.getStyle().set("display", "block"); // Wymuś wyświetlenie
@@ -219,7 +212,7 @@ public class RestaurantView extends VerticalLayout implements HasUrlParameter<St
             img.addClassName("dish-img");
             img.setAlt(dish.name());
             imageDiv.add(img);
-            System.out.println("RestaurantView.createDishCard: Added image for " + dish.name() + " from " + dish.imageUrl());
+            log.debug("RestaurantView.createDishCard: Added image for {} from {}", dish.name(), dish.imageUrl());
         } else {
             Div placeholder = new Div();
             placeholder.addClassName("dish-image-placeholder");
@@ -230,7 +223,7 @@ public class RestaurantView extends VerticalLayout implements HasUrlParameter<St
             placeholder.getStyle().set("font-size", "4rem");
             placeholder.getStyle().set("color", "var(--text-secondary)");
             imageDiv.add(placeholder);
-            System.out.println("RestaurantView.createDishCard: Added placeholder for " + dish.name() + " (no image URL)");
+            log.debug("RestaurantView.createDishCard: Added placeholder for {} (no image URL)", dish.name());
         }
         card.add(imageDiv);
         
@@ -265,12 +258,11 @@ public class RestaurantView extends VerticalLayout implements HasUrlParameter<St
         content.add(name, description, bottom);
         card.add(content);
         
-        System.out.println("RestaurantView.createDishCard: Card created with " + card.getChildren().count() + " children");
         return card;
     }
     
     private void addToCart(DishDto dish) {
-        System.out.println("RestaurantView.addToCart: Adding dish " + dish.name() + " (ID: " + dish.id() + ") to restaurant " + restaurantId);
+        log.debug("RestaurantView.addToCart: Adding dish {} (ID: {}) to restaurant {}", dish.name(), dish.id(), restaurantId);
         String restaurantIdStr = String.valueOf(restaurantId);
         String dishIdStr = String.valueOf(dish.id());
         String dishName = dish.name();
@@ -17,6 +17,7 @@ import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.dto.address.AddressDto;
 import pollub.eatgo.service.AddressService;
 import pollub.eatgo.service.AuthenticationService;
@@ -30,6 +31,7 @@ import java.util.List;
 
 @Route("settings")
 @PageTitle("EatGo - Ustawienia")
+@Slf4j
 public class SettingsView extends VerticalLayout {
     
     private final AuthenticationService authService;
@@ -170,8 +172,7 @@ public class SettingsView extends VerticalLayout {
                     );
                     
                 } catch (Exception e) {
-                    System.err.println("SettingsView: Error parsing settings: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("SettingsView: Error parsing settings", e);
                 } finally {
                     getUI().ifPresent(u -> {
                         u.getPage().executeJs("setTimeout(function() { $0.$server.setInitializationComplete(); }, 200);", getElement());
@@ -206,8 +207,7 @@ public class SettingsView extends VerticalLayout {
                         defaultAddressComboBox.setItems(userAddresses);
                     }
                 } catch (Exception e) {
-                    System.err.println("SettingsView: Error loading addresses: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("SettingsView: Error loading addresses", e);
                 }
             });
         });
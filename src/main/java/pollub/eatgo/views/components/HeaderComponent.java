@@ -15,10 +15,12 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.RouterLink;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.service.AuthenticationService;
 import pollub.eatgo.service.OrderNotificationService;
 import pollub.eatgo.service.TokenValidationService;
 
+@Slf4j
 public class HeaderComponent extends Div {
     
     private Button themeToggle;
@@ -31,7 +33,7 @@ public class HeaderComponent extends Div {
     private Div loginButtonsContainer;
     private Span notificationsBadge;
     private Dialog notificationsDialog;
-    private java.util.concurrent.ScheduledExecutorService badgeRefreshExecutor;
+    private Runnable notificationsSubscription;
     
     public HeaderComponent(AuthenticationService authService,
                            TokenValidationService tokenValidationService,
@@ -90,6 +92,8 @@ public class HeaderComponent extends Div {
         checkLoginStatus();
         
         setupStorageListener();
+
+        addDetachListener(e -> unsubscribeFromNotifications());
     }
     
     /**
@@ -162,7 +166,7 @@ public class HeaderComponent extends Div {
     public void onTokenExpired() {
         getUI().ifPresent(ui -> {
             ui.access(() -> {
-                System.out.println("[TokenValidation] Token expired, updating UI");
+                log.debug("[TokenValidation] Token expired, updating UI");
                 userMenuContainer.setVisible(false);
                 loginButtonsContainer.setVisible(true);
                 Notification.show("Sesja wygasła. Zaloguj się ponownie.", 3000, Notification.Position.TOP_CENTER);
@@ -194,7 +198,7 @@ public class HeaderComponent extends Div {
     public void onLoginStatusChanged() {
         getUI().ifPresent(ui -> {
             ui.access(() -> {
-                System.out.println("onLoginStatusChanged called - checking login status");
+                log.debug("onLoginStatusChanged called - checking login status");
                 checkLoginStatus();
             });
         });
@@ -204,7 +208,7 @@ public class HeaderComponent extends Div {
     public void refreshLoginStatus() {
         getUI().ifPresent(ui -> {
             ui.access(() -> {
-                System.out.println("refreshLoginStatus called - checking login status");
+                log.debug("refreshLoginStatus called - checking login status");
                 checkLoginStatus();
             });
         });
@@ -250,16 +254,16 @@ public class HeaderComponent extends Div {
     private void onLoginStatusReceived(boolean isLoggedIn, String userId, String role) {
         getUI().ifPresent(ui -> {
             ui.access(() -> {
-                System.out.println("onLoginStatusReceived called - isLoggedIn: " + isLoggedIn + ", userId: " + userId + ", role: " + role);
+                log.debug("onLoginStatusReceived called - isLoggedIn: {}, userId: {}, role: {}", isLoggedIn, userId, role);
                 if (isLoggedIn) {
                     createUserMenu(userId, role);
                     userMenuContainer.setVisible(true);
                     loginButtonsContainer.setVisible(false);
-                    System.out.println("User menu created and shown");
+                    log.debug("User menu created and shown");
                 } else {
                     userMenuContainer.setVisible(false);
                     loginButtonsContainer.setVisible(true);
-                    System.out.println("Login buttons shown");
+                    log.debug("Login buttons shown");
                 }
             });
         });
@@ -268,7 +272,7 @@ public class HeaderComponent extends Div {
     public void updateAfterLogin(String userId, String role) {
         getUI().ifPresent(ui -> {
             ui.access(() -> {
-                System.out.println("updateAfterLogin called - userId: " + userId + ", role: " + role);
+                log.debug("updateAfterLogin called - userId: {}, role: {}", userId, role);
                 createUserMenu(userId, role);
                 userMenuContainer.setVisible(true);
                 loginButtonsContainer.setVisible(false);
@@ -278,36 +282,33 @@ public class HeaderComponent extends Div {
     
     @com.vaadin.flow.component.ClientCallable
     public void onTokenSaved(String userId, String role) {
-        System.out.println("onTokenSaved called - userId: '" + userId + "', role: '" + role + "'");
+        log.debug("onTokenSaved called - userId: '{}', role: '{}'", userId, role);
         getUI().ifPresent(ui -> {
             ui.access(() -> {
-                System.out.println("onTokenSaved - inside UI.access - userId: '" + userId + "', role: '" + role + "'");
-                System.out.println("Before update - userMenuContainer visible: " + userMenuContainer.isVisible() + 
-                                 ", loginButtonsContainer visible: " + loginButtonsContainer.isVisible());
+                log.debug("onTokenSaved - inside UI.access - userId: '{}', role: '{}'", userId, role);
+                log.debug("Before update - userMenuContainer visible: {}, loginButtonsContainer visible: {}", userMenuContainer.isVisible(), loginButtonsContainer.isVisible());
                 
                 if (userId != null && !userId.isEmpty() && role != null && !role.isEmpty()) {
-                    System.out.println("Creating user menu...");
+                    log.debug("Creating user menu...");
                     createUserMenu(userId, role);
-                    System.out.println("User menu created, setting visibility...");
+                    log.debug("User menu created, setting visibility...");
                     
                     userMenuContainer.setVisible(true);
                     loginButtonsContainer.setVisible(false);
                     
-                    System.out.println("After update - userMenuContainer visible: " + userMenuContainer.isVisible() + 
-                                     ", loginButtonsContainer visible: " + loginButtonsContainer.isVisible());
-                    System.out.println("userMenuContainer children: " + userMenuContainer.getChildren().count());
+                    log.debug("After update - userMenuContainer visible: {}, loginButtonsContainer visible: {}", userMenuContainer.isVisible(), loginButtonsContainer.isVisible());
                 } else {
-                    System.out.println("ERROR: Invalid userId or role - userId: '" + userId + "', role: '" + role + "'");
+                    log.warn("Invalid userId or role - userId: '{}', role: '{}'", userId, role);
                 }
             });
         });
     }
     
     private void createUserMenu(String userId, String role) {
-        System.out.println("createUserMenu called - userId: " + userId + ", role: " + role);
+        log.debug("createUserMenu called - userId: {}, role: {}", userId, role);
         
         userMenuContainer.removeAll();
-        System.out.println("userMenuContainer cleared");
+        log.debug("userMenuContainer cleared");
         
         Long parsedUserId = null;
         try {
@@ -315,7 +316,7 @@ public class HeaderComponent extends Div {
                 parsedUserId = Long.parseLong(userId);
             }
         } catch (NumberFormatException ex) {
-            System.err.println("HeaderComponent: invalid userId format: " + userId);
+            log.warn("HeaderComponent: invalid userId format: {}", userId);
         }
 
         Button notificationsButton = new Button(VaadinIcon.BELL.create());
@@ -333,7 +334,7 @@ public class HeaderComponent extends Div {
                     ui.getPage().executeJs("setTimeout(function() { $0.$server.refreshNotificationsBadge(); }, 200);", getElement());
                 });
             });
-            startBadgeRefreshTimer(parsedUserId);
+            subscribeToNotifications(parsedUserId);
         }
 
         Div notificationsContainer = new Div();
@@ -427,9 +428,8 @@ public class HeaderComponent extends Div {
             userMenuContainer.add(notificationsContainer, userMenu);
         }
         
-        System.out.println("Elements added to userMenuContainer - children count: " + userMenuContainer.getChildren().count());
         
-        System.out.println("createUserMenu completed");
+        log.debug("createUserMenu completed");
     }
     
     private void updateCartsBadge(Span badge) {
@@ -463,18 +463,17 @@ public class HeaderComponent extends Div {
             ui.access(() -> {
                 try {
                     long unread = orderNotificationService.countUnread(userId);
-                    System.out.println("HeaderComponent: Unread notifications count for user " + userId + ": " + unread);
+                    log.debug("HeaderComponent: Unread notifications count for user {}: {}", userId, unread);
                     if (unread > 0) {
                         notificationsBadge.setText(String.valueOf(unread));
                         notificationsBadge.setVisible(true);
-                        System.out.println("HeaderComponent: Badge set to visible with count: " + unread);
+                        log.debug("HeaderComponent: Badge set to visible with count: {}", unread);
                     } else {
                         notificationsBadge.setVisible(false);
-                        System.out.println("HeaderComponent: Badge hidden (no unread notifications)");
+                        log.debug("HeaderComponent: Badge hidden (no unread notifications)");
                     }
                 } catch (Exception e) {
-                    System.err.println("HeaderComponent: Error updating notifications badge: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("HeaderComponent: Error updating notifications badge", e);
                 }
             });
         });
@@ -498,26 +497,35 @@ public class HeaderComponent extends Div {
                 updateNotificationsBadge(userId);
             }
         } catch (NumberFormatException e) {
-            System.err.println("HeaderComponent: Invalid userId format: " + userIdStr);
+            log.warn("HeaderComponent: Invalid userId format: {}", userIdStr);
         }
     }
     
-    private void startBadgeRefreshTimer(Long userId) {
-        if (badgeRefreshExecutor != null) {
-            badgeRefreshExecutor.shutdown();
+    /**
+     * Licznik powiadomień aktualizowany przez server push: serwis powiadomień woła słuchacza
+     * przy każdej zmianie, a {@code ui.access} przekazuje nową wartość do przeglądarki.
+     */
+    private void subscribeToNotifications(Long userId) {
+        unsubscribeFromNotifications();
+        getUI().ifPresent(ui -> {
+            notificationsSubscription = orderNotificationService.subscribe(userId, unread ->
+                ui.access(() -> showUnreadCount(unread)));
+        });
+    }
+
+    private void unsubscribeFromNotifications() {
+        if (notificationsSubscription != null) {
+            notificationsSubscription.run();
+            notificationsSubscription = null;
         }
-        
-        badgeRefreshExecutor = java.util.concurrent.Executors.newSingleThreadScheduledExecutor();
-        badgeRefreshExecutor.scheduleAtFixedRate(
-            () -> {
-                getUI().ifPresent(ui -> {
-                    ui.access(() -> updateNotificationsBadge(userId));
-                });
-            },
-            3,
-            3,
-            java.util.concurrent.TimeUnit.SECONDS
-        );
+    }
+
+    private void showUnreadCount(long unread) {
+        if (notificationsBadge == null) {
+            return;
+        }
+        notificationsBadge.setText(String.valueOf(unread));
+        notificationsBadge.setVisible(unread > 0);
     }
 
     private void openNotificationsDialog(Long userId) {
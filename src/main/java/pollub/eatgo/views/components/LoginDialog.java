@@ -10,8 +10,10 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment;
 import com.vaadin.flow.component.textfield.EmailField;
 import com.vaadin.flow.component.textfield.PasswordField;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.service.AuthenticationService;
 
+@Slf4j
 public class LoginDialog extends Dialog {
     
     private final AuthenticationService authService;
@@ -106,8 +108,7 @@ public class LoginDialog extends Dialog {
                 String userId = result.getUserId() != null ? result.getUserId().toString() : "";
                 String role = result.getRole() != null ? result.getRole() : "";
                 
-                System.out.println("Login successful - token: " + (token != null ? "present" : "null") + 
-                                   ", userId: " + userId + ", role: " + role);
+                log.debug("Login successful - token: {}, userId: {}, role: {}", (token != null ? "present" : "null"), userId, role);
                 
                 getUI().ifPresent(ui -> {
                     ui.access(() -> {
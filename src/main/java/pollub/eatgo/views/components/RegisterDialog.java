@@ -16,12 +16,14 @@ import com.vaadin.flow.component.textfield.NumberField;
 import com.vaadin.flow.component.textfield.PasswordField;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.value.ValueChangeMode;
+import lombok.extern.slf4j.Slf4j;
 import pollub.eatgo.service.AuthenticationService;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@Slf4j
 public class RegisterDialog extends Dialog {
 
     private final AuthenticationService authService;
@@ -426,8 +428,7 @@ public class RegisterDialog extends Dialog {
                 String userIdStr = result.getUserId() != null ? result.getUserId().toString() : "";
                 String roleStr = result.getRole() != null ? result.getRole() : "";
                 
-                System.out.println("Registration successful - token: " + (token != null ? "present" : "null") + 
-                                   ", userId: " + userIdStr + ", role: " + roleStr);
+                log.debug("Registration successful - token: {}, userId: {}, role: {}", (token != null ? "present" : "null"), userIdStr, roleStr);
                 
                 getUI().ifPresent(ui -> {
                     ui.access(() -> {
@@ -0,0 +1,22 @@
+CREATE TABLE order_notifications (
+                                     id BIGSERIAL PRIMARY KEY,
+                                     user_id BIGINT NOT NULL,
+                                     order_id BIGINT,
+                                     previous_status VARCHAR(50),
+                                     current_status VARCHAR(50) NOT NULL,
+                                     message TEXT NOT NULL,
+                                     created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                                     FOREIGN KEY (user_id) REFERENCES users(id),
+                                     FOREIGN KEY (order_id) REFERENCES orders(id)
+);
+
+CREATE INDEX idx_order_notifications_user_id ON order_notifications (user_id, id);
+
+-- Stan odczytu per użytkownik: powiadomienia o id <= read_up_to są przeczytane,
+-- o id <= cleared_up_to nie są już pokazywane.
+CREATE TABLE order_notification_cursors (
+                                            user_id BIGINT PRIMARY KEY,
+                                            read_up_to BIGINT NOT NULL DEFAULT 0,
+                                            cleared_up_to BIGINT NOT NULL DEFAULT 0,
+                                            FOREIGN KEY (user_id) REFERENCES users(id)
+);
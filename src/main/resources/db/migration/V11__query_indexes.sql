@@ -0,0 +1,33 @@
+-- Indeksy pod zapytania repozytoriów. Kolejność kolumn: najpierw równości, potem sortowanie
+-- (created_at, id malejąco jak w stronicowaniu kursorem), więc listy zamówień nie wymagają sortowania.
+--
+-- CONCURRENTLY nie blokuje zapisów do orders na czas budowy indeksu, ale nie działa w transakcji —
+-- stąd executeInTransaction=false w V11__query_indexes.sql.conf. Przerwana budowa zostawia indeks
+-- INVALID, który IF NOT EXISTS by pominął: przed ponowieniem migracji trzeba go usunąć (DROP INDEX CONCURRENTLY).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_restaurant_created ON orders (restaurant_id, created_at DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_user_created ON orders (user_id, created_at DESC, id DESC);
+
+-- Większość zamówień długo czeka bez kuriera; indeksy kurierskie pomijają te wiersze.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_courier_created ON orders (courier_id, created_at DESC, id DESC)
+    WHERE courier_id IS NOT NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_courier_status ON orders (courier_id, status)
+    WHERE courier_id IS NOT NULL;
+
+-- Zamówienia w toku to niewielka część historii; tablica zamówień restauracji i przydział kurierów
+-- czytają tylko je.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_restaurant_active ON orders (restaurant_id, status, created_at)
+    WHERE status IN ('PLACED', 'ACCEPTED', 'COOKING', 'READY', 'IN_DELIVERY');
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order ON order_items (order_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_target_created ON reviews (target_type, target_id, created_at DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_order_reviewer ON reviews (order_id, reviewer_id, target_type);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_dishes_restaurant_available ON dishes (restaurant_id, available);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_restaurant_role ON users (restaurant_id, role)
+    WHERE restaurant_id IS NOT NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restaurants_admin ON restaurants (admin_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_addresses_user ON addresses (user_id, id DESC);
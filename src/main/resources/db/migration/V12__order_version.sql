@@ -0,0 +1,3 @@
+-- Wersja wiersza dla blokowania optymistycznego; przejścia statusów podbijają ją warunkowym UPDATE.
+ALTER TABLE orders
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,361 @@
+package pollub.eatgo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pollub.eatgo.config.GatedDataSource;
+import pollub.eatgo.controller.CourierController;
+import pollub.eatgo.dto.order.OrderCreateRequestDto;
+import pollub.eatgo.dto.order.OrderDto;
+import pollub.eatgo.dto.order.OrderItemRequestDto;
+import pollub.eatgo.dto.order.OrderStatusUpdateDto;
+import pollub.eatgo.dto.review.ReviewCreateDto;
+import pollub.eatgo.dto.review.ReviewTargetType;
+import pollub.eatgo.model.*;
+import pollub.eatgo.repository.*;
+import pollub.eatgo.service.CourierStatusIndex;
+import pollub.eatgo.service.OrderService;
+import pollub.eatgo.service.RestaurantService;
+import pollub.eatgo.service.ReviewService;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Symulacja szczytu w porze lunchu na warstwie serwisów: N restauracji z menu, M klientów z adresami
+ * i K kurierów. Każdy klient (wątek wirtualny) składa kolejne zamówienia i prowadzi je przez cały cykl:
+ * {@code createOrder} → ACCEPTED/COOKING/READY → {@code assignCourier} → DELIVERED (przez
+ * {@link CourierController}) → recenzja, z losowymi czasami namysłu przeskalowanymi przez
+ * {@code EATGO_SIMULATION_THINK_SCALE}.
+ * <p>
+ * Raport na standardowym wyjściu: przepustowość, p50/p99 każdego kroku i czas oczekiwania na
+ * połączenie z bazą (liczniki {@link GatedDataSource}). Domyślnie H2 w trybie PostgreSQL; z
+ * {@code EATGO_SIMULATION_DB_URL} — osobna, pusta baza PostgreSQL ze schematem z migracji Flyway.
+ * Uruchamiana tylko przy {@code EATGO_SIMULATION=true}.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "EATGO_SIMULATION", matches = "true")
+@TestPropertySource(properties = {
+        "eatgo.dispatch.auto=false",
+        "eatgo.db.gate.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=${EATGO_SIMULATION_POOL_SIZE:10}"
+})
+class LunchRushSimulationTest {
+
+    private static final int RESTAURANTS = intEnv("EATGO_SIMULATION_RESTAURANTS", 20);
+    private static final int DISHES_PER_RESTAURANT = 12;
+    private static final int CLIENTS = intEnv("EATGO_SIMULATION_CLIENTS", 200);
+    private static final int COURIERS = intEnv("EATGO_SIMULATION_COURIERS", 60);
+    private static final int ORDERS_PER_CLIENT = intEnv("EATGO_SIMULATION_ORDERS_PER_CLIENT", 2);
+    private static final double THINK_SCALE = Double.parseDouble(env("EATGO_SIMULATION_THINK_SCALE", "0.001"));
+
+    /**
+     * Średnie czasy namysłu w rzeczywistości (przed skalowaniem).
+     */
+    private static final Duration RAMP_UP = Duration.ofMinutes(10);
+    private static final Duration BROWSE = Duration.ofMinutes(1);
+    private static final Duration ACCEPT = Duration.ofSeconds(30);
+    private static final Duration START_COOKING = Duration.ofMinutes(1);
+    private static final Duration COOKING = Duration.ofMinutes(10);
+    private static final Duration PICK_COURIER = Duration.ofSeconds(30);
+    private static final Duration NO_COURIER_RETRY = Duration.ofMinutes(1);
+    private static final Duration DELIVERY = Duration.ofMinutes(15);
+    private static final Duration REVIEW = Duration.ofMinutes(2);
+
+    private enum Step {
+        CREATE_ORDER, ACCEPT, COOKING, READY, ASSIGN_COURIER, DELIVER, REVIEW
+    }
+
+    private record SimRestaurant(Long id, String adminEmail, List<Long> dishIds) {}
+
+    private record SimClient(Long id, Long addressId) {}
+
+    private record GateSnapshot(GatedDataSource gate, long acquisitions, Duration totalWait) {}
+
+    private static final class StepStats {
+        final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        final AtomicInteger errors = new AtomicInteger();
+    }
+
+    @Autowired private OrderService orderService;
+    @Autowired private RestaurantService restaurantService;
+    @Autowired private ReviewService reviewService;
+    @Autowired private CourierController courierController;
+    @Autowired private CourierStatusIndex courierStatusIndex;
+    @Autowired private UserRepository userRepository;
+    @Autowired private RestaurantRepository restaurantRepository;
+    @Autowired private DishRepository dishRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private Map<String, DataSource> dataSources;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private final Map<Step, StepStats> stats = new EnumMap<>(Step.class);
+    private final Map<Long, Authentication> courierAuthentications = new HashMap<>();
+    private final ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        String url = env("EATGO_SIMULATION_DB_URL", "");
+        if (url.isEmpty()) {
+            registry.add("spring.datasource.url", () -> "jdbc:h2:mem:lunchrush;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+            registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+            registry.add("spring.datasource.username", () -> "sa");
+            registry.add("spring.datasource.password", () -> "");
+            registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.H2Dialect");
+            registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+            registry.add("spring.flyway.enabled", () -> "false");
+            return;
+        }
+        String user = env("EATGO_SIMULATION_DB_USER", "postgres");
+        String password = env("EATGO_SIMULATION_DB_PASSWORD", "postgres");
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> user);
+        registry.add("spring.datasource.password", () -> password);
+        registry.add("spring.flyway.url", () -> url);
+        registry.add("spring.flyway.user", () -> user);
+        registry.add("spring.flyway.password", () -> password);
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    private static int intEnv(String name, int fallback) {
+        return Integer.parseInt(env(name, String.valueOf(fallback)));
+    }
+
+    @Test
+    void lunchRush() throws InterruptedException {
+        List<SimRestaurant> restaurants = seedRestaurants();
+        List<SimClient> clients = seedClients();
+        courierStatusIndex.rebuild();
+        for (Step step : Step.values()) {
+            stats.put(step, new StepStats());
+        }
+
+        Map<String, GateSnapshot> gatesBefore = snapshotGates();
+
+        long started = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (SimClient client : clients) {
+                executor.execute(() -> runClient(client, restaurants));
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        report(elapsed, gatesBefore);
+
+        failures.stream().limit(10).forEach(failure -> System.out.println("  failure: " + failure));
+        assertTrue(failures.isEmpty(), failures.size() + " order lifecycles failed");
+        assertEquals(CLIENTS * ORDERS_PER_CLIENT, stats.get(Step.REVIEW).latencies.size());
+    }
+
+    private List<SimRestaurant> seedRestaurants() {
+        List<SimRestaurant> restaurants = new ArrayList<>();
+        int couriersSeeded = 0;
+        for (int r = 0; r < RESTAURANTS; r++) {
+            User admin = userRepository.save(User.builder().email("rush-admin-" + r + "@eatgo.test")
+                    .password("x").fullName("Admin " + r).role(User.Role.RESTAURANT_ADMIN).build());
+            Restaurant restaurant = restaurantRepository.save(Restaurant.builder().name("Restauracja " + r)
+                    .address("Lublin, ul. Lunchowa " + r).deliveryPrice(5.0 + r % 4).admin(admin).build());
+
+            List<Dish> dishes = new ArrayList<>();
+            for (int d = 0; d < DISHES_PER_RESTAURANT; d++) {
+                dishes.add(Dish.builder().name("Danie " + r + "-" + d).price(15.0 + d * 2.5)
+                        .category(d % 2 == 0 ? "Obiady" : "Zupy").restaurant(restaurant).build());
+            }
+            List<Long> dishIds = dishRepository.saveAll(dishes).stream().map(Dish::getId).toList();
+
+            // kurierzy rozdzieleni po równo, reszta trafia do pierwszych restauracji
+            int couriers = COURIERS / RESTAURANTS + (r < COURIERS % RESTAURANTS ? 1 : 0);
+            for (int c = 0; c < couriers; c++) {
+                User courier = userRepository.save(User.builder().email("rush-courier-" + couriersSeeded++ + "@eatgo.test")
+                        .password("x").fullName("Kurier " + couriersSeeded).role(User.Role.COURIER)
+                        .restaurant(restaurant).build());
+                courierAuthentications.put(courier.getId(),
+                        new UsernamePasswordAuthenticationToken(courier.getEmail(), null, List.of()));
+            }
+            restaurants.add(new SimRestaurant(restaurant.getId(), admin.getEmail(), dishIds));
+        }
+        return restaurants;
+    }
+
+    private List<SimClient> seedClients() {
+        List<SimClient> clients = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            User client = userRepository.save(User.builder().email("rush-client-" + c + "@eatgo.test")
+                    .password("x").fullName("Klient " + c).role(User.Role.CLIENT).build());
+            Address address = addressRepository.save(Address.builder().city("Lublin").street("Obiadowa " + c)
+                    .postalCode(String.format("20-%03d", c % 40)).user(client).build());
+            clients.add(new SimClient(client.getId(), address.getId()));
+        }
+        return clients;
+    }
+
+    private void runClient(SimClient client, List<SimRestaurant> restaurants) {
+        try {
+            sleep(Duration.ofNanos((long) (RAMP_UP.toNanos() * THINK_SCALE * ThreadLocalRandom.current().nextDouble())));
+            for (int i = 0; i < ORDERS_PER_CLIENT; i++) {
+                runOrder(client, restaurants.get(ThreadLocalRandom.current().nextInt(restaurants.size())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failures.add(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private void runOrder(SimClient client, SimRestaurant restaurant) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        think(BROWSE);
+        List<OrderItemRequestDto> items = new ArrayList<>();
+        for (int i = 0, count = 1 + random.nextInt(4); i < count; i++) {
+            items.add(new OrderItemRequestDto(restaurant.dishIds().get(random.nextInt(restaurant.dishIds().size())),
+                    1 + random.nextInt(2)));
+        }
+        OrderDto order = measure(Step.CREATE_ORDER, () -> orderService.createOrder(client.id(),
+                new OrderCreateRequestDto(restaurant.id(), client.addressId(), items)));
+
+        think(ACCEPT);
+        measure(Step.ACCEPT, () -> restaurantService.updateOrderStatus(restaurant.adminEmail(), order.id(), "ACCEPTED"));
+        think(START_COOKING);
+        measure(Step.COOKING, () -> restaurantService.updateOrderStatus(restaurant.adminEmail(), order.id(), "COOKING"));
+        think(COOKING);
+        measure(Step.READY, () -> restaurantService.updateOrderStatus(restaurant.adminEmail(), order.id(), "READY"));
+
+        think(PICK_COURIER);
+        Optional<Long> courierId = courierStatusIndex.leastLoadedCourier(restaurant.id());
+        while (courierId.isEmpty()) {
+            think(NO_COURIER_RETRY);
+            courierId = courierStatusIndex.leastLoadedCourier(restaurant.id());
+        }
+        Long courier = courierId.get();
+        measure(Step.ASSIGN_COURIER, () -> restaurantService.assignCourier(restaurant.adminEmail(), order.id(), courier));
+
+        think(DELIVERY);
+        ResponseEntity<OrderDto> delivered = measure(Step.DELIVER, () -> inRequest(() -> courierController.updateStatus(
+                order.id(), new OrderStatusUpdateDto("DELIVERED"), courierAuthentications.get(courier))));
+        if (!delivered.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("Delivery of order " + order.id() + " rejected: " + delivered.getStatusCode());
+        }
+
+        think(REVIEW);
+        measure(Step.REVIEW, () -> {
+            reviewService.addReview(client.id(), new ReviewCreateDto(order.id(), ReviewTargetType.RESTAURANT,
+                    1 + random.nextInt(5), "Symulacja"));
+            return null;
+        });
+    }
+
+    private <T> T measure(Step step, Supplier<T> action) {
+        StepStats stepStats = stats.get(step);
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            stepStats.latencies.add(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            stepStats.errors.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Sesja JPA na czas wywołania kontrolera, tak jak open-in-view w prawdziwym żądaniu HTTP:
+     * kontroler mapuje leniwe kolekcje zamówienia już po zakończeniu transakcji.
+     */
+    private <T> T inRequest(Supplier<T> action) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return action.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+        }
+    }
+
+    private static void think(Duration mean) throws InterruptedException {
+        double factor = 0.5 + ThreadLocalRandom.current().nextDouble();
+        sleep(Duration.ofNanos((long) (mean.toNanos() * THINK_SCALE * factor)));
+    }
+
+    private static void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isZero()) {
+            Thread.sleep(duration);
+        }
+    }
+
+    /**
+     * Liczniki bramek puli głównej ({@code dataSource}) i odczytowej ({@code readDataSource}).
+     */
+    private Map<String, GateSnapshot> snapshotGates() {
+        Map<String, GateSnapshot> snapshots = new TreeMap<>();
+        dataSources.forEach((name, dataSource) -> {
+            try {
+                if (dataSource.isWrapperFor(GatedDataSource.class)) {
+                    GatedDataSource gate = dataSource.unwrap(GatedDataSource.class);
+                    snapshots.put(name, new GateSnapshot(gate, gate.getAcquisitions(), gate.getTotalWait()));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return snapshots;
+    }
+
+    private void report(Duration elapsed, Map<String, GateSnapshot> gatesBefore) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        int completed = stats.get(Step.REVIEW).latencies.size();
+        System.out.printf("%nLunch rush: %d restaurants, %d clients, %d couriers, think scale %s%n",
+                RESTAURANTS, CLIENTS, COURIERS, THINK_SCALE);
+        System.out.printf("%d of %d orders completed in %.1f s (%.1f orders/s), %d failed%n",
+                completed, CLIENTS * ORDERS_PER_CLIENT, seconds, completed / seconds, failures.size());
+        System.out.printf("%-16s %7s %7s %9s %9s %9s%n", "step", "count", "errors", "ops/s", "p50 ms", "p99 ms");
+        for (Step step : Step.values()) {
+            StepStats stepStats = stats.get(step);
+            long[] sorted = stepStats.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%-16s %7d %7d %9.1f %9.2f %9.2f%n", step, sorted.length, stepStats.errors.get(),
+                    sorted.length / seconds, percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+        }
+        gatesBefore.forEach((name, before) -> {
+            GatedDataSource gate = before.gate();
+            long acquisitions = gate.getAcquisitions() - before.acquisitions();
+            Duration totalWait = gate.getTotalWait().minus(before.totalWait());
+            System.out.printf("DB connections (%s): pool %d, %d acquisitions, wait total %d ms, mean %.3f ms, max %.1f ms%n",
+                    name, gate.getMaxPermits(), acquisitions, totalWait.toMillis(),
+                    acquisitions == 0 ? 0 : totalWait.toNanos() / 1_000_000.0 / acquisitions,
+                    gate.getMaxWait().toNanos() / 1_000_000.0);
+        });
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
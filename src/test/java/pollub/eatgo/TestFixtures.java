@@ -0,0 +1,87 @@
+package pollub.eatgo;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import pollub.eatgo.model.*;
+
+import java.util.ArrayList;
+
+/**
+ * Wspólne dane testowe dla testów {@code @DataJpaTest}: administrator z restauracją, klient z adresem,
+ * kurierzy, dania i zamówienia. {@link #order} i {@link #item} tylko budują encje, pozostałe metody od razu je utrwalają.
+ */
+public final class TestFixtures {
+
+    private final EntityManager entityManager;
+
+    public TestFixtures(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    public User admin() {
+        return persist(User.builder()
+                .email("admin@example.com").password("secret").fullName("Admin").role(User.Role.RESTAURANT_ADMIN).build());
+    }
+
+    public Restaurant restaurant(User admin) {
+        return persist(Restaurant.builder()
+                .name("Test Restaurant").address("Testowa 1").deliveryPrice(5.0).admin(admin).build());
+    }
+
+    public User client() {
+        return persist(User.builder()
+                .email("client@example.com").password("secret").fullName("Client").role(User.Role.CLIENT).build());
+    }
+
+    public User courier(String email, String fullName, Restaurant restaurant) {
+        return persist(User.builder()
+                .email(email).password("secret").fullName(fullName).role(User.Role.COURIER)
+                .restaurant(restaurant).build());
+    }
+
+    public Address address(User client) {
+        return address(client, "Testowa 1");
+    }
+
+    public Address address(User client, String street) {
+        return persist(Address.builder()
+                .city("Warszawa").street(street).postalCode("00-001").user(client).build());
+    }
+
+    public Dish dish(Restaurant restaurant, String name, double price) {
+        return persist(Dish.builder().name(name).price(price).restaurant(restaurant).build());
+    }
+
+    /**
+     * Zamówienie bez pozycji i bez kuriera, jeszcze nieutrwalone, żeby test mógł dopisać pozycje
+     * albo zmienić pola przed {@link #persist}.
+     */
+    public Order order(User client, Restaurant restaurant, Address address, OrderStatus status) {
+        return Order.builder()
+                .user(client).restaurant(restaurant).address(address)
+                .status(status).totalPrice(25.0).deliveryPrice(5.0)
+                .items(new ArrayList<>())
+                .build();
+    }
+
+    public OrderItem item(Order order, Dish dish, int quantity) {
+        OrderItem item = OrderItem.builder().order(order).dish(dish).quantity(quantity).priceSnapshot(dish.getPrice()).build();
+        order.getItems().add(item);
+        return item;
+    }
+
+    /**
+     * Wyzerowane statystyki Hibernate; wymaga {@code hibernate.generate_statistics=true} w teście.
+     */
+    public Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,91 @@
+package pollub.eatgo.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GatedDataSourceUnitTest {
+
+    private DataSource target;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void getConnection_ShouldTimeOutWhenAllPermitsAreTaken() throws SQLException {
+        GatedDataSource gate = new GatedDataSource(target, 1, Duration.ofMillis(50));
+        Connection held = gate.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, gate::getConnection);
+        assertEquals(0, gate.getAvailablePermits());
+        assertTrue(gate.getMaxWait().toMillis() >= 40);
+
+        held.close();
+        assertEquals(1, gate.getAvailablePermits());
+    }
+
+    @Test
+    void close_ShouldReleasePermitOnlyOnce() throws SQLException {
+        GatedDataSource gate = new GatedDataSource(target, 2, Duration.ofMillis(50));
+        Connection first = gate.getConnection();
+
+        first.close();
+        first.close();
+
+        assertEquals(2, gate.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_ShouldReleasePermitWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        GatedDataSource gate = new GatedDataSource(target, 1, Duration.ofMillis(50));
+
+        assertThrows(SQLException.class, gate::getConnection);
+
+        assertEquals(1, gate.getAvailablePermits());
+        assertEquals(1, gate.getAcquisitions());
+    }
+
+    @Test
+    void getConnection_ShouldQueueVirtualThreadsUntilPermitIsReturned() throws Exception {
+        GatedDataSource gate = new GatedDataSource(target, 1, Duration.ofSeconds(5));
+        Connection held = gate.getConnection();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return gate.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+            while (gate.getWaitingThreads() == 0) {
+                Thread.onSpinWait();
+            }
+            assertFalse(waiting.isDone());
+
+            held.close();
+            waiting.get(5, TimeUnit.SECONDS).close();
+        }
+
+        assertEquals(2, gate.getAcquisitions());
+        assertEquals(1, gate.getAvailablePermits());
+    }
+}
@@ -0,0 +1,74 @@
+package pollub.eatgo.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceUnitTest {
+
+    private DataSource write;
+    private DataSource read;
+    private Connection writeConnection;
+    private Connection readConnection;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        write = mock(DataSource.class);
+        read = mock(DataSource.class);
+        writeConnection = mock(Connection.class);
+        readConnection = mock(Connection.class);
+        when(write.getConnection()).thenReturn(writeConnection);
+        when(read.getConnection()).thenReturn(readConnection);
+        when(writeConnection.getAutoCommit()).thenReturn(true);
+        when(writeConnection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(write, read));
+    }
+
+    private void runInTransaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(readOnly);
+        template.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReadPool() throws SQLException {
+        runInTransaction(true);
+
+        verify(readConnection).createStatement();
+        verify(writeConnection, never()).createStatement();
+    }
+
+    @Test
+    void writeTransaction_ShouldUsePrimaryPool() throws SQLException {
+        runInTransaction(false);
+
+        verify(writeConnection).createStatement();
+        verify(read, never()).getConnection();
+    }
+
+    @Test
+    void accessOutsideTransaction_ShouldUsePrimaryPool() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+
+        verify(writeConnection).createStatement();
+        verify(read, never()).getConnection();
+    }
+}
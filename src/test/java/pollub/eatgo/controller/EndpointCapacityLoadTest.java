@@ -0,0 +1,155 @@
+package pollub.eatgo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pojemność endpointów menu i składania zamówień przy rosnącej liczbie równoległych klientów.
+ * <p>
+ * Test uderza w działającą instancję ({@code EATGO_LOAD_BASE_URL}); porównanie trybów polega na
+ * dwóch uruchomieniach — serwer z {@code VIRTUAL_THREADS=false} i {@code true} — z etykietą
+ * {@code EATGO_LOAD_LABEL}. Każdy klient wysyła kolejne żądanie dopiero po odpowiedzi na poprzednie,
+ * a wynik (przepustowość, p50/p99, odsetek błędów) trafia na standardowe wyjście. Twardo sprawdzany
+ * jest tylko najniższy poziom współbieżności — wyższe poziomy mają pokazać, gdzie serwer się nasyca.
+ * Składanie zamówień wymaga tokenu klienta ({@code EATGO_LOAD_TOKEN}), adresu i dania.
+ */
+@EnabledIfEnvironmentVariable(named = "EATGO_LOAD_BASE_URL", matches = ".+")
+class EndpointCapacityLoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String baseUrl = env("EATGO_LOAD_BASE_URL", "").replaceAll("/$", "");
+    private final String label = env("EATGO_LOAD_LABEL", "server");
+    private final int[] levels = Arrays.stream(env("EATGO_LOAD_LEVELS", "50,200,800").split(","))
+            .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    private final int requestsPerClient = Integer.parseInt(env("EATGO_LOAD_REQUESTS_PER_CLIENT", "20"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+
+    private record LevelResult(int clients, int requests, int errors, double throughput, long p50Millis, long p99Millis) {
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    @Test
+    void menuEndpoint_CapacityPerConcurrencyLevel() throws InterruptedException {
+        String restaurantId = env("EATGO_LOAD_RESTAURANT_ID", "1");
+        List<LevelResult> results = run("GET /api/restaurants/{id}/menu", () -> HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/restaurants/" + restaurantId + "/menu"))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build());
+
+        assertEquals(0, results.get(0).errors(), "Menu endpoint fails already at the lowest concurrency level");
+    }
+
+    @Test
+    void createOrderEndpoint_CapacityPerConcurrencyLevel() throws InterruptedException {
+        String token = env("EATGO_LOAD_TOKEN", "");
+        assumeTrue(!token.isEmpty(), "EATGO_LOAD_TOKEN not set");
+        String body = String.format("{\"restaurantId\":%s,\"addressId\":%s,\"items\":[{\"dishId\":%s,\"quantity\":1}]}",
+                env("EATGO_LOAD_RESTAURANT_ID", "1"), env("EATGO_LOAD_ADDRESS_ID", "1"), env("EATGO_LOAD_DISH_ID", "1"));
+
+        List<LevelResult> results = run("POST /api/orders", () -> HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/orders"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+
+        assertEquals(0, results.get(0).errors(), "Order endpoint fails already at the lowest concurrency level");
+    }
+
+    private List<LevelResult> run(String endpoint, Supplier<HttpRequest> request) throws InterruptedException {
+        send(request.get());
+        List<LevelResult> results = new ArrayList<>();
+        System.out.printf("%n[%s] %s%n%8s %9s %8s %10s %8s %8s%n",
+                label, endpoint, "clients", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        for (int clients : levels) {
+            LevelResult result = runLevel(clients, request);
+            results.add(result);
+            System.out.printf("%8d %9d %7.1f%% %10.1f %8d %8d%n", result.clients(), result.requests(),
+                    result.errorRate() * 100, result.throughput(), result.p50Millis(), result.p99Millis());
+        }
+        return results;
+    }
+
+    private LevelResult runLevel(int clients, Supplier<HttpRequest> request) throws InterruptedException {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(clients);
+        long began;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        for (int r = 0; r < requestsPerClient; r++) {
+                            long t0 = System.nanoTime();
+                            if (!send(request.get())) {
+                                errors.incrementAndGet();
+                            }
+                            latencies.add(System.nanoTime() - t0);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            began = System.nanoTime();
+            start.countDown();
+            done.await();
+        }
+        double seconds = (System.nanoTime() - began) / 1_000_000_000.0;
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new LevelResult(clients, sorted.length, errors.get(), sorted.length / seconds,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+    }
+
+    private boolean send(HttpRequest request) throws InterruptedException {
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (java.io.IOException e) {
+            return false;
+        }
+    }
+
+    private static long percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000;
+    }
+}
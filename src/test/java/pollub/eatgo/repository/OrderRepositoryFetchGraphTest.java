@@ -0,0 +1,98 @@
+package pollub.eatgo.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import pollub.eatgo.TestFixtures;
+import pollub.eatgo.model.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryFetchGraphTest {
+
+    private static final int ORDERS = 5;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TestFixtures fixtures;
+    private Restaurant restaurant;
+    private User client;
+    private User courier;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        restaurant = fixtures.restaurant(fixtures.admin());
+        client = fixtures.client();
+        courier = fixtures.courier("courier@example.com", "Courier", restaurant);
+
+        for (int i = 0; i < ORDERS; i++) {
+            Address address = fixtures.address(client, "Testowa " + i);
+            Order order = fixtures.order(client, restaurant, address, OrderStatus.IN_DELIVERY);
+            order.setCourier(courier);
+            fixtures.item(order, fixtures.dish(restaurant, "Dish A" + i, 10.0), 1);
+            fixtures.item(order, fixtures.dish(restaurant, "Dish B" + i, 12.0), 1);
+            fixtures.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void touchEverything(List<Order> orders) {
+        for (Order order : orders) {
+            assertNotNull(order.getUser().getEmail());
+            assertNotNull(order.getCourier().getFullName());
+            assertNotNull(order.getRestaurant().getName());
+            assertNotNull(order.getAddress().getCity());
+            order.getItems().forEach(item -> assertNotNull(item.getDish().getName()));
+        }
+    }
+
+    @Test
+    void findByRestaurantId_ShouldLoadOrdersWithAssociationsInOneStatement() {
+        Statistics statistics = fixtures.statistics();
+
+        List<Order> orders = orderRepository.findByRestaurantIdOrderByCreatedAtDesc(restaurant.getId());
+        touchEverything(orders);
+
+        assertEquals(ORDERS, orders.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByUserId_ShouldLoadOrdersWithAssociationsInOneStatement() {
+        Statistics statistics = fixtures.statistics();
+
+        List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(client.getId());
+        touchEverything(orders);
+
+        assertEquals(ORDERS, orders.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByCourierId_ShouldLoadOrdersWithAssociationsInOneStatement() {
+        Statistics statistics = fixtures.statistics();
+
+        List<Order> orders = orderRepository.findByCourierIdOrderByCreatedAtDesc(courier.getId());
+        touchEverything(orders);
+
+        assertEquals(ORDERS, orders.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
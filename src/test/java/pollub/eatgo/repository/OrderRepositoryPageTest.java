@@ -0,0 +1,119 @@
+package pollub.eatgo.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import pollub.eatgo.TestFixtures;
+import pollub.eatgo.dto.order.OrderPage;
+import pollub.eatgo.dto.order.OrderPageRequest;
+import pollub.eatgo.model.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryPageTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TestFixtures fixtures;
+    private Restaurant restaurant;
+    private List<Long> newestFirst;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        restaurant = fixtures.restaurant(fixtures.admin());
+        User client = fixtures.client();
+        Address address = fixtures.address(client);
+        Dish dish = fixtures.dish(restaurant, "Pizza", 20.0);
+
+        newestFirst = new ArrayList<>();
+        OrderStatus[] statuses = {OrderStatus.DELIVERED, OrderStatus.PLACED, OrderStatus.DELIVERED, OrderStatus.COOKING, OrderStatus.DELIVERED};
+        for (OrderStatus status : statuses) {
+            Order order = fixtures.order(client, restaurant, address, status);
+            fixtures.item(order, dish, 1);
+            fixtures.persist(order);
+            newestFirst.add(0, order.getId());
+        }
+        entityManager.flush();
+        // Wspólny znacznik czasu wymusza rozstrzyganie kolejności po id.
+        entityManager.createQuery("update Order o set o.createdAt = :createdAt")
+                .setParameter("createdAt", LocalDateTime.of(2024, 5, 1, 12, 0))
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void findPage_ShouldWalkAllOrdersWithoutGapsOrDuplicates() {
+        List<Long> seen = new ArrayList<>();
+        OrderPageRequest request = OrderPageRequest.first(2);
+        OrderPage<Order> page;
+        do {
+            page = orderRepository.findPage(OrderRepositoryCustom.OrderOwner.RESTAURANT, restaurant.getId(), request);
+            page.items().forEach(order -> seen.add(order.getId()));
+            request = request.after(page.nextCursor());
+        } while (page.nextCursor() != null);
+
+        assertEquals(newestFirst, seen);
+    }
+
+    @Test
+    void findPage_ShouldWalkOldestFirstWhenRequested() {
+        List<Long> seen = new ArrayList<>();
+        OrderPageRequest request = OrderPageRequest.first(2).withOldestFirst(true);
+        OrderPage<Order> page;
+        do {
+            page = orderRepository.findPage(OrderRepositoryCustom.OrderOwner.RESTAURANT, restaurant.getId(), request);
+            page.items().forEach(order -> seen.add(order.getId()));
+            request = request.after(page.nextCursor());
+        } while (page.nextCursor() != null);
+
+        assertEquals(newestFirst.reversed(), seen);
+    }
+
+    @Test
+    void findPage_ShouldApplyStatusAndDateFilters() {
+        OrderPageRequest delivered = OrderPageRequest.first(10).withStatuses(Set.of(OrderStatus.DELIVERED));
+        OrderPage<Order> page = orderRepository.findPage(OrderRepositoryCustom.OrderOwner.RESTAURANT, restaurant.getId(), delivered);
+
+        assertEquals(3, page.items().size());
+        assertTrue(page.items().stream().allMatch(order -> order.getStatus() == OrderStatus.DELIVERED));
+        assertNull(page.nextCursor());
+
+        OrderPageRequest later = new OrderPageRequest(null, 10, Set.of(), LocalDateTime.of(2024, 6, 1, 0, 0), null);
+        assertTrue(orderRepository.findPage(OrderRepositoryCustom.OrderOwner.RESTAURANT, restaurant.getId(), later).items().isEmpty());
+    }
+
+    @Test
+    void findPage_ShouldLoadPageWithAssociationsInTwoStatements() {
+        Statistics statistics = fixtures.statistics();
+
+        OrderPage<Order> page = orderRepository.findPage(OrderRepositoryCustom.OrderOwner.RESTAURANT, restaurant.getId(), OrderPageRequest.first(3));
+        page.items().forEach(order -> {
+            assertNotNull(order.getUser().getEmail());
+            assertNotNull(order.getAddress().getCity());
+            order.getItems().forEach(item -> assertNotNull(item.getDish().getName()));
+        });
+
+        assertEquals(3, page.items().size());
+        assertNotNull(page.nextCursor());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
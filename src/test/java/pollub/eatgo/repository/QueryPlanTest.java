@@ -0,0 +1,204 @@
+package pollub.eatgo.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import pollub.eatgo.dto.order.OrderPageRequest;
+import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plany zapytań repozytoriów na zasianych danych (PostgreSQL 16+, wymaga {@code EXPLAIN (GENERIC_PLAN)}).
+ * <p>
+ * Każda metoda repozytorium jest wywoływana raz, a SQL wygenerowany przez Hibernate przechwytuje
+ * {@link SqlCapture}. Test nie przechodzi, jeśli którekolwiek zapytanie filtruje tabelę skanem
+ * sekwencyjnym; skan bez warunku (np. strona budująca hash join) jest dozwolony. Uruchamiany tylko
+ * przy ustawionym {@code EATGO_EXPLAIN_DB_URL} wskazującym na osobną, pustą bazę.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "EATGO_EXPLAIN_DB_URL", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${EATGO_EXPLAIN_DB_URL}",
+        "spring.datasource.username=${EATGO_EXPLAIN_DB_USER:postgres}",
+        "spring.datasource.password=${EATGO_EXPLAIN_DB_PASSWORD:postgres}",
+        // EXPLAIN (GENERIC_PLAN) z $1..$n musi iść protokołem prostym — w rozszerzonym serwer czeka na wartości parametrów
+        "spring.datasource.hikari.data-source-properties.preferQueryMode=simple",
+        "spring.flyway.url=${EATGO_EXPLAIN_DB_URL}",
+        "spring.flyway.user=${EATGO_EXPLAIN_DB_USER:postgres}",
+        "spring.flyway.password=${EATGO_EXPLAIN_DB_PASSWORD:postgres}",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=pollub.eatgo.repository.QueryPlanTest$SqlCapture"
+})
+class QueryPlanTest {
+
+    private static final Set<String> SEEDED_TABLES =
+            Set.of("orders", "order_items", "reviews", "dishes", "users", "restaurants", "addresses");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderItemRepository orderItemRepository;
+    @Autowired private ReviewRepository reviewRepository;
+    @Autowired private DishRepository dishRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private RestaurantRepository restaurantRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private long restaurantId;
+    private long adminId;
+    private long clientId;
+    private long courierId;
+    private long orderId;
+
+    /**
+     * Zbiera SQL wysyłany przez Hibernate (rejestrowany przez {@code hibernate.session_factory.statement_inspector}).
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("insert into users (email, password, full_name, role) " +
+                "select 'plan-admin-' || g || '@test', 'x', 'Admin ' || g, 'RESTAURANT_ADMIN' from generate_series(1, 2000) g");
+        jdbcTemplate.execute("insert into restaurants (name, address, delivery_price, admin_id) " +
+                "select 'Plan ' || u.id, 'Testowa 1', 5, u.id from users u where u.email like 'plan-admin-%'");
+        jdbcTemplate.execute("insert into users (email, password, full_name, role, restaurant_id) " +
+                "select 'plan-courier-' || r.id || '-' || g || '@test', 'x', 'Kurier ' || g, 'COURIER', r.id " +
+                "from restaurants r cross join generate_series(1, 10) g where r.name like 'Plan %'");
+        jdbcTemplate.execute("insert into users (email, password, full_name, role) " +
+                "select 'plan-client-' || g || '@test', 'x', 'Klient ' || g, 'CLIENT' from generate_series(1, 20000) g");
+        jdbcTemplate.execute("insert into addresses (user_id, city, street, postal_code) " +
+                "select u.id, 'Lublin', 'Testowa 1', '20-001' from users u where u.email like 'plan-client-%'");
+        jdbcTemplate.execute("insert into dishes (restaurant_id, name, price, available) " +
+                "select r.id, 'Danie ' || g, 20, g % 10 <> 0 " +
+                "from restaurants r cross join generate_series(1, 30) g where r.name like 'Plan %'");
+        jdbcTemplate.execute(
+                "with bounds as (select " +
+                "    (select min(id) from restaurants where name like 'Plan %') as first_restaurant, " +
+                "    (select min(a.id) from addresses a join users u on u.id = a.user_id where u.email like 'plan-client-%') as first_address) " +
+                "insert into orders (user_id, restaurant_id, courier_id, address_id, status, total_price, delivery_price, created_at) " +
+                "select a.user_id, b.first_restaurant + g % 200, " +
+                "       case when g % 5 = 0 then null else (select c.id from users c " +
+                "           where c.restaurant_id = b.first_restaurant + g % 200 order by c.id offset g % 10 limit 1) end, " +
+                "       a.id, case when g % 50 = 0 then 'PLACED' when g % 5 = 0 then 'CANCELLED' else 'DELIVERED' end, " +
+                "       45, 5, now() - (g || ' minutes')::interval " +
+                "from generate_series(1, 100000) g cross join bounds b " +
+                "join addresses a on a.id = b.first_address + g % 20000");
+        jdbcTemplate.execute("insert into order_items (order_id, dish_id, quantity, price_snapshot) " +
+                "select o.id, (select d.id from dishes d where d.restaurant_id = o.restaurant_id order by d.id offset k limit 1), 1, 20 " +
+                "from orders o cross join generate_series(0, 1) k");
+        jdbcTemplate.execute("insert into reviews (order_id, reviewer_id, target_type, target_id, rating, created_at) " +
+                "select o.id, o.user_id, 'RESTAURANT', o.restaurant_id, 4, o.created_at from orders o where o.status = 'DELIVERED'");
+        jdbcTemplate.execute("analyze");
+
+        restaurantId = jdbcTemplate.queryForObject("select min(id) from restaurants where name like 'Plan %'", Long.class);
+        adminId = jdbcTemplate.queryForObject("select admin_id from restaurants where id = ?", Long.class, restaurantId);
+        courierId = jdbcTemplate.queryForObject("select min(id) from users where restaurant_id = ?", Long.class, restaurantId);
+        orderId = jdbcTemplate.queryForObject("select min(id) from orders where restaurant_id = ?", Long.class, restaurantId);
+        clientId = jdbcTemplate.queryForObject("select user_id from orders where id = ?", Long.class, orderId);
+    }
+
+    @Test
+    void repositoryQueries_ShouldNotFilterWithSequentialScans() throws Exception {
+        List<String> violations = new ArrayList<>();
+        OrderPageRequest page = OrderPageRequest.first(OrderPageRequest.DEFAULT_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+
+        check(violations, "OrderRepository.findByUserIdOrderByCreatedAtDesc", () -> orderRepository.findByUserIdOrderByCreatedAtDesc(clientId));
+        check(violations, "OrderRepository.findByIdAndUserId", () -> orderRepository.findByIdAndUserId(orderId, clientId));
+        check(violations, "OrderRepository.findByIdAndRestaurantId", () -> orderRepository.findByIdAndRestaurantId(orderId, restaurantId));
+        check(violations, "OrderRepository.findByIdAndCourierId", () -> orderRepository.findByIdAndCourierId(orderId, courierId));
+        check(violations, "OrderRepository.existsByCourierIdAndStatus", () -> orderRepository.existsByCourierIdAndStatus(courierId, OrderStatus.IN_DELIVERY));
+        check(violations, "OrderRepository.findByUserIdAndRestaurantIdAndStatus",
+                () -> orderRepository.findByUserIdAndRestaurantIdAndStatus(clientId, restaurantId, OrderStatus.DELIVERED));
+        check(violations, "OrderRepository.aggregateTotals", () -> orderRepository.aggregateTotals(restaurantId,
+                now.minusDays(1), now.minusDays(7), now.minusDays(30), OrderStatus.DELIVERED, List.of(OrderStatus.PLACED)));
+        check(violations, "OrderRepository.countDeliveriesByCourier", () -> orderRepository.countDeliveriesByCourier(restaurantId));
+        check(violations, "OrderRepository.findPage(RESTAURANT)",
+                () -> orderRepository.findPage(OrderRepositoryCustom.OrderOwner.RESTAURANT, restaurantId, page));
+        check(violations, "OrderRepository.findPage(USER)",
+                () -> orderRepository.findPage(OrderRepositoryCustom.OrderOwner.USER, clientId, page));
+        check(violations, "OrderRepository.findPage(COURIER)",
+                () -> orderRepository.findPage(OrderRepositoryCustom.OrderOwner.COURIER, courierId, page));
+        check(violations, "OrderItemRepository.findByOrderId", () -> orderItemRepository.findByOrderId(orderId));
+        check(violations, "OrderItemRepository.findTopDishes",
+                () -> orderItemRepository.findTopDishes(restaurantId, OrderStatus.DELIVERED, PageRequest.of(0, 10)));
+        check(violations, "ReviewRepository.existsByOrderIdAndReviewerIdAndTargetType",
+                () -> reviewRepository.existsByOrderIdAndReviewerIdAndTargetType(orderId, clientId, "RESTAURANT"));
+        check(violations, "ReviewRepository.findByTargetTypeAndTargetIdOrderByCreatedAtDesc",
+                () -> reviewRepository.findByTargetTypeAndTargetIdOrderByCreatedAtDesc("RESTAURANT", restaurantId));
+        check(violations, "DishRepository.findByRestaurantIdAndAvailableTrue", () -> dishRepository.findByRestaurantIdAndAvailableTrue(restaurantId));
+        check(violations, "DishRepository.findByRestaurantId", () -> dishRepository.findByRestaurantId(restaurantId));
+        check(violations, "UserRepository.findByEmail", () -> userRepository.findByEmail("plan-client-1@test"));
+        check(violations, "UserRepository.findByRestaurantIdAndRole",
+                () -> userRepository.findByRestaurantIdAndRole(restaurantId, User.Role.COURIER));
+        check(violations, "UserRepository.findByIdAndRestaurantId", () -> userRepository.findByIdAndRestaurantId(courierId, restaurantId));
+        check(violations, "AddressRepository.findByUserIdOrderByIdDesc", () -> addressRepository.findByUserIdOrderByIdDesc(clientId));
+        check(violations, "RestaurantRepository.findByAdminId", () -> restaurantRepository.findByAdminId(adminId));
+
+        assertTrue(violations.isEmpty(), "Sequential scans with a filter:\n" + String.join("\n", violations));
+    }
+
+    private void check(List<String> violations, String name, Runnable query) throws Exception {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        List<String> statements = List.copyOf(SqlCapture.STATEMENTS);
+        assertFalse(statements.isEmpty(), name + " issued no SQL");
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject(
+                    "explain (generic_plan, format json) " + numberParameters(sql), String.class);
+            collectFilteredSeqScans(objectMapper.readTree(plan).get(0).get("Plan"), name, violations);
+        }
+    }
+
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static void collectFilteredSeqScans(JsonNode node, String query, List<String> violations) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && node.has("Filter")
+                && SEEDED_TABLES.contains(node.path("Relation Name").asText())) {
+            violations.add(query + ": Seq Scan on " + node.path("Relation Name").asText()
+                    + " (" + node.path("Filter").asText() + ")");
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectFilteredSeqScans(child, query, violations);
+        }
+    }
+}
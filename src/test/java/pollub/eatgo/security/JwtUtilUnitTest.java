@@ -0,0 +1,56 @@
+package pollub.eatgo.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import pollub.eatgo.model.User;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilUnitTest {
+
+    private JwtUtil jwtUtil;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = createJwtUtil(86_400_000L);
+        user = User.builder().id(7L).email("courier@example.com").role(User.Role.COURIER).build();
+    }
+
+    private JwtUtil createJwtUtil(long expirationMs) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "jwtSecret", "test-secret-that-is-long-enough-for-hs256-signing");
+        ReflectionTestUtils.setField(util, "expirationMs", expirationMs);
+        ReflectionTestUtils.invokeMethod(util, "init");
+        return util;
+    }
+
+    @Test
+    void authenticate_ShouldReturnTypedPrincipalAndCacheIt() {
+        String token = jwtUtil.generateToken(user);
+
+        JwtPrincipal first = jwtUtil.authenticate(token).orElseThrow();
+        JwtPrincipal second = jwtUtil.authenticate(token).orElseThrow();
+
+        assertEquals(7L, first.id());
+        assertEquals("courier@example.com", first.getName());
+        assertEquals("COURIER", first.role());
+        assertSame(first, second);
+        assertEquals(1, jwtUtil.cachedTokens());
+    }
+
+    @Test
+    void authenticate_ShouldRejectTamperedAndExpiredTokens() {
+        String token = jwtUtil.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        JwtUtil shortLived = createJwtUtil(-1_000L);
+
+        assertEquals(Optional.empty(), jwtUtil.authenticate(tampered));
+        assertEquals(Optional.empty(), shortLived.authenticate(shortLived.generateToken(user)));
+        assertEquals(Optional.empty(), jwtUtil.authenticate(""));
+        assertEquals(0, shortLived.cachedTokens());
+    }
+}
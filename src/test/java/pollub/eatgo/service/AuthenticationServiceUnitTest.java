@@ -0,0 +1,94 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pollub.eatgo.model.User;
+import pollub.eatgo.repository.RestaurantRepository;
+import pollub.eatgo.repository.UserRepository;
+import pollub.eatgo.security.JwtUtil;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private AuthenticationManager authenticationManager;
+    @Mock
+    private JwtUtil jwtUtil;
+    @Mock
+    private RestaurantRepository restaurantRepository;
+    @Mock
+    private RestaurantSearchIndex restaurantSearchIndex;
+    @Mock
+    private TenantResolver tenantResolver;
+
+    @InjectMocks
+    private AuthenticationService authenticationService;
+
+    @Test
+    void login_ShouldReturnTokenWithoutHttpRoundTrip() {
+        User user = User.builder().id(1L).email("client@example.com").role(User.Role.CLIENT).build();
+        when(userRepository.findByEmail("client@example.com")).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(user)).thenReturn("token");
+
+        AuthenticationService.AuthResult result = authenticationService.login("client@example.com", "secret");
+
+        assertTrue(result.isSuccess());
+        assertEquals("token", result.getToken());
+        assertEquals("CLIENT", result.getRole());
+        verify(authenticationManager).authenticate(any());
+    }
+
+    @Test
+    void login_ShouldReportInvalidCredentials() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+
+        AuthenticationService.AuthResult result = authenticationService.login("client@example.com", "wrong");
+
+        assertFalse(result.isSuccess());
+        assertEquals(AuthenticationService.Failure.INVALID_CREDENTIALS, result.getFailure());
+        assertEquals("Invalid credentials", result.getApiMessage());
+        assertEquals("Nieprawidłowy email lub hasło", result.getErrorMessage());
+    }
+
+    @Test
+    void register_ShouldValidateRestaurantDataBeforeSavingUser() {
+        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.empty());
+
+        AuthenticationService.AuthResult result = authenticationService.register(
+                "admin@example.com", "secret", "Admin", "RESTAURANT_ADMIN", null, null, null);
+
+        assertFalse(result.isSuccess());
+        assertEquals(AuthenticationService.Failure.INVALID_INPUT, result.getFailure());
+        assertEquals("restaurantName and restaurantAddress are required for RESTAURANT_ADMIN", result.getApiMessage());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void register_ShouldNotLeakExceptionDetails() {
+        when(userRepository.findByEmail("client@example.com")).thenReturn(Optional.empty());
+        when(userRepository.save(any())).thenThrow(new IllegalStateException("relation \"users\" does not exist"));
+
+        AuthenticationService.AuthResult result = authenticationService.register(
+                "client@example.com", "secret", "Klient", "CLIENT", null, null, null);
+
+        assertFalse(result.isSuccess());
+        assertEquals(AuthenticationService.Failure.ERROR, result.getFailure());
+        assertFalse(result.getErrorMessage().contains("users"));
+    }
+}
@@ -0,0 +1,160 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pollub.eatgo.model.*;
+import pollub.eatgo.repository.OrderRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourierDispatcherUnitTest {
+
+    private static final Long RESTAURANT_ID = 1L;
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private RestaurantService restaurantService;
+
+    private CourierStatusIndex courierStatusIndex;
+    private CourierDispatcher courierDispatcher;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+        courierStatusIndex = new CourierStatusIndex(orderRepository);
+        courierDispatcher = new CourierDispatcher(orderRepository, restaurantService, courierStatusIndex, true);
+        restaurant = Restaurant.builder().id(RESTAURANT_ID).name("Test Restaurant").build();
+        courierStatusIndex.onCourierAdded(RESTAURANT_ID, 10L);
+        courierStatusIndex.onCourierAdded(RESTAURANT_ID, 11L);
+        courierStatusIndex.onOrderStatusChanged(event(100L, 11L, OrderStatus.READY, OrderStatus.IN_DELIVERY));
+        lenient().when(orderRepository.countByCourierIdAndStatus(anyLong(), eq(OrderStatus.IN_DELIVERY)))
+                .thenAnswer(inv -> (long) courierStatusIndex.activeDeliveries(inv.getArgument(0)));
+    }
+
+    private OrderStatusChangedEvent event(Long orderId, Long courierId, OrderStatus from, OrderStatus to) {
+        return new OrderStatusChangedEvent(orderId, RESTAURANT_ID, courierId, from, to, LocalDateTime.now());
+    }
+
+    private Order readyOrder(Long id, String postalCode) {
+        courierDispatcher.onOrderStatusChanged(event(id, null, OrderStatus.COOKING, OrderStatus.READY));
+        return Order.builder()
+                .id(id)
+                .restaurant(restaurant)
+                .address(Address.builder().city("Lublin").street("Testowa 1").postalCode(postalCode).build())
+                .status(OrderStatus.READY)
+                .build();
+    }
+
+    private void assignmentsSucceed() {
+        when(restaurantService.dispatchCourier(anyLong(), anyLong())).thenAnswer(inv -> {
+            courierStatusIndex.onOrderStatusChanged(event(inv.getArgument(0), inv.getArgument(1),
+                    OrderStatus.READY, OrderStatus.IN_DELIVERY));
+            return true;
+        });
+    }
+
+    @Test
+    void dispatch_ShouldBatchNearbyOrdersToLeastLoadedCourier() {
+        List<Order> ready = List.of(readyOrder(1L, "20-001"), readyOrder(2L, "20-001"), readyOrder(3L, "20-950"));
+        when(orderRepository.findUnassignedByIdInAndStatus(any(), eq(OrderStatus.READY))).thenReturn(ready);
+        assignmentsSucceed();
+
+        courierDispatcher.dispatch();
+
+        verify(restaurantService).dispatchCourier(1L, 10L);
+        verify(restaurantService).dispatchCourier(2L, 10L);
+        verify(restaurantService).dispatchCourier(3L, 11L);
+        assertEquals(2, courierStatusIndex.activeDeliveries(10L));
+        assertEquals(2, courierStatusIndex.activeDeliveries(11L));
+        assertEquals(0, courierDispatcher.pendingCount());
+    }
+
+    @Test
+    void dispatch_ShouldKeepOrdersPendingWhenAllCouriersAreFull() {
+        courierStatusIndex.onCourierRemoved(10L);
+        List<Order> ready = List.of(readyOrder(1L, "20-001"), readyOrder(2L, "20-001"), readyOrder(3L, "20-001"));
+        when(orderRepository.findUnassignedByIdInAndStatus(any(), eq(OrderStatus.READY))).thenReturn(ready);
+        assignmentsSucceed();
+
+        courierDispatcher.dispatch();
+
+        verify(restaurantService).dispatchCourier(1L, 11L);
+        verify(restaurantService).dispatchCourier(2L, 11L);
+        verify(restaurantService, never()).dispatchCourier(eq(3L), anyLong());
+        assertEquals(0, courierStatusIndex.remainingCapacity(11L));
+        assertEquals(1, courierDispatcher.pendingCount());
+    }
+
+    @Test
+    void dispatch_ShouldSkipOrdersAssignedManuallyInTheMeantime() {
+        List<Order> ready = List.of(readyOrder(1L, "20-001"));
+        when(orderRepository.findUnassignedByIdInAndStatus(any(), eq(OrderStatus.READY))).thenReturn(ready);
+        when(restaurantService.dispatchCourier(1L, 10L))
+                .thenThrow(new OrderTransitionConflictException(1L, OrderStatus.IN_DELIVERY));
+
+        courierDispatcher.dispatch();
+
+        assertEquals(0, courierStatusIndex.activeDeliveries(10L));
+        assertEquals(0, courierDispatcher.pendingCount());
+    }
+
+    @Test
+    void dispatch_ShouldTrustDatabaseCountOverStaleIndex() {
+        when(orderRepository.countByCourierIdAndStatus(10L, OrderStatus.IN_DELIVERY))
+                .thenReturn((long) CourierStatusIndex.MAX_ACTIVE_DELIVERIES);
+        List<Order> ready = List.of(readyOrder(1L, "20-001"));
+        when(orderRepository.findUnassignedByIdInAndStatus(any(), eq(OrderStatus.READY))).thenReturn(ready);
+        assignmentsSucceed();
+
+        courierDispatcher.dispatch();
+
+        verify(restaurantService, never()).dispatchCourier(anyLong(), eq(10L));
+        verify(restaurantService).dispatchCourier(1L, 11L);
+        assertEquals(CourierStatusIndex.MAX_ACTIVE_DELIVERIES, courierStatusIndex.activeDeliveries(10L));
+    }
+
+    @Test
+    void dispatch_ShouldRetryOrderWhenCourierFilledUpOnAnotherNode() {
+        List<Order> ready = List.of(readyOrder(1L, "20-001"));
+        when(orderRepository.findUnassignedByIdInAndStatus(any(), eq(OrderStatus.READY))).thenReturn(ready);
+        when(restaurantService.dispatchCourier(1L, 10L)).thenReturn(false);
+
+        courierDispatcher.dispatch();
+
+        assertEquals(1, courierDispatcher.pendingCount());
+    }
+
+    @Test
+    void dispatch_ShouldBackOffBeforeRetryingOrderWithoutCourier() {
+        courierStatusIndex.onCourierRemoved(10L);
+        courierStatusIndex.onCourierRemoved(11L);
+        List<Order> ready = List.of(readyOrder(1L, "20-001"));
+        when(orderRepository.findUnassignedByIdInAndStatus(any(), eq(OrderStatus.READY))).thenReturn(ready);
+
+        courierDispatcher.dispatch();
+        courierDispatcher.dispatch();
+
+        verify(orderRepository, times(1)).findUnassignedByIdInAndStatus(any(), eq(OrderStatus.READY));
+        assertEquals(1, courierDispatcher.pendingCount());
+    }
+
+    @Test
+    void onOrderStatusChanged_ShouldReleaseCourierAfterDelivery() {
+        courierStatusIndex.onOrderStatusChanged(event(100L, 11L, OrderStatus.IN_DELIVERY, OrderStatus.DELIVERED));
+
+        assertEquals(0, courierStatusIndex.activeDeliveries(11L));
+        assertEquals(CourierStatusIndex.MAX_ACTIVE_DELIVERIES, courierStatusIndex.remainingCapacity(11L));
+    }
+}
@@ -0,0 +1,102 @@
+package pollub.eatgo.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import pollub.eatgo.TestFixtures;
+import pollub.eatgo.model.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import(CourierStatusIndex.class)
+class CourierStatusIndexIntegrationTest {
+
+    @Autowired
+    private CourierStatusIndex courierStatusIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TestFixtures fixtures;
+    private Restaurant restaurant;
+    private User busyCourier;
+    private User idleCourier;
+    private User newCourier;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        restaurant = fixtures.restaurant(fixtures.admin());
+        User client = fixtures.client();
+        busyCourier = fixtures.courier("busy@example.com", "Busy", restaurant);
+        idleCourier = fixtures.courier("idle@example.com", "Idle", restaurant);
+        newCourier = fixtures.courier("new@example.com", "New", restaurant);
+        Address address = fixtures.address(client);
+
+        for (int i = 0; i < 3; i++) {
+            fixtures.persist(order(client, address, busyCourier, OrderStatus.IN_DELIVERY));
+        }
+        fixtures.persist(order(client, address, busyCourier, OrderStatus.DELIVERED));
+        fixtures.persist(order(client, address, idleCourier, OrderStatus.DELIVERED));
+        fixtures.persist(order(client, address, null, OrderStatus.READY));
+        entityManager.flush();
+        entityManager.clear();
+
+        courierStatusIndex.rebuild();
+    }
+
+    private Order order(User client, Address address, User courier, OrderStatus status) {
+        Order order = fixtures.order(client, restaurant, address, status);
+        order.setCourier(courier);
+        return order;
+    }
+
+    @Test
+    void rebuild_ShouldLoadActiveDeliveriesAndLastDeliveryForEveryCourier() {
+        CourierStatusIndex.CourierStatus busy = courierStatusIndex.status(busyCourier.getId());
+        CourierStatusIndex.CourierStatus idle = courierStatusIndex.status(idleCourier.getId());
+        CourierStatusIndex.CourierStatus fresh = courierStatusIndex.status(newCourier.getId());
+
+        assertEquals(3, busy.activeDeliveries());
+        assertFalse(busy.available());
+        assertNotNull(busy.lastDeliveredAt());
+        assertEquals(0, idle.activeDeliveries());
+        assertTrue(idle.available());
+        assertNotNull(idle.lastDeliveredAt());
+        assertEquals(0, fresh.activeDeliveries());
+        assertNull(fresh.lastDeliveredAt());
+    }
+
+    @Test
+    void leastLoadedCourier_ShouldPreferCourierWaitingLongest() {
+        assertEquals(Optional.of(newCourier.getId()), courierStatusIndex.leastLoadedCourier(restaurant.getId()));
+    }
+
+    @Test
+    void onOrderStatusChanged_ShouldTrackDeliveriesAfterStartup() {
+        LocalDateTime deliveredAt = LocalDateTime.now().plusMinutes(5);
+
+        courierStatusIndex.onOrderStatusChanged(new OrderStatusChangedEvent(
+                1L, restaurant.getId(), busyCourier.getId(), OrderStatus.IN_DELIVERY, OrderStatus.DELIVERED, deliveredAt));
+        courierStatusIndex.onOrderStatusChanged(new OrderStatusChangedEvent(
+                2L, restaurant.getId(), newCourier.getId(), OrderStatus.READY, OrderStatus.IN_DELIVERY, deliveredAt));
+
+        CourierStatusIndex.CourierStatus busy = courierStatusIndex.status(busyCourier.getId());
+        assertEquals(2, busy.activeDeliveries());
+        assertTrue(busy.available());
+        assertEquals(deliveredAt, busy.lastDeliveredAt());
+        assertEquals(1, courierStatusIndex.activeDeliveries(newCourier.getId()));
+        assertEquals(Optional.of(idleCourier.getId()), courierStatusIndex.leastLoadedCourier(restaurant.getId()));
+    }
+}
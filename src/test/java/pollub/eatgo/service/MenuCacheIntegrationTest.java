@@ -0,0 +1,88 @@
+package pollub.eatgo.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+import pollub.eatgo.TestFixtures;
+import pollub.eatgo.config.PrimaryDatabase;
+import pollub.eatgo.dto.dish.MenuSnapshot;
+import pollub.eatgo.model.Dish;
+import pollub.eatgo.model.Restaurant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({MenuCache.class, PrimaryDatabase.class})
+class MenuCacheIntegrationTest {
+
+    @Autowired
+    private MenuCache menuCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TestFixtures fixtures;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        restaurant = fixtures.restaurant(fixtures.admin());
+        fixtures.dish(restaurant, "Pizza", 20.0);
+        fixtures.dish(restaurant, "Zupa", 12.0).setAvailable(false);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void get_ShouldLoadAvailableDishesWithOneQueryAndServeFromCacheAfterwards() {
+        Statistics statistics = fixtures.statistics();
+
+        MenuSnapshot first = menuCache.get(restaurant.getId());
+        MenuSnapshot second = menuCache.get(restaurant.getId());
+
+        assertEquals(1, first.dishes().size());
+        assertEquals("Pizza", first.dishes().get(0).name());
+        assertSame(first, second);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void invalidate_ShouldReloadAndChangeEtagWhenMenuChanged() {
+        MenuSnapshot before = menuCache.get(restaurant.getId());
+        entityManager.persist(Dish.builder().name("Burger").price(25.0).available(true)
+                .restaurant(entityManager.getReference(Restaurant.class, restaurant.getId())).build());
+        entityManager.flush();
+
+        assertSame(before, menuCache.get(restaurant.getId()));
+        menuCache.invalidate(restaurant.getId());
+        MenuSnapshot after = menuCache.get(restaurant.getId());
+
+        assertEquals(2, after.dishes().size());
+        assertNotEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void get_ShouldKeepEtagForUnchangedMenu() {
+        String etag = menuCache.get(restaurant.getId()).etag();
+
+        menuCache.invalidate(restaurant.getId());
+
+        assertEquals(etag, menuCache.get(restaurant.getId()).etag());
+    }
+
+    @Test
+    void get_ShouldRejectUnknownRestaurant() {
+        assertThrows(ResponseStatusException.class, () -> menuCache.get(restaurant.getId() + 1000));
+    }
+}
@@ -0,0 +1,99 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import pollub.eatgo.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderEventBroadcasterUnitTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final OrderNotificationStore store = mock(OrderNotificationStore.class);
+    private final OrderEventBroadcaster broadcaster = new OrderEventBroadcaster(executor, store);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private OrderStatusChangedEvent event(Long orderId, Long restaurantId, Long courierId,
+                                          OrderStatus from, OrderStatus to) {
+        return new OrderStatusChangedEvent(orderId, restaurantId, courierId, from, to, LocalDateTime.now());
+    }
+
+    @Test
+    void onOrderStatusChanged_ShouldDeliverToRestaurantAndAssignedCourierOnly() throws InterruptedException {
+        BlockingQueue<OrderStatusChangedEvent> restaurantEvents = new LinkedBlockingQueue<>();
+        BlockingQueue<OrderStatusChangedEvent> courierEvents = new LinkedBlockingQueue<>();
+        BlockingQueue<OrderStatusChangedEvent> otherRestaurantEvents = new LinkedBlockingQueue<>();
+        broadcaster.subscribeRestaurant(1L, restaurantEvents::add);
+        broadcaster.subscribeCourier(10L, courierEvents::add);
+        broadcaster.subscribeRestaurant(2L, otherRestaurantEvents::add);
+
+        broadcaster.onOrderStatusChanged(event(100L, 1L, null, null, OrderStatus.PLACED));
+        broadcaster.onOrderStatusChanged(event(100L, 1L, 10L, OrderStatus.READY, OrderStatus.IN_DELIVERY));
+
+        OrderStatusChangedEvent created = restaurantEvents.poll(1, TimeUnit.SECONDS);
+        OrderStatusChangedEvent assigned = restaurantEvents.poll(1, TimeUnit.SECONDS);
+        assertEquals(OrderStatusChangedEvent.Type.CREATED, created.type());
+        assertEquals(OrderStatusChangedEvent.Type.COURIER_ASSIGNED, assigned.type());
+        assertEquals(assigned, courierEvents.poll(1, TimeUnit.SECONDS));
+        assertTrue(courierEvents.isEmpty());
+        assertTrue(otherRestaurantEvents.isEmpty());
+    }
+
+    @Test
+    void subscribe_ShouldStopDeliveringAfterUnsubscribe() throws InterruptedException {
+        BlockingQueue<OrderStatusChangedEvent> removed = new LinkedBlockingQueue<>();
+        BlockingQueue<OrderStatusChangedEvent> kept = new LinkedBlockingQueue<>();
+        Runnable unsubscribe = broadcaster.subscribeRestaurant(1L, removed::add);
+        broadcaster.subscribeRestaurant(1L, kept::add);
+
+        unsubscribe.run();
+        broadcaster.onOrderStatusChanged(event(100L, 1L, null, OrderStatus.PLACED, OrderStatus.ACCEPTED));
+
+        assertNotNull(kept.poll(1, TimeUnit.SECONDS));
+        assertTrue(removed.isEmpty());
+    }
+
+    @Test
+    void onOrderStatusChanged_ShouldIsolateFailingListener() throws InterruptedException {
+        BlockingQueue<OrderStatusChangedEvent> received = new LinkedBlockingQueue<>();
+        broadcaster.subscribeRestaurant(1L, e -> { throw new IllegalStateException("UI detached"); });
+        broadcaster.subscribeRestaurant(1L, received::add);
+
+        broadcaster.onOrderStatusChanged(event(100L, 1L, null, OrderStatus.PLACED, OrderStatus.ACCEPTED));
+
+        assertEquals(OrderStatus.ACCEPTED, received.poll(1, TimeUnit.SECONDS).currentStatus());
+    }
+
+    @Test
+    void onOrderStatusChanged_ShouldRelayToOtherNodesAndDeliverTheirEvents() throws InterruptedException {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<OrderStatusChangedEvent>> remote = ArgumentCaptor.forClass(Consumer.class);
+        verify(store).setOrderEventListener(remote.capture());
+        BlockingQueue<OrderStatusChangedEvent> received = new LinkedBlockingQueue<>();
+        broadcaster.subscribeRestaurant(1L, received::add);
+
+        OrderStatusChangedEvent local = event(100L, 1L, null, OrderStatus.PLACED, OrderStatus.ACCEPTED);
+        broadcaster.onOrderStatusChanged(local);
+        OrderStatusChangedEvent fromOtherNode = event(101L, 1L, null, OrderStatus.ACCEPTED, OrderStatus.COOKING);
+        remote.getValue().accept(fromOtherNode);
+
+        verify(store).publishOrderEvent(local);
+        verify(store, never()).publishOrderEvent(fromOtherNode);
+        assertEquals(local, received.poll(1, TimeUnit.SECONDS));
+        assertEquals(fromOtherNode, received.poll(1, TimeUnit.SECONDS));
+    }
+}
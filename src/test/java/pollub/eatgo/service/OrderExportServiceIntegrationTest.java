@@ -0,0 +1,104 @@
+package pollub.eatgo.service;
+
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+import pollub.eatgo.TestFixtures;
+import pollub.eatgo.config.PrimaryDatabase;
+import pollub.eatgo.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import({OrderExportService.class, TenantResolver.class, PrimaryDatabase.class})
+class OrderExportServiceIntegrationTest {
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TenantResolver tenantResolver;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        tenantResolver.clear();
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        admin = fixtures.admin();
+        Restaurant restaurant = fixtures.restaurant(admin);
+        User client = fixtures.client();
+        Address address = fixtures.address(client);
+        Dish pizza = fixtures.dish(restaurant, "Pizza", 20.0);
+        Dish burger = fixtures.dish(restaurant, "Burger", 25.0);
+
+        Order order = fixtures.order(client, restaurant, address, OrderStatus.DELIVERED);
+        order.setTotalPrice(70.0);
+        fixtures.item(order, pizza, 2);
+        fixtures.item(order, burger, 1);
+        fixtures.persist(order);
+
+        Order second = fixtures.order(client, restaurant, address, OrderStatus.PLACED);
+        fixtures.item(second, pizza, 1);
+        fixtures.persist(second);
+        entityManager.flush();
+    }
+
+    @Test
+    void exportOrders_ShouldWriteOneRowPerLineItem() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int exported = orderExportService.exportOrders(admin.getEmail(), null, null, out);
+
+        assertEquals(2, exported);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("ID", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals(3, sheet.getLastRowNum());
+            long dishRows = 0;
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                assertEquals("client@example.com", sheet.getRow(i).getCell(4).getStringCellValue());
+                if (!sheet.getRow(i).getCell(7).getStringCellValue().isEmpty()) {
+                    dishRows++;
+                }
+            }
+            assertEquals(3, dishRows);
+        }
+    }
+
+    @Test
+    void exportOrders_ShouldRespectDateRange() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int exported = orderExportService.exportOrders(admin.getEmail(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), out);
+
+        assertEquals(0, exported);
+        assertTrue(out.size() > 0);
+    }
+
+    @Test
+    void exportOrders_ShouldRejectInvertedRange() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(ResponseStatusException.class, () ->
+                orderExportService.exportOrders(admin.getEmail(), now, now.minusDays(1), new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,163 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pollub.eatgo.model.Order;
+import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderNotificationServiceUnitTest {
+
+    private OrderNotificationService notificationService;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new OrderNotificationService(mock(OrderNotificationStore.class));
+        order = Order.builder()
+                .id(10L)
+                .user(User.builder().id(1L).build())
+                .build();
+    }
+
+    @Test
+    void subscribe_ShouldPushUnreadCountOnEveryChange() {
+        List<Long> received = new ArrayList<>();
+        notificationService.subscribe(1L, received::add);
+
+        notificationService.addStatusChangeNotification(order, OrderStatus.PLACED, OrderStatus.ACCEPTED);
+        notificationService.addStatusChangeNotification(order, OrderStatus.ACCEPTED, OrderStatus.COOKING);
+        notificationService.markAllAsRead(1L);
+
+        assertEquals(List.of(1L, 2L, 0L), received);
+    }
+
+    @Test
+    void subscribe_ShouldNotNotifyOtherUsersOrAfterUnsubscribe() {
+        List<Long> otherUser = new ArrayList<>();
+        List<Long> owner = new ArrayList<>();
+        notificationService.subscribe(2L, otherUser::add);
+        Runnable unsubscribe = notificationService.subscribe(1L, owner::add);
+
+        notificationService.addStatusChangeNotification(order, OrderStatus.PLACED, OrderStatus.ACCEPTED);
+        unsubscribe.run();
+        notificationService.addStatusChangeNotification(order, OrderStatus.ACCEPTED, OrderStatus.COOKING);
+
+        assertTrue(otherUser.isEmpty());
+        assertEquals(List.of(1L), owner);
+        assertEquals(2, notificationService.countUnread(1L));
+    }
+
+    @Test
+    void addStatusChangeNotification_ShouldWaitForCommitInsideTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            notificationService.addStatusChangeNotification(order, OrderStatus.PLACED, OrderStatus.ACCEPTED);
+            assertEquals(0, notificationService.countUnread(1L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, notificationService.countUnread(1L));
+    }
+
+    @Test
+    void addStatusChangeNotification_ShouldDropNotificationOfRolledBackTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            notificationService.addStatusChangeNotification(order, OrderStatus.PLACED, OrderStatus.ACCEPTED);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, notificationService.countUnread(1L));
+    }
+
+    @Test
+    void addStatusChangeNotification_ShouldKeepOnlyNewestWithinCapacity() {
+        int total = OrderNotificationService.CAPACITY + 5;
+        for (int i = 0; i < total; i++) {
+            notificationService.addStatusChangeNotification(order, OrderStatus.PLACED, OrderStatus.ACCEPTED);
+        }
+
+        List<OrderNotificationService.OrderNotification> notifications = notificationService.getNotificationsForUser(1L);
+        assertEquals(OrderNotificationService.CAPACITY, notifications.size());
+        assertEquals(total, notifications.get(0).id());
+        assertEquals(OrderNotificationService.CAPACITY, notificationService.countUnread(1L));
+    }
+
+    @Test
+    void markAllAsRead_ShouldMoveWatermarkAndKeepLaterNotificationsUnread() {
+        notificationService.addStatusChangeNotification(order, OrderStatus.PLACED, OrderStatus.ACCEPTED);
+        notificationService.markAllAsRead(1L);
+        notificationService.addStatusChangeNotification(order, OrderStatus.ACCEPTED, OrderStatus.COOKING);
+
+        List<OrderNotificationService.OrderNotification> notifications = notificationService.getNotificationsForUser(1L);
+        assertEquals(1, notificationService.countUnread(1L));
+        assertFalse(notifications.get(0).read());
+        assertTrue(notifications.get(1).read());
+    }
+
+    @Test
+    void evictIdleSince_ShouldDropIdleBuffersWithoutSubscribers() {
+        Order otherOrder = Order.builder().id(11L).user(User.builder().id(2L).build()).build();
+        notificationService.addStatusChangeNotification(order, OrderStatus.PLACED, OrderStatus.ACCEPTED);
+        notificationService.addStatusChangeNotification(otherOrder, OrderStatus.PLACED, OrderStatus.ACCEPTED);
+        notificationService.subscribe(2L, unread -> {});
+
+        int evicted = notificationService.evictIdleSince(System.currentTimeMillis() + 1);
+
+        assertEquals(1, evicted);
+        assertEquals(1, notificationService.bufferedUsers());
+        assertEquals(0, notificationService.countUnread(1L));
+        assertEquals(1, notificationService.countUnread(2L));
+    }
+
+    @Test
+    void addStatusChangeNotification_ShouldGoThroughStoreWhenDurable() {
+        OrderNotificationStore store = mock(OrderNotificationStore.class);
+        when(store.isEnabled()).thenReturn(true);
+        OrderNotificationService durableService = new OrderNotificationService(store);
+
+        durableService.addStatusChangeNotification(order, OrderStatus.PLACED, OrderStatus.ACCEPTED);
+
+        verify(store).enqueue(argThat(n -> n.id() == null && n.userId().equals(1L)));
+    }
+
+    @Test
+    void onNotifications_ShouldHydrateFromStoreAndPushToSubscribers() {
+        OrderNotificationStore store = mock(OrderNotificationStore.class);
+        when(store.isEnabled()).thenReturn(true);
+        OrderNotificationService durableService = new OrderNotificationService(store);
+        OrderNotificationService.OrderNotification older = stored(5L, true);
+        OrderNotificationService.OrderNotification newer = stored(7L, false);
+        when(store.findRecent(1L, OrderNotificationService.CAPACITY)).thenReturn(List.of(newer, older));
+        List<Long> received = new ArrayList<>();
+        durableService.subscribe(1L, received::add);
+
+        durableService.onNotifications(List.of(newer));
+
+        assertEquals(List.of(1L), received);
+        List<OrderNotificationService.OrderNotification> notifications = durableService.getNotificationsForUser(1L);
+        assertEquals(List.of(7L, 5L), notifications.stream().map(OrderNotificationService.OrderNotification::id).toList());
+        assertTrue(notifications.get(1).read());
+    }
+
+    private OrderNotificationService.OrderNotification stored(Long id, boolean read) {
+        return new OrderNotificationService.OrderNotification(
+                id, 10L, 1L, OrderStatus.PLACED, OrderStatus.ACCEPTED, "msg", read, LocalDateTime.now());
+    }
+}
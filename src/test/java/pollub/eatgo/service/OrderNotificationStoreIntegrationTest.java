@@ -0,0 +1,199 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.service.OrderNotificationService.OrderNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link OrderNotificationStore} na prawdziwym PostgreSQL: zapis paczkami, {@code LISTEN/NOTIFY},
+ * dostarczanie spóźnionych commitów z mniejszym id, odrzucanie wierszy, których nie da się zapisać,
+ * i przekazywanie zdarzeń zamówień między węzłami.
+ * Uruchamiany tylko przy ustawionym {@code EATGO_NOTIFY_DB_URL} wskazującym na osobną bazę.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "EATGO_NOTIFY_DB_URL", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${EATGO_NOTIFY_DB_URL}",
+        "spring.datasource.username=${EATGO_NOTIFY_DB_USER:postgres}",
+        "spring.datasource.password=${EATGO_NOTIFY_DB_PASSWORD:postgres}",
+        "spring.flyway.url=${EATGO_NOTIFY_DB_URL}",
+        "spring.flyway.user=${EATGO_NOTIFY_DB_USER:postgres}",
+        "spring.flyway.password=${EATGO_NOTIFY_DB_PASSWORD:postgres}",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class OrderNotificationStoreIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private DataSourceProperties dataSourceProperties;
+
+    private final Set<Long> delivered = ConcurrentHashMap.newKeySet();
+    private OrderNotificationStore store;
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+                "insert into users (email, password, full_name, role) values (?, 'x', 'Klient', 'CLIENT') returning id",
+                Long.class, "notify-" + UUID.randomUUID() + "@eatgo.test");
+        store = new OrderNotificationStore(jdbcTemplate, dataSourceProperties, true);
+        store.setListener(new OrderNotificationStore.Listener() {
+            @Override
+            public void onNotifications(List<OrderNotification> notifications) {
+                notifications.forEach(n -> delivered.add(n.id()));
+            }
+
+            @Override
+            public void onReadStateChanged(Long userId) {
+            }
+        });
+        store.start();
+        assertTrue(store.isEnabled());
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.stop();
+    }
+
+    private OrderNotification notification(long userId, String message) {
+        return new OrderNotification(null, null, userId, OrderStatus.PLACED, OrderStatus.ACCEPTED, message,
+                false, LocalDateTime.now());
+    }
+
+    private long idOf(String message) {
+        return jdbcTemplate.queryForObject("select id from order_notifications where message = ?", Long.class, message);
+    }
+
+    private static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + description);
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void flush_ShouldPersistAndDeliverThroughNotify() throws InterruptedException {
+        String message = "flush-" + UUID.randomUUID();
+        store.enqueue(notification(userId, message));
+
+        store.flush();
+
+        long id = idOf(message);
+        await(() -> delivered.contains(id), "notification " + id);
+        assertEquals(0, store.pendingCount());
+    }
+
+    @Test
+    void deliver_ShouldPickUpLowerIdCommittedAfterHigherOne() throws Exception {
+        String lateMessage = "late-" + UUID.randomUUID();
+        try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+            connection.setAutoCommit(false);
+            long lateId;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into order_notifications (user_id, current_status, message) values (?, 'ACCEPTED', ?) returning id")) {
+                insert.setLong(1, userId);
+                insert.setString(2, lateMessage);
+                try (ResultSet rs = insert.executeQuery()) {
+                    rs.next();
+                    lateId = rs.getLong(1);
+                }
+            }
+
+            String earlyMessage = "early-" + UUID.randomUUID();
+            store.enqueue(notification(userId, earlyMessage));
+            store.flush();
+            long earlyId = idOf(earlyMessage);
+            assertTrue(earlyId > lateId);
+            await(() -> delivered.contains(earlyId), "notification " + earlyId);
+            assertFalse(delivered.contains(lateId));
+
+            connection.commit();
+            try (PreparedStatement notify = connection.prepareStatement("select pg_notify(?, 'n')")) {
+                notify.setString(1, OrderNotificationStore.CHANNEL);
+                notify.execute();
+            }
+            connection.commit();
+
+            await(() -> delivered.contains(lateId), "late notification " + lateId);
+        }
+    }
+
+    @Test
+    void flush_ShouldDropRowsThatViolateConstraintsAndKeepTheRest() throws InterruptedException {
+        String goodMessage = "good-" + UUID.randomUUID();
+        String orphanMessage = "orphan-" + UUID.randomUUID();
+        store.enqueue(notification(Long.MAX_VALUE, orphanMessage));
+        store.enqueue(notification(userId, goodMessage));
+
+        store.flush();
+
+        long goodId = idOf(goodMessage);
+        await(() -> delivered.contains(goodId), "notification " + goodId);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from order_notifications where message = ?", Integer.class, orphanMessage));
+        assertEquals(0, store.pendingCount());
+    }
+
+    @Test
+    void publishOrderEvent_ShouldReachOtherNodesOnly() throws InterruptedException {
+        BlockingQueue<OrderStatusChangedEvent> ownEvents = new LinkedBlockingQueue<>();
+        BlockingQueue<OrderStatusChangedEvent> otherNodeEvents = new LinkedBlockingQueue<>();
+        store.setOrderEventListener(ownEvents::add);
+        OrderNotificationStore otherNode = new OrderNotificationStore(jdbcTemplate, dataSourceProperties, true);
+        otherNode.setOrderEventListener(otherNodeEvents::add);
+        otherNode.start();
+        try {
+            OrderStatusChangedEvent event = new OrderStatusChangedEvent(
+                    42L, 7L, 9L, OrderStatus.READY, OrderStatus.IN_DELIVERY, LocalDateTime.of(2026, 10, 17, 12, 30, 15));
+            // LISTEN drugiego węzła startuje w tle, a zdarzenia sprzed niego nie są odtwarzane
+            long deadline = System.nanoTime() + TIMEOUT.toNanos();
+            OrderStatusChangedEvent received = null;
+            while (received == null && System.nanoTime() < deadline) {
+                store.publishOrderEvent(event);
+                store.flush();
+                received = otherNodeEvents.poll(200, TimeUnit.MILLISECONDS);
+            }
+
+            assertEquals(event, received);
+            assertNull(ownEvents.poll(500, TimeUnit.MILLISECONDS));
+        } finally {
+            otherNode.stop();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import pollub.eatgo.dto.order.OrderCreateRequestDto;
@@ -16,9 +17,11 @@ import pollub.eatgo.repository.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +37,8 @@ class OrderServiceUnitTest {
     private AddressRepository addressRepository;
     @Mock
     private DishRepository dishRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private OrderService orderService;
@@ -104,8 +109,8 @@ class OrderServiceUnitTest {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(restaurantRepository.findById(restaurant.getId())).thenReturn(Optional.of(restaurant));
         when(addressRepository.findByIdAndUserId(address.getId(), user.getId())).thenReturn(Optional.of(address));
-        when(dishRepository.findById(dish1.getId())).thenReturn(Optional.of(dish1));
-        when(dishRepository.findById(dish2.getId())).thenReturn(Optional.of(dish2));
+        when(dishRepository.findByIdInAndRestaurantId(Set.of(dish1.getId(), dish2.getId()), restaurant.getId()))
+                .thenReturn(List.of(dish1, dish2));
 
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order o = invocation.getArgument(0);
@@ -122,6 +127,8 @@ class OrderServiceUnitTest {
         assertEquals("PLACED", result.status());
 
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(
+                999L, restaurant.getId(), null, null, OrderStatus.PLACED, null));
     }
 
     @Test
@@ -149,7 +156,9 @@ class OrderServiceUnitTest {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(restaurantRepository.findById(restaurant.getId())).thenReturn(Optional.of(restaurant));
         when(addressRepository.findByIdAndUserId(address.getId(), user.getId())).thenReturn(Optional.of(address));
-        when(dishRepository.findById(foreignDish.getId())).thenReturn(Optional.of(foreignDish));
+        when(dishRepository.findByIdInAndRestaurantId(Set.of(foreignDish.getId()), restaurant.getId()))
+                .thenReturn(List.of());
+        when(dishRepository.findAllById(Set.of(foreignDish.getId()))).thenReturn(List.of(foreignDish));
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
                 () -> orderService.createOrder(user.getId(), req));
@@ -158,6 +167,39 @@ class OrderServiceUnitTest {
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    void createOrder_ShouldPreferNotFoundWhenForeignAndMissingDishesAreMixed() {
+        Dish foreignDish = Dish.builder()
+                .id(2000L)
+                .name("Foreign Dish")
+                .price(15.0)
+                .available(true)
+                .restaurant(Restaurant.builder().id(20L).name("Other").deliveryPrice(7.0).build())
+                .build();
+        long missingDishId = 3000L;
+
+        OrderCreateRequestDto req = new OrderCreateRequestDto(
+                restaurant.getId(),
+                address.getId(),
+                List.of(
+                        new OrderItemRequestDto(foreignDish.getId(), 1),
+                        new OrderItemRequestDto(missingDishId, 1)
+                )
+        );
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(restaurantRepository.findById(restaurant.getId())).thenReturn(Optional.of(restaurant));
+        when(addressRepository.findByIdAndUserId(address.getId(), user.getId())).thenReturn(Optional.of(address));
+        when(dishRepository.findByIdInAndRestaurantId(Set.of(foreignDish.getId(), missingDishId), restaurant.getId()))
+                .thenReturn(List.of());
+        when(dishRepository.findAllById(Set.of(foreignDish.getId(), missingDishId))).thenReturn(List.of(foreignDish));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> orderService.createOrder(user.getId(), req));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     void createOrder_ShouldThrowWhenDishNotAvailable() {
         dish1.setAvailable(false);
@@ -170,7 +212,8 @@ class OrderServiceUnitTest {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(restaurantRepository.findById(restaurant.getId())).thenReturn(Optional.of(restaurant));
         when(addressRepository.findByIdAndUserId(address.getId(), user.getId())).thenReturn(Optional.of(address));
-        when(dishRepository.findById(dish1.getId())).thenReturn(Optional.of(dish1));
+        when(dishRepository.findByIdInAndRestaurantId(Set.of(dish1.getId()), restaurant.getId()))
+                .thenReturn(List.of(dish1));
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
                 () -> orderService.createOrder(user.getId(), req));
@@ -178,6 +221,52 @@ class OrderServiceUnitTest {
         assertTrue(ex.getReason().contains("is not available"));
         verify(orderRepository, never()).save(any(Order.class));
     }
-}
 
+    @Test
+    void createOrder_ShouldMergeDuplicateDishLinesAndLoadDishesOnce() {
+        OrderCreateRequestDto req = new OrderCreateRequestDto(
+                restaurant.getId(),
+                address.getId(),
+                List.of(
+                        new OrderItemRequestDto(dish1.getId(), 1),
+                        new OrderItemRequestDto(dish2.getId(), 1),
+                        new OrderItemRequestDto(dish1.getId(), 2)
+                )
+        );
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(restaurantRepository.findById(restaurant.getId())).thenReturn(Optional.of(restaurant));
+        when(addressRepository.findByIdAndUserId(address.getId(), user.getId())).thenReturn(Optional.of(address));
+        when(dishRepository.findByIdInAndRestaurantId(Set.of(dish1.getId(), dish2.getId()), restaurant.getId()))
+                .thenReturn(List.of(dish1, dish2));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OrderDto result = orderService.createOrder(user.getId(), req);
+
+        assertEquals(2, result.items().size());
+        assertEquals(3, result.items().get(0).quantity());
+        assertEquals(90.0, result.totalPrice(), 0.001);
+        verify(dishRepository, times(1)).findByIdInAndRestaurantId(any(), eq(restaurant.getId()));
+        verify(dishRepository, never()).findById(any());
+    }
+
+    @Test
+    void createOrder_ShouldThrowNotFoundWhenDishDoesNotExist() {
+        OrderCreateRequestDto req = new OrderCreateRequestDto(
+                restaurant.getId(),
+                address.getId(),
+                List.of(new OrderItemRequestDto(404L, 1))
+        );
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(restaurantRepository.findById(restaurant.getId())).thenReturn(Optional.of(restaurant));
+        when(addressRepository.findByIdAndUserId(address.getId(), user.getId())).thenReturn(Optional.of(address));
+        when(dishRepository.findByIdInAndRestaurantId(Set.of(404L), restaurant.getId())).thenReturn(List.of());
+        when(dishRepository.findAllById(Set.of(404L))).thenReturn(List.of());
 
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> orderService.createOrder(user.getId(), req));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+}
@@ -0,0 +1,92 @@
+package pollub.eatgo.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import pollub.eatgo.TestFixtures;
+import pollub.eatgo.model.*;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import(OrderStateMachine.class)
+class OrderStateMachineIntegrationTest {
+
+    @Autowired
+    private OrderStateMachine orderStateMachine;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Order order;
+    private User courier;
+    private User otherCourier;
+
+    @BeforeEach
+    void setUp() {
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        Restaurant restaurant = fixtures.restaurant(fixtures.admin());
+        User client = fixtures.client();
+        courier = fixtures.courier("courier@example.com", "Courier", restaurant);
+        otherCourier = fixtures.courier("courier2@example.com", "Courier 2", restaurant);
+        order = fixtures.persist(fixtures.order(client, restaurant, fixtures.address(client), OrderStatus.PLACED));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void transition_ShouldApplyOnceAndBumpVersion() {
+        OrderStateMachine.Transition transition =
+                orderStateMachine.transition(order.getId(), OrderStatus.PLACED, OrderStatus.ACCEPTED);
+
+        assertTrue(transition.applied());
+        assertEquals(OrderStatus.ACCEPTED, transition.order().getStatus());
+        assertEquals(1L, transition.order().getVersion());
+    }
+
+    @Test
+    void transition_ShouldRejectLoserWithConflict() {
+        orderStateMachine.transition(order.getId(), OrderStatus.PLACED, OrderStatus.ACCEPTED);
+
+        OrderTransitionConflictException conflict = assertThrows(OrderTransitionConflictException.class,
+                () -> orderStateMachine.transition(order.getId(), OrderStatus.PLACED, OrderStatus.CANCELLED));
+
+        assertEquals(OrderStatus.ACCEPTED, conflict.getCurrentStatus());
+        assertEquals(409, conflict.getStatusCode().value());
+    }
+
+    @Test
+    void transition_ShouldTreatSameTargetAsAlreadyDone() {
+        orderStateMachine.transition(order.getId(), OrderStatus.PLACED, OrderStatus.ACCEPTED);
+
+        OrderStateMachine.Transition duplicate =
+                orderStateMachine.transition(order.getId(), OrderStatus.PLACED, OrderStatus.ACCEPTED);
+
+        assertFalse(duplicate.applied());
+        assertEquals(OrderStatus.ACCEPTED, duplicate.order().getStatus());
+        assertEquals(1L, duplicate.order().getVersion());
+    }
+
+    @Test
+    void assignCourier_ShouldConflictWhenAnotherCourierWasAssigned() {
+        orderStateMachine.transition(order.getId(), OrderStatus.PLACED, OrderStatus.ACCEPTED);
+        orderStateMachine.transition(order.getId(), OrderStatus.ACCEPTED, OrderStatus.COOKING);
+        orderStateMachine.transition(order.getId(), OrderStatus.COOKING, OrderStatus.READY);
+
+        OrderStateMachine.Transition assigned = orderStateMachine.assignCourier(order.getId(), courier);
+
+        assertTrue(assigned.applied());
+        assertEquals(courier.getId(), assigned.order().getCourier().getId());
+        assertFalse(orderStateMachine.assignCourier(order.getId(), courier).applied());
+        assertThrows(OrderTransitionConflictException.class,
+                () -> orderStateMachine.assignCourier(order.getId(), otherCourier));
+    }
+}
@@ -0,0 +1,42 @@
+package pollub.eatgo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import pollub.eatgo.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderTransitionMetricsUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderTransitionMetrics metrics = new OrderTransitionMetrics(registry);
+
+    private void transition(OrderStatus from, OrderStatus to) {
+        metrics.onOrderStatusChanged(new OrderStatusChangedEvent(1L, 2L, null, from, to, LocalDateTime.now()));
+    }
+
+    private double count(String from, String to) {
+        var counter = registry.find(OrderTransitionMetrics.METER).tags("from", from, "to", to).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Test
+    void newOrderIsCountedFromNone() {
+        transition(null, OrderStatus.PLACED);
+
+        assertEquals(1, count("NONE", "PLACED"));
+    }
+
+    @Test
+    void transitionsAreCountedPerPair() {
+        transition(OrderStatus.PLACED, OrderStatus.ACCEPTED);
+        transition(OrderStatus.PLACED, OrderStatus.ACCEPTED);
+        transition(OrderStatus.READY, OrderStatus.IN_DELIVERY);
+
+        assertEquals(2, count("PLACED", "ACCEPTED"));
+        assertEquals(1, count("READY", "IN_DELIVERY"));
+        assertEquals(0, count("ACCEPTED", "COOKING"));
+    }
+}
@@ -0,0 +1,88 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pollub.eatgo.dto.order.OrderDto;
+import pollub.eatgo.dto.order.OrderItemDto;
+import pollub.eatgo.dto.restaurant.RestaurantDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfServiceUnitTest {
+
+    private final PdfService pdfService = new PdfService();
+    private final RestaurantDto restaurant = RestaurantDto.builder()
+            .id(1L).name("Pizzeria Łódź").address("ul. Żeromskiego 1").deliveryPrice(5.0).build();
+
+    @AfterEach
+    void tearDown() {
+        pdfService.shutdown();
+    }
+
+    private OrderDto order(Long id, String status) {
+        return new OrderDto(id, status, 25.0, 5.0, LocalDateTime.of(2024, 5, 1, 12, 0),
+                List.of(new OrderItemDto(1L, 1L, "Pizza", 1, 20.0)),
+                2L, "client@example.com", null, null, null);
+    }
+
+    @Test
+    void renderReceipt_ShouldProducePdfAndReuseCachedResult() {
+        OrderDto order = order(10L, "PLACED");
+
+        byte[] first = pdfService.renderReceipt(order, restaurant).join();
+        byte[] second = pdfService.renderReceipt(order, restaurant).join();
+
+        assertEquals("%PDF", new String(first, 0, 4, StandardCharsets.US_ASCII));
+        assertSame(first, second);
+    }
+
+    @Test
+    void renderReceipt_ShouldRenderAgainAfterStatusChange() {
+        byte[] placed = pdfService.renderReceipt(order(10L, "PLACED"), restaurant).join();
+        pdfService.invalidate(10L);
+        byte[] accepted = pdfService.renderReceipt(order(10L, "ACCEPTED"), restaurant).join();
+
+        assertNotSame(placed, accepted);
+    }
+
+    @Test
+    void renderReceiptsZip_ShouldContainOnePdfPerOrder() throws IOException {
+        byte[] zip = pdfService.renderReceiptsZip(List.of(order(1L, "PLACED"), order(2L, "READY")), restaurant).join();
+
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.add(entry.getName());
+            }
+        }
+        assertEquals(List.of("bon_zamowienia_1.pdf", "bon_zamowienia_2.pdf"), entries);
+    }
+
+    @Test
+    void renderReceiptsZip_ShouldNotOverflowQueueForLargeBatch() throws IOException {
+        List<OrderDto> orders = new ArrayList<>();
+        for (long id = 1; id <= 250; id++) {
+            orders.add(order(id, "DELIVERED"));
+        }
+
+        byte[] zip = pdfService.renderReceiptsZip(orders, restaurant).join();
+
+        int entries = 0;
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            while (in.getNextEntry() != null) {
+                entries++;
+            }
+        }
+        assertEquals(250, entries);
+    }
+}
@@ -0,0 +1,60 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pollub.eatgo.model.Review;
+import pollub.eatgo.repository.ReviewRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import(RatingAggregateService.class)
+class RatingAggregateServiceIntegrationTest {
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        reviewRepository.save(Review.builder().targetType("RESTAURANT").targetId(1L).rating(5).build());
+        reviewRepository.save(Review.builder().targetType("RESTAURANT").targetId(1L).rating(4).build());
+        reviewRepository.save(Review.builder().targetType("COURIER").targetId(1L).rating(2).build());
+    }
+
+    @Test
+    void rebuild_ShouldSeedAggregatesFromReviews() {
+        ratingAggregateService.rebuild();
+
+        RatingAggregateService.RatingAggregate restaurant = ratingAggregateService.get("RESTAURANT", 1L);
+        assertEquals(2, restaurant.count());
+        assertEquals(4.5, restaurant.average(), 0.001);
+        assertEquals(1, ratingAggregateService.get("COURIER", 1L).count());
+        assertNull(ratingAggregateService.get("RESTAURANT", 2L).average());
+    }
+
+    @Test
+    void recordRating_ShouldUpdateAggregateIncrementallyAfterCommit() {
+        ratingAggregateService.rebuild();
+
+        ratingAggregateService.recordRating("RESTAURANT", 1L, 3);
+        assertEquals(2, ratingAggregateService.get("RESTAURANT", 1L).count());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        RatingAggregateService.RatingAggregate restaurant = ratingAggregateService.get("RESTAURANT", 1L);
+        assertEquals(3, restaurant.count());
+        assertEquals(4.0, restaurant.average(), 0.001);
+    }
+}
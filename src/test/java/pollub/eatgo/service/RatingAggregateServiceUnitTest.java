@@ -0,0 +1,61 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pollub.eatgo.repository.ReviewRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingAggregateServiceUnitTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @InjectMocks
+    private RatingAggregateService ratingAggregateService;
+
+    @Test
+    void rebuild_ShouldKeepRatingsRecordedWhileLoading() {
+        when(reviewRepository.aggregateRatings()).thenAnswer(invocation -> {
+            ratingAggregateService.recordRating("RESTAURANT", 1L, 3);
+            return List.of(row("RESTAURANT", 1L, 2, 9));
+        });
+
+        ratingAggregateService.rebuild();
+
+        RatingAggregateService.RatingAggregate restaurant = ratingAggregateService.get("RESTAURANT", 1L);
+        assertEquals(3, restaurant.count());
+        assertEquals(4.0, restaurant.average(), 0.001);
+    }
+
+    private static ReviewRepository.RatingAggregateView row(String targetType, Long targetId, long count, long sum) {
+        return new ReviewRepository.RatingAggregateView() {
+            @Override
+            public String getTargetType() {
+                return targetType;
+            }
+
+            @Override
+            public Long getTargetId() {
+                return targetId;
+            }
+
+            @Override
+            public long getReviewCount() {
+                return count;
+            }
+
+            @Override
+            public long getRatingSum() {
+                return sum;
+            }
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pollub.eatgo.model.Dish;
+import pollub.eatgo.model.Restaurant;
+import pollub.eatgo.repository.DishRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pollub.eatgo.repository.RestaurantRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantSearchIndexUnitTest {
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+    @Mock
+    private DishRepository dishRepository;
+
+    @InjectMocks
+    private RestaurantSearchIndex searchIndex;
+
+    private Restaurant pizzeria;
+    private Restaurant sushi;
+
+    @BeforeEach
+    void setUp() {
+        pizzeria = Restaurant.builder()
+                .id(1L)
+                .name("Pizzeria Bella Lublin")
+                .address("ul. Krakowskie Przedmieście 1, Lublin")
+                .build();
+        sushi = Restaurant.builder()
+                .id(2L)
+                .name("Sushi Master Warszawa")
+                .address("ul. Marszałkowska 10, Warszawa")
+                .build();
+
+        Dish margherita = Dish.builder().id(10L).name("Margherita").category("PIZZA").available(true).restaurant(pizzeria).build();
+        Dish maki = Dish.builder().id(20L).name("Maki").category("SUSHI").available(true).restaurant(sushi).build();
+        Dish hiddenPizza = Dish.builder().id(21L).name("Pizza").category("PIZZA").available(false).restaurant(sushi).build();
+
+        when(restaurantRepository.findAll()).thenReturn(List.of(pizzeria, sushi));
+        when(dishRepository.findAll()).thenReturn(List.of(margherita, maki, hiddenPizza));
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void search_ShouldFilterByCityCategoryAndTerm() {
+        assertEquals(Set.of(1L), searchIndex.search("Lublin", null, null));
+        assertEquals(Set.of(1L), searchIndex.search(null, "PIZZA", null));
+        assertEquals(Set.of(2L), searchIndex.search("Warszawa", "SUSHI", "mast"));
+        assertTrue(searchIndex.search("Lublin", "SUSHI", null).isEmpty());
+        assertEquals(Set.of(1L, 2L), searchIndex.search(null, null, null));
+    }
+
+    @Test
+    void onDishChanged_ShouldUpdateCategoryIndex() {
+        Dish pizza = Dish.builder().id(21L).name("Pizza").category("PIZZA").available(true).restaurant(sushi).build();
+        searchIndex.onDishChanged(sushi.getId(), pizza);
+        assertEquals(Set.of(1L, 2L), searchIndex.search(null, "PIZZA", null));
+
+        searchIndex.onDishDeleted(sushi.getId(), pizza.getId());
+        assertEquals(Set.of(1L), searchIndex.search(null, "PIZZA", null));
+    }
+
+    @Test
+    void onRestaurantChanged_ShouldReindexNameAndCityButKeepCategories() {
+        pizzeria.setName("Trattoria Roma");
+        pizzeria.setAddress("ul. Nowy Świat 15, Warszawa");
+        searchIndex.onRestaurantChanged(pizzeria);
+
+        assertTrue(searchIndex.search(null, null, "pizzeria").isEmpty());
+        assertEquals(Set.of(1L), searchIndex.search(null, null, "tratt"));
+        assertEquals(Set.of(1L, 2L), searchIndex.search("Warszawa", null, null));
+        assertEquals(Set.of(1L), searchIndex.search("Warszawa", "PIZZA", null));
+    }
+
+    @Test
+    void search_ShouldMatchTermInsideNameOrAddress() {
+        assertEquals(Set.of(1L), searchIndex.search(null, null, "zzer"));
+        assertEquals(Set.of(2L), searchIndex.search(null, null, "Marszałk"));
+        assertEquals(Set.of(1L), searchIndex.search(null, null, "bella lub"));
+        assertTrue(searchIndex.search("Warszawa", null, "zzer").isEmpty());
+    }
+
+    @Test
+    void search_ShouldMatchCityAsSubstringOfAddress() {
+        assertEquals(Set.of(1L), searchIndex.search("lubl", null, null));
+        assertEquals(Set.of(1L), searchIndex.search("Krakowskie Przedmieście", null, null));
+        assertEquals(Set.of(2L), searchIndex.search(" warszawa ", "SUSHI", null));
+        assertTrue(searchIndex.search("Kraków", null, null).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesCommittedWhileLoading() {
+        Restaurant stalePizzeria = Restaurant.builder().id(1L).name(pizzeria.getName()).address(pizzeria.getAddress()).build();
+        when(restaurantRepository.findAll()).thenAnswer(invocation -> {
+            pizzeria.setName("Trattoria Roma");
+            searchIndex.onRestaurantChanged(pizzeria);
+            return List.of(stalePizzeria, sushi);
+        });
+
+        searchIndex.rebuild();
+
+        assertEquals(Set.of(1L), searchIndex.search(null, null, "trattoria"));
+        assertTrue(searchIndex.search(null, null, "pizzeria").isEmpty());
+    }
+
+    @Test
+    void onRestaurantChanged_ShouldApplyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pizzeria.setName("Trattoria Roma");
+            searchIndex.onRestaurantChanged(pizzeria);
+
+            assertEquals(Set.of(1L), searchIndex.search(null, null, "pizzeria"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(Set.of(1L), searchIndex.search(null, null, "trattoria"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
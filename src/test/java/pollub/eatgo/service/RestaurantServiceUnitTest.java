@@ -0,0 +1,97 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pollub.eatgo.config.PrimaryDatabase;
+import pollub.eatgo.dto.order.OrderDto;
+import pollub.eatgo.model.Order;
+import pollub.eatgo.model.OrderStatus;
+import pollub.eatgo.model.Restaurant;
+import pollub.eatgo.model.User;
+import pollub.eatgo.repository.*;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantServiceUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private RestaurantRepository restaurantRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private DishRepository dishRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private OrderNotificationService orderNotificationService;
+    @Mock
+    private RestaurantSearchIndex restaurantSearchIndex;
+    @Mock
+    private RatingAggregateService ratingAggregateService;
+    @Mock
+    private PdfService pdfService;
+    @Mock
+    private MenuCache menuCache;
+    @Mock
+    private TenantResolver tenantResolver;
+    @Mock
+    private OrderStateMachine orderStateMachine;
+    @Mock
+    private CourierStatusIndex courierStatusIndex;
+    @Mock
+    private PrimaryDatabase primaryDatabase;
+
+    @InjectMocks
+    private RestaurantService restaurantService;
+
+    @Test
+    void getOrderAfterChange_ShouldReadFromPrimaryDatabase() {
+        AtomicBoolean onPrimary = new AtomicBoolean();
+        when(primaryDatabase.read(any())).thenAnswer(invocation -> {
+            onPrimary.set(true);
+            try {
+                return invocation.<Supplier<?>>getArgument(0).get();
+            } finally {
+                onPrimary.set(false);
+            }
+        });
+        when(tenantResolver.resolve("admin@example.com"))
+                .thenReturn(Optional.of(new TenantResolver.Tenant(1L, "admin@example.com", User.Role.RESTAURANT_ADMIN, 7L)));
+        when(restaurantRepository.getReferenceById(7L)).thenReturn(Restaurant.builder().id(7L).build());
+        Order order = Order.builder().id(42L).status(OrderStatus.READY).build();
+        when(orderRepository.findByIdAndRestaurantId(42L, 7L)).thenAnswer(invocation -> {
+            assertTrue(onPrimary.get(), "zamówienie po zmianie musi być czytane z bazy głównej");
+            return Optional.of(order);
+        });
+
+        OrderDto dto = restaurantService.getOrderAfterChange("admin@example.com", 42L);
+
+        assertEquals(42L, dto.id());
+        assertEquals("READY", dto.status());
+        verify(primaryDatabase).read(any());
+    }
+
+    @Test
+    void dispatchCourier_ShouldRefuseCourierAtDeliveryLimit() {
+        User courier = User.builder().id(5L).role(User.Role.COURIER).build();
+        when(userRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(courier));
+        when(orderRepository.countByCourierIdAndStatus(5L, OrderStatus.IN_DELIVERY))
+                .thenReturn((long) CourierStatusIndex.MAX_ACTIVE_DELIVERIES);
+
+        assertFalse(restaurantService.dispatchCourier(42L, 5L));
+        verifyNoInteractions(orderStateMachine);
+    }
+}
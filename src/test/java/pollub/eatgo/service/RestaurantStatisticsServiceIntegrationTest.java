@@ -0,0 +1,140 @@
+package pollub.eatgo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+import pollub.eatgo.config.PrimaryDatabase;
+import pollub.eatgo.dto.restaurant.RestaurantStatisticsDto;
+import pollub.eatgo.model.*;
+import pollub.eatgo.repository.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import({RestaurantStatisticsService.class, TenantResolver.class, PrimaryDatabase.class})
+class RestaurantStatisticsServiceIntegrationTest {
+
+    @Autowired
+    private RestaurantStatisticsService restaurantStatisticsService;
+
+    @Autowired
+    private TenantResolver tenantResolver;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    private User admin;
+    private User client;
+    private User courier;
+    private Restaurant restaurant;
+    private Address address;
+    private Dish pizza;
+    private Dish burger;
+
+    @BeforeEach
+    void setUp() {
+        tenantResolver.clear();
+        orderRepository.deleteAll();
+        addressRepository.deleteAll();
+        dishRepository.deleteAll();
+        restaurantRepository.deleteAll();
+        userRepository.deleteAll();
+
+        admin = userRepository.save(User.builder()
+                .email("admin@example.com").password("secret").fullName("Admin").role(User.Role.RESTAURANT_ADMIN).build());
+        client = userRepository.save(User.builder()
+                .email("client@example.com").password("secret").fullName("Client").role(User.Role.CLIENT).build());
+        restaurant = restaurantRepository.save(Restaurant.builder()
+                .name("Test Restaurant").address("Testowa 1").deliveryPrice(5.0).admin(admin).build());
+        courier = userRepository.save(User.builder()
+                .email("courier@example.com").password("secret").fullName("Kurier Jan").role(User.Role.COURIER)
+                .restaurant(restaurant).build());
+        address = addressRepository.save(Address.builder()
+                .city("Warszawa").street("Testowa 1").postalCode("00-001").user(client).build());
+        pizza = dishRepository.save(Dish.builder().name("Pizza").price(20.0).restaurant(restaurant).build());
+        burger = dishRepository.save(Dish.builder().name("Burger").price(25.0).restaurant(restaurant).build());
+
+        saveOrder(OrderStatus.DELIVERED, 45.0, courier, item(pizza, 3));
+        saveOrder(OrderStatus.DELIVERED, 55.0, courier, item(burger, 1), item(pizza, 1));
+        saveOrder(OrderStatus.COOKING, 30.0, null, item(burger, 5));
+    }
+
+    private OrderItem item(Dish dish, int quantity) {
+        return OrderItem.builder().dish(dish).quantity(quantity).priceSnapshot(dish.getPrice()).build();
+    }
+
+    private void saveOrder(OrderStatus status, double totalPrice, User courier, OrderItem... items) {
+        Order order = Order.builder()
+                .user(client)
+                .restaurant(restaurant)
+                .address(address)
+                .courier(courier)
+                .status(status)
+                .totalPrice(totalPrice)
+                .deliveryPrice(5.0)
+                .items(new ArrayList<>())
+                .build();
+        for (OrderItem item : items) {
+            item.setOrder(order);
+            order.getItems().add(item);
+        }
+        orderRepository.save(order);
+    }
+
+    @Test
+    void getStatistics_ShouldAggregateRevenueCountsAndTopDishes() {
+        RestaurantStatisticsDto stats = restaurantStatisticsService.getStatistics(admin.getEmail(), 10);
+
+        assertEquals(100.0, stats.todayRevenue(), 0.001);
+        assertEquals(3, stats.todayOrders());
+        assertEquals(100.0, stats.weekRevenue(), 0.001);
+        assertEquals(3, stats.monthOrders());
+        assertEquals(50.0, stats.averageOrderValue(), 0.001);
+        assertEquals(1, stats.activeOrders());
+        assertEquals(List.of("Pizza", "Burger"), List.copyOf(stats.topDishes().keySet()));
+        assertEquals(4, stats.topDishes().get("Pizza"));
+        assertEquals(2L, stats.courierDeliveries().get("Kurier Jan"));
+    }
+
+    @Test
+    void getStatistics_ShouldLimitTopDishes() {
+        RestaurantStatisticsDto stats = restaurantStatisticsService.getStatistics(admin.getEmail(), 1);
+
+        assertEquals(1, stats.topDishes().size());
+        assertTrue(stats.topDishes().containsKey("Pizza"));
+    }
+
+    @Test
+    void getStatistics_ShouldRejectTopDishesOutOfRange() {
+        ResponseStatusException zero = assertThrows(ResponseStatusException.class,
+                () -> restaurantStatisticsService.getStatistics(admin.getEmail(), 0));
+        ResponseStatusException tooMany = assertThrows(ResponseStatusException.class,
+                () -> restaurantStatisticsService.getStatistics(admin.getEmail(), RestaurantStatisticsService.MAX_TOP_DISHES + 1));
+
+        assertEquals(HttpStatus.BAD_REQUEST, zero.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, tooMany.getStatusCode());
+    }
+}
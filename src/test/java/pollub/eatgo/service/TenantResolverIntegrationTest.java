@@ -0,0 +1,99 @@
+package pollub.eatgo.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pollub.eatgo.TestFixtures;
+import pollub.eatgo.config.PrimaryDatabase;
+import pollub.eatgo.model.Restaurant;
+import pollub.eatgo.model.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TenantResolver.class, PrimaryDatabase.class})
+class TenantResolverIntegrationTest {
+
+    @Autowired
+    private TenantResolver tenantResolver;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TestFixtures fixtures;
+    private User admin;
+    private User courier;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+        tenantResolver.clear();
+        fixtures = new TestFixtures(entityManager);
+        admin = fixtures.admin();
+        restaurant = fixtures.restaurant(admin);
+        courier = fixtures.courier("courier@example.com", "Courier", restaurant);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void resolve_ShouldMapAdminToRestaurantAndServeRepeatedLookupsFromCache() {
+        Statistics statistics = fixtures.statistics();
+
+        TenantResolver.Tenant first = tenantResolver.resolve(admin.getEmail()).orElseThrow();
+        long afterFirst = statistics.getPrepareStatementCount();
+        TenantResolver.Tenant second = tenantResolver.resolve(admin.getEmail()).orElseThrow();
+
+        assertEquals(admin.getId(), first.userId());
+        assertEquals(User.Role.RESTAURANT_ADMIN, first.role());
+        assertEquals(restaurant.getId(), first.restaurantId());
+        assertSame(first, second);
+        assertEquals(afterFirst, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void warm_ShouldResolveCourierRestaurantAndSkipClients() {
+        tenantResolver.warm(courier.getEmail(), "COURIER");
+        Statistics statistics = fixtures.statistics();
+
+        TenantResolver.Tenant tenant = tenantResolver.resolve(courier.getEmail()).orElseThrow();
+        tenantResolver.warm("client@example.com", "CLIENT");
+
+        assertEquals(restaurant.getId(), tenant.restaurantId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void evict_ShouldForceReload() {
+        tenantResolver.resolve(courier.getEmail());
+        tenantResolver.evict(courier.getEmail());
+        Statistics statistics = fixtures.statistics();
+
+        assertTrue(tenantResolver.resolve(courier.getEmail()).isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(tenantResolver.resolve("missing@example.com").isEmpty());
+    }
+
+    @Test
+    void evict_ShouldDropEntryLoadedBeforeCommit() {
+        tenantResolver.evict(courier.getEmail());
+        tenantResolver.resolve(courier.getEmail());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        Statistics statistics = fixtures.statistics();
+
+        assertTrue(tenantResolver.resolve(courier.getEmail()).isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
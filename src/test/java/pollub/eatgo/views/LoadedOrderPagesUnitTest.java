@@ -0,0 +1,54 @@
+package pollub.eatgo.views;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadedOrderPagesUnitTest {
+
+    private record Order(Long id) {
+    }
+
+    @Test
+    void accept_ShouldFollowCursorUntilLastPage() {
+        LoadedOrderPages<Order> pages = new LoadedOrderPages<>(Order::id);
+
+        List<Order> first = pages.accept(List.of(new Order(5L), new Order(4L), new Order(3L)), "cursor-3", false);
+
+        assertEquals(3, first.size());
+        assertTrue(pages.hasMore());
+        assertEquals("cursor-3", pages.nextCursor());
+
+        List<Order> second = pages.accept(List.of(new Order(2L), new Order(1L)), "", true);
+
+        assertEquals(List.of(new Order(2L), new Order(1L)), second);
+        assertFalse(pages.hasMore());
+        assertNull(pages.nextCursor());
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), pages.all().stream().map(Order::id).toList());
+    }
+
+    @Test
+    void accept_ShouldSkipOrdersAlreadyLoaded() {
+        LoadedOrderPages<Order> pages = new LoadedOrderPages<>(Order::id);
+        pages.accept(List.of(new Order(5L), new Order(4L)), "cursor-4", false);
+
+        List<Order> added = pages.accept(List.of(new Order(4L), new Order(3L)), null, true);
+
+        assertEquals(List.of(new Order(3L)), added);
+        assertEquals(List.of(5L, 4L, 3L), pages.all().stream().map(Order::id).toList());
+    }
+
+    @Test
+    void accept_ShouldStartOverOnFirstPage() {
+        LoadedOrderPages<Order> pages = new LoadedOrderPages<>(Order::id);
+        pages.accept(List.of(new Order(5L), new Order(4L)), "cursor-4", false);
+        pages.accept(List.of(new Order(3L)), null, true);
+
+        pages.accept(List.of(new Order(6L), new Order(5L)), "cursor-5", false);
+
+        assertEquals(List.of(6L, 5L), pages.all().stream().map(Order::id).toList());
+        assertEquals("cursor-5", pages.nextCursor());
+    }
+}